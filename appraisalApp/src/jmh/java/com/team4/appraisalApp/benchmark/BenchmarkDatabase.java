@@ -0,0 +1,103 @@
+package com.team4.appraisalApp.benchmark;
+
+import com.team4.appraisalApp.compute.AppraisalFormula;
+import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.Money;
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The BenchmarkDatabase class provides an embedded H2 database in PostgreSQL mode for repository benchmarks.
+ * <p>
+ * The tables mirror {@code schema.sql}. Employees and appraisals are seeded deterministically, so runs with the
+ * same row count are comparable between releases. PostgreSQL-only statements (COPY, ON CONFLICT) are not
+ * available here and are not benchmarked against this database.
+ */
+public final class BenchmarkDatabase {
+
+    /** The band IDs seeded into the band table. */
+    public static final String[] BAND_IDS = {"A1", "A2", "B1", "B2", "C1"};
+    /** The band multipliers matching {@link #BAND_IDS}. */
+    public static final double[] BAND_MULTIPLIERS = {1.2, 1.1, 1.0, 0.9, 0.8};
+    /** The review multipliers for review IDs 1 to 5. */
+    public static final double[] REVIEW_MULTIPLIERS = {0.5, 0.7, 0.8, 1.0, 1.0};
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private BenchmarkDatabase() {}
+
+    /**
+     * Creates a fresh in-memory database with the application tables and the given number of employees and
+     * appraisals. Employee IDs run from 1 to {@code rows}.
+     *
+     * @param name the database name; each name is a separate database.
+     * @param rows the number of employees and appraisals to seed.
+     * @return a JdbcTemplate over the new database.
+     */
+    public static JdbcTemplate create(String name, int rows) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE public.band (band_id TEXT NOT NULL PRIMARY KEY, band_mul DOUBLE PRECISION)");
+        jdbcTemplate.execute("CREATE TABLE public.review (rev_id INTEGER NOT NULL PRIMARY KEY, rev_mul DOUBLE PRECISION)");
+        jdbcTemplate.execute("CREATE TABLE public.employee (emp_id INTEGER NOT NULL PRIMARY KEY, emp_name TEXT, " +
+                "emp_review INTEGER REFERENCES public.review (rev_id), emp_band TEXT REFERENCES public.band (band_id), " +
+                "emp_salary NUMERIC(15,3))");
+        jdbcTemplate.execute("CREATE TABLE public.appraisal (emp_id INTEGER NOT NULL PRIMARY KEY, emp_name TEXT, " +
+                "emp_review INTEGER REFERENCES public.review (rev_id), emp_band TEXT REFERENCES public.band (band_id), " +
+                "current_salary NUMERIC(15,3), appraisal_percentage DOUBLE PRECISION, " +
+                "appraised_salary NUMERIC(15,3))");
+        jdbcTemplate.execute("CREATE INDEX employee_band_emp_id_idx ON public.employee (emp_band, emp_id)");
+        jdbcTemplate.execute("CREATE INDEX appraisal_band_emp_id_idx ON public.appraisal (emp_band, emp_id)");
+
+        for (int b = 0; b < BAND_IDS.length; b++) {
+            jdbcTemplate.update("INSERT INTO public.band(band_id, band_mul) VALUES (?, ?)", BAND_IDS[b], BAND_MULTIPLIERS[b]);
+        }
+        for (int r = 0; r < REVIEW_MULTIPLIERS.length; r++) {
+            jdbcTemplate.update("INSERT INTO public.review(rev_id, rev_mul) VALUES (?, ?)", r + 1, REVIEW_MULTIPLIERS[r]);
+        }
+
+        List<Employee> employees = employees(rows);
+        for (int from = 0; from < employees.size(); from += BATCH_SIZE) {
+            List<Employee> batch = employees.subList(from, Math.min(from + BATCH_SIZE, employees.size()));
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO public.employee(emp_id, emp_name, emp_review, emp_band, emp_salary) VALUES (?, ?, ?, ?, ?)",
+                    batch, batch.size(), (ps, e) -> {
+                        ps.setInt(1, e.getEmpId());
+                        ps.setString(2, e.getEmpName());
+                        ps.setInt(3, e.getReview());
+                        ps.setString(4, e.getBand());
+                        ps.setBigDecimal(5, Money.toDecimal(e.getSalaryMillis()));
+                    });
+        }
+        jdbcTemplate.update("INSERT INTO public.appraisal(emp_id, emp_name, emp_review, emp_band, current_salary, " +
+                "appraisal_percentage, appraised_salary) " +
+                "SELECT e.emp_id, e.emp_name, e.emp_review, e.emp_band, e.emp_salary, r.rev_mul * b.band_mul, " +
+                AppraisalFormula.appraisedSalarySql("e.emp_salary", "r.rev_mul * b.band_mul") + " " +
+                "FROM public.employee e JOIN public.band b ON b.band_id = e.emp_band JOIN public.review r ON r.rev_id = e.emp_review");
+        return jdbcTemplate;
+    }
+
+    /**
+     * Generates the deterministic employee population used for seeding.
+     *
+     * @param rows the number of employees.
+     * @return employees with IDs 1 to {@code rows}.
+     */
+    public static List<Employee> employees(int rows) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Employee> employees = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            employees.add(Employee.ofMillis(i, "Employee " + i, 1 + random.nextInt(REVIEW_MULTIPLIERS.length),
+                    BAND_IDS[random.nextInt(BAND_IDS.length)], 30_000_000L + random.nextInt(170_000_000)));
+        }
+        return employees;
+    }
+}
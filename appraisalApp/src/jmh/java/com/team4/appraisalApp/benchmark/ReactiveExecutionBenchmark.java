@@ -0,0 +1,158 @@
+package com.team4.appraisalApp.benchmark;
+
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.repository.impl.EmployeeRepoImpl;
+import com.team4.appraisalApp.repository.impl.ReactiveEmployeeRepoImpl;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares request throughput of the servlet variant with the reactive (WebFlux and R2DBC) variant under high
+ * concurrency.
+ * <p>
+ * All {@code REQUESTS} requests are in flight at once. Each reads an employee while holding a pooled connection for
+ * {@code dbMillis} (the database round trip), then spends {@code clientMillis} outside the pool (writing the response
+ * to a slow client). The {@code servlet} model runs requests through {@link EmployeeRepoImpl} on a fixed pool of 200
+ * threads, Tomcat's default maximum, and blocks for both waits. The {@code reactive} model runs them through
+ * {@link ReactiveEmployeeRepoImpl} on an R2DBC pool of the same size, and both waits are timers, so no thread is
+ * held while a request waits. Scores are requests per second.
+ * <p>
+ * H2 in PostgreSQL mode stands in for PostgreSQL. Its R2DBC driver executes statements on the calling thread, so
+ * the simulated round trip, not the driver, is what models non-blocking database I/O here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ReactiveExecutionBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int REQUESTS = 5_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final String DATABASE = "reactive_execution";
+
+    @Param({"servlet", "reactive"})
+    public String model;
+
+    @Param({"20", "100"})
+    public int poolSize;
+
+    @Param({"2"})
+    public int dbMillis;
+
+    @Param({"10"})
+    public int clientMillis;
+
+    private HikariDataSource dataSource;
+    private EmployeeRepoImpl employeeRepo;
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+
+    private ConnectionPool connectionPool;
+    private ReactiveEmployeeRepoImpl reactiveEmployeeRepo;
+    private TransactionalOperator transactionalOperator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkDatabase.create(DATABASE, ROWS);
+        if ("reactive".equals(model)) {
+            connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(
+                            "r2dbc:h2:mem:///" + DATABASE + "?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"))
+                    .initialSize(poolSize)
+                    .maxSize(poolSize)
+                    .build());
+            reactiveEmployeeRepo = new ReactiveEmployeeRepoImpl(DatabaseClient.create(connectionPool),
+                    new TableVersions(Duration.ofMinutes(1)), 1000);
+            transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+        } else {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl("jdbc:h2:mem:" + DATABASE + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+            config.setUsername("sa");
+            config.setMaximumPoolSize(poolSize);
+            config.setMinimumIdle(poolSize);
+            config.setConnectionTimeout(30_000);
+            dataSource = new HikariDataSource(config);
+            employeeRepo = new EmployeeRepoImpl(new JdbcTemplate(dataSource), new TableVersions(Duration.ofMinutes(1)), 1000);
+            transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            dataSource.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void requests() throws InterruptedException {
+        if (connectionPool != null) {
+            Flux.range(0, REQUESTS)
+                    .flatMap(i -> handleReactive(1 + i % ROWS), REQUESTS)
+                    .blockLast();
+            return;
+        }
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int empId = 1 + i % ROWS;
+            executor.execute(() -> {
+                try {
+                    handleServlet(empId);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private void handleServlet(int empId) {
+        // The transaction binds one pooled connection to the thread for the repository call and the round trip
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeRepo.getEmployeeById(empId);
+            sleep(dbMillis);
+        });
+        sleep(clientMillis);
+    }
+
+    private Mono<Long> handleReactive(int empId) {
+        // The transaction binds one pooled connection to the subscription for the repository call and the round trip
+        return transactionalOperator.transactional(reactiveEmployeeRepo.getEmployeeById(empId)
+                        .then(Mono.delay(Duration.ofMillis(dbMillis))))
+                .then(Mono.delay(Duration.ofMillis(clientMillis)));
+    }
+
+    private static void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.team4.appraisalApp.benchmark;
+
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.repository.impl.EmployeeRepoImpl;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares request throughput under the thread-per-request model with the virtual-thread execution mode.
+ * <p>
+ * Each simulated request reads an employee through {@link EmployeeRepoImpl} while holding a pooled connection for
+ * {@code dbMillis} (the database round trip), then blocks for {@code clientMillis} outside the pool (writing the
+ * response to a slow client). The {@code platform} model runs requests on a fixed pool of 200 threads, Tomcat's
+ * default maximum; the {@code virtual} model starts one virtual thread per request, leaving the connection pool as
+ * the only concurrency bound. Scores are requests per second.
+ * <p>
+ * The {@code virtual} model needs a Java 21 runtime; on older ones run with {@code -p model=platform}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class RequestExecutionBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int REQUESTS = 5_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String model;
+
+    @Param({"20", "100"})
+    public int poolSize;
+
+    @Param({"2"})
+    public int dbMillis;
+
+    @Param({"10"})
+    public int clientMillis;
+
+    private HikariDataSource dataSource;
+    private EmployeeRepoImpl employeeRepo;
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(model) ? newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+
+        BenchmarkDatabase.create("execution", ROWS);
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:execution;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        config.setConnectionTimeout(30_000);
+        dataSource = new HikariDataSource(config);
+        employeeRepo = new EmployeeRepoImpl(new JdbcTemplate(dataSource), new TableVersions(Duration.ofMinutes(1)), 1000);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        dataSource.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void requests() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int empId = 1 + i % ROWS;
+            executor.execute(() -> {
+                try {
+                    handle(empId);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private void handle(int empId) {
+        // The transaction binds one pooled connection to the thread for the repository call and the round trip
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeRepo.getEmployeeById(empId);
+            sleep(dbMillis);
+        });
+        sleep(clientMillis);
+    }
+
+    private static void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()} reflectively, as the build targets Java 17.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("The virtual model needs a Java 21 runtime", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.team4.appraisalApp.compute;
+
+import com.team4.appraisalApp.benchmark.BenchmarkDatabase;
+import com.team4.appraisalApp.models.Employee;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the appraisal formula used by the in-memory compute engine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppraisalFormulaBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    private long[] salaries;
+    private double[] reviewMultipliers;
+    private double[] bandMultipliers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Employee> employees = BenchmarkDatabase.employees(rows);
+        salaries = new long[rows];
+        reviewMultipliers = new double[rows];
+        bandMultipliers = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            Employee employee = employees.get(i);
+            salaries[i] = employee.getSalaryMillis();
+            reviewMultipliers[i] = BenchmarkDatabase.REVIEW_MULTIPLIERS[employee.getReview() - 1];
+            bandMultipliers[i] = BenchmarkDatabase.BAND_MULTIPLIERS[i % BenchmarkDatabase.BAND_MULTIPLIERS.length];
+        }
+    }
+
+    @Benchmark
+    public long appraisedPayroll() {
+        long total = 0;
+        for (int i = 0; i < salaries.length; i++) {
+            double percentage = AppraisalFormula.percentage(reviewMultipliers[i], bandMultipliers[i]);
+            total += AppraisalFormula.appraisedSalary(salaries[i], percentage);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,72 @@
+package com.team4.appraisalApp.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.team4.appraisalApp.benchmark.BenchmarkDatabase;
+import com.team4.appraisalApp.models.Employee;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks Jackson serialization of large employee lists: as one JSON array, as the list endpoints return them,
+ * and as newline-delimited JSON written row by row, as the streaming endpoints do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private List<Employee> employees;
+    private ObjectMapper objectMapper;
+    private ObjectWriter employeeWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = BenchmarkDatabase.employees(rows);
+        objectMapper = new ObjectMapper();
+        employeeWriter = objectMapper.writerFor(Employee.class);
+    }
+
+    @Benchmark
+    public byte[] jsonArray() throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public long ndjson() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            for (Employee employee : employees) {
+                employeeWriter.writeValue(generator, employee);
+                generator.writeRaw('\n');
+            }
+        }
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
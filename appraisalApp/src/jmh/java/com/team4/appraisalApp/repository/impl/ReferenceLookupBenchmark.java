@@ -0,0 +1,70 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team4.appraisalApp.benchmark.BenchmarkDatabase;
+import com.team4.appraisalApp.cache.ReferenceDataCache;
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.models.Band;
+import com.team4.appraisalApp.models.Review;
+import com.team4.appraisalApp.repository.IBandRepo;
+import com.team4.appraisalApp.repository.IReviewRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks band and review lookups served either by the reference data cache (as in the application) or directly
+ * by the database repositories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferenceLookupBenchmark {
+
+    @Param({"cache", "database"})
+    public String lookup;
+
+    private IBandRepo bandRepo;
+    private IReviewRepo reviewRepo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JdbcTemplate jdbcTemplate = BenchmarkDatabase.create("lookup", 0);
+        TableVersions tableVersions = new TableVersions(Duration.ofMinutes(1));
+        BandRepoImpl bandRepoImpl = new BandRepoImpl(jdbcTemplate, tableVersions);
+        ReviewRepoImpl reviewRepoImpl = new ReviewRepoImpl(jdbcTemplate, tableVersions);
+        bandRepo = bandRepoImpl;
+        reviewRepo = reviewRepoImpl;
+        if ("cache".equals(lookup)) {
+            ReferenceDataCache cache = new ReferenceDataCache(bandRepoImpl, reviewRepoImpl, tableVersions,
+                    new ObjectMapper(), new SimpleMeterRegistry(), Duration.ofMinutes(5));
+            // Unsharded, as in the default configuration
+            StaticListableBeanFactory beans = new StaticListableBeanFactory();
+            bandRepo = new CachedBandRepo(cache, bandRepoImpl, beans.getBeanProvider(ShardedAppraisalRepo.class));
+            reviewRepo = new CachedReviewRepo(cache, reviewRepoImpl, beans.getBeanProvider(ShardedAppraisalRepo.class));
+        }
+    }
+
+    @Benchmark
+    public Optional<Band> knownBand() {
+        return bandRepo.getBand("B1");
+    }
+
+    @Benchmark
+    public Optional<Band> unknownBand() {
+        return bandRepo.getBand("Z9");
+    }
+
+    @Benchmark
+    public Optional<Review> knownReview() {
+        return reviewRepo.getReview(3);
+    }
+}
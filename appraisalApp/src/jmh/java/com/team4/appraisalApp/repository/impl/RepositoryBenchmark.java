@@ -0,0 +1,86 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.benchmark.BenchmarkDatabase;
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.models.Appraisal;
+import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.EmployeeFilter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmarks of the employee and appraisal repositories against an embedded H2 database in PostgreSQL
+ * mode. The row count is configurable with {@code -p rows=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final int PAGE_LIMIT = 100;
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private EmployeeRepoImpl employeeRepo;
+    private AppraisalRepoImpl appraisalRepo;
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JdbcTemplate jdbcTemplate = BenchmarkDatabase.create("repository", rows);
+        TableVersions tableVersions = new TableVersions(Duration.ofMinutes(1));
+        employeeRepo = new EmployeeRepoImpl(jdbcTemplate, tableVersions, 1000);
+        appraisalRepo = new AppraisalRepoImpl(jdbcTemplate, tableVersions, 1000);
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeById() {
+        return employeeRepo.getEmployeeById(1 + random.nextInt(rows));
+    }
+
+    @Benchmark
+    public List<Employee> getAllEmployees() {
+        return employeeRepo.getAllEmployees();
+    }
+
+    @Benchmark
+    public void streamAllEmployees(Blackhole blackhole) {
+        employeeRepo.streamAllEmployees(blackhole::consume);
+    }
+
+    @Benchmark
+    public List<Employee> findEmployeesPage() {
+        return employeeRepo.findEmployees(new EmployeeFilter(null, null, null, null), random.nextInt(rows), PAGE_LIMIT);
+    }
+
+    @Benchmark
+    public List<Employee> findEmployeesByBand() {
+        return employeeRepo.findEmployees(new EmployeeFilter("B1", null, null, null), random.nextInt(rows), PAGE_LIMIT);
+    }
+
+    @Benchmark
+    public Optional<Appraisal> getAppraisal() {
+        return appraisalRepo.getAppraisal(1 + random.nextInt(rows));
+    }
+
+    @Benchmark
+    public List<Appraisal> getAllAppraisals() {
+        return appraisalRepo.getAllAppraisals();
+    }
+
+    @Benchmark
+    public List<Appraisal> findAppraisalsPage() {
+        return appraisalRepo.findAppraisals(new EmployeeFilter(null, null, null, null), random.nextInt(rows), PAGE_LIMIT);
+    }
+}
@@ -0,0 +1,95 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.benchmark.BenchmarkDatabase;
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.compute.AppraisalFormula;
+import com.team4.appraisalApp.models.Appraisal;
+import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.Money;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the Employee and Appraisal row mappers in isolation.
+ * Rows come from an in-memory {@link SimpleResultSet}, so the numbers exclude any database or driver work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    private RowMapper<Employee> employeeRowMapper;
+    private RowMapper<Appraisal> appraisalRowMapper;
+    private SimpleResultSet employeeRows;
+    private SimpleResultSet appraisalRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TableVersions tableVersions = new TableVersions(Duration.ofMinutes(1));
+        employeeRowMapper = new EmployeeRepoImpl(new JdbcTemplate(), tableVersions, 1000).getEmployeeRowMapper();
+        appraisalRowMapper = new AppraisalRepoImpl(new JdbcTemplate(), tableVersions, 1000).getAppraisalRowMapper();
+
+        employeeRows = new SimpleResultSet();
+        employeeRows.addColumn("emp_id", Types.INTEGER, 10, 0);
+        employeeRows.addColumn("emp_name", Types.VARCHAR, 255, 0);
+        employeeRows.addColumn("emp_review", Types.INTEGER, 10, 0);
+        employeeRows.addColumn("emp_band", Types.VARCHAR, 255, 0);
+        employeeRows.addColumn("emp_salary", Types.NUMERIC, 15, 3);
+
+        appraisalRows = new SimpleResultSet();
+        appraisalRows.addColumn("emp_id", Types.INTEGER, 10, 0);
+        appraisalRows.addColumn("emp_name", Types.VARCHAR, 255, 0);
+        appraisalRows.addColumn("emp_review", Types.INTEGER, 10, 0);
+        appraisalRows.addColumn("emp_band", Types.VARCHAR, 255, 0);
+        appraisalRows.addColumn("current_salary", Types.NUMERIC, 15, 3);
+        appraisalRows.addColumn("appraisal_percentage", Types.DOUBLE, 17, 0);
+        appraisalRows.addColumn("appraised_salary", Types.NUMERIC, 15, 3);
+
+        List<Employee> employees = BenchmarkDatabase.employees(rows);
+        for (Employee e : employees) {
+            BigDecimal salary = Money.toDecimal(e.getSalaryMillis());
+            employeeRows.addRow(e.getEmpId(), e.getEmpName(), e.getReview(), e.getBand(), salary);
+            appraisalRows.addRow(e.getEmpId(), e.getEmpName(), e.getReview(), e.getBand(), salary,
+                    0.5, Money.toDecimal(AppraisalFormula.appraisedSalary(e.getSalaryMillis(), 0.5)));
+        }
+        employeeRows.setAutoClose(false);
+        appraisalRows.setAutoClose(false);
+    }
+
+    @Benchmark
+    public void mapEmployees(Blackhole blackhole) throws SQLException {
+        mapAll(employeeRows, employeeRowMapper, blackhole);
+    }
+
+    @Benchmark
+    public void mapAppraisals(Blackhole blackhole) throws SQLException {
+        mapAll(appraisalRows, appraisalRowMapper, blackhole);
+    }
+
+    private static <T> void mapAll(SimpleResultSet resultSet, RowMapper<T> rowMapper, Blackhole blackhole)
+            throws SQLException {
+        resultSet.beforeFirst();
+        ResultSet rs = resultSet;
+        int rowNum = 0;
+        while (rs.next()) {
+            blackhole.consume(rowMapper.mapRow(rs, rowNum++));
+        }
+    }
+}
@@ -2,11 +2,17 @@ package com.team4.appraisalApp;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
 /**
  * The AppraisalAppApplication class is the entry point for the Spring Boot application.
+ * <p>
+ * The R2DBC auto-configuration is excluded: the R2DBC connection factory is only created for the reactive profile
+ * (see {@link com.team4.appraisalApp.datasource.R2dbcConfiguration}), and an R2DBC transaction manager would
+ * replace the JDBC one that the repositories' {@code @Transactional} methods rely on.
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class AppraisalAppApplication {
 
 	/**
@@ -0,0 +1,80 @@
+package com.team4.appraisalApp.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * The AdmissionConfiguration class sets up the bulkheads that keep full-table operations from starving single-row
+ * lookups of connections.
+ * <p>
+ * The {@code scan} bulkhead admits full list reads, exports, imports, bulk writes, multiplier updates (which recompute
+ * every appraisal of a band or review) and the in-memory projection and simulation. The {@code page} bulkhead admits
+ * list reads with a filter, cursor or limit, which return at most one page; their latency would otherwise teach the
+ * scan limit that a full read is cheap. The {@code point} bulkhead admits reads and writes of one employee or
+ * appraisal. Band, review and summary reads are served from memory or one row
+ * per band and are not limited. Admission control is on unless {@code appraisal.admission.enabled} is false.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+@ConditionalOnProperty(name = "appraisal.admission.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfiguration {
+
+    // Any of these makes GET /employee or /appraisal return one keyset page
+    private static final List<String> PAGE_PARAMETERS =
+            List.of("band", "review", "minSalary", "maxSalary", "cursor", "limit");
+
+    /**
+     * Creates the filter that runs the guarded endpoints in their bulkheads.
+     *
+     * @param properties    the admission settings.
+     * @param meterRegistry the registry the bulkhead meters are published to.
+     * @return the filter.
+     */
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        Bulkhead scan = new Bulkhead("scan", properties.getScan(), meterRegistry);
+        Bulkhead page = new Bulkhead("page", properties.getPage(), meterRegistry);
+        Bulkhead point = new Bulkhead("point", properties.getPoint(), meterRegistry);
+        return new AdmissionControlFilter(properties.getRetryAfter().toSeconds())
+                .guard(HttpMethod.GET, "/team4/employee", AdmissionConfiguration::isPaged, page)
+                .guard(HttpMethod.GET, "/team4/appraisal", AdmissionConfiguration::isPaged, page)
+                .guard(HttpMethod.GET, "/team4/employee", scan)
+                .guard(HttpMethod.POST, "/team4/employee/import", scan)
+                .guard(HttpMethod.POST, "/team4/employee/bulk-delete", scan)
+                .guard(HttpMethod.GET, "/team4/appraisal", scan)
+                .guard(HttpMethod.GET, "/team4/appraisal/export", scan)
+                .guard(HttpMethod.GET, "/team4/appraisal/projection", scan)
+                .guard(HttpMethod.POST, "/team4/appraisal/simulation", scan)
+                .guard(HttpMethod.POST, "/team4/appraisal/cycle", scan)
+                .guard(HttpMethod.POST, "/team4/appraisal/summary/rebuild", scan)
+                .guard(HttpMethod.PUT, "/team4/band/{id}", scan)
+                .guard(HttpMethod.PUT, "/team4/review/{id}", scan)
+                .guard(HttpMethod.GET, "/team4/employee/{id:-?\\d+}", point)
+                .guard(HttpMethod.PUT, "/team4/employee/{id:-?\\d+}", point)
+                .guard(HttpMethod.DELETE, "/team4/employee/{id:-?\\d+}", point)
+                .guard(HttpMethod.POST, "/team4/employee", point)
+                .guard(HttpMethod.GET, "/team4/appraisal/{id:-?\\d+}", point)
+                .guard(HttpMethod.POST, "/team4/appraisal", point)
+                .guard(HttpMethod.PUT, "/team4/appraisal", point);
+    }
+
+    private static boolean isPaged(HttpServletRequest request) {
+        // The NDJSON variant ignores the paging parameters and streams the whole table
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+            return false;
+        }
+        return PAGE_PARAMETERS.stream().anyMatch(name -> request.getParameter(name) != null);
+    }
+}
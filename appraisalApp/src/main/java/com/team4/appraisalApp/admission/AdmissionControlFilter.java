@@ -0,0 +1,151 @@
+package com.team4.appraisalApp.admission;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * The AdmissionControlFilter class runs each request for a guarded endpoint in its {@link Bulkhead}, and rejects it
+ * with 503 (SERVICE UNAVAILABLE) and a Retry-After header when the bulkhead is full.
+ * <p>
+ * A request holds its place until the response is complete, including the streaming responses that finish after
+ * the handler has returned. A request answered with 304 (NOT MODIFIED) did not read the table, so its latency is not
+ * fed to the bulkhead's limit. Requests for endpoints without a bulkhead pass straight through.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final List<Route> routes = new ArrayList<>();
+    private final String retryAfterSeconds;
+
+    /**
+     * Constructs an AdmissionControlFilter with no guarded endpoints.
+     *
+     * @param retryAfterSeconds the number of seconds sent in the Retry-After header of a rejected request.
+     */
+    public AdmissionControlFilter(long retryAfterSeconds) {
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfterSeconds));
+    }
+
+    /**
+     * Runs the requests for an endpoint in a bulkhead. The first matching endpoint wins.
+     *
+     * @param method   the HTTP method.
+     * @param pattern  the path pattern, e.g. {@code /team4/employee/{id}}.
+     * @param bulkhead the bulkhead.
+     * @return this filter.
+     */
+    public AdmissionControlFilter guard(HttpMethod method, String pattern, Bulkhead bulkhead) {
+        return guard(method, pattern, request -> true, bulkhead);
+    }
+
+    /**
+     * Runs the requests for an endpoint that also pass a condition in a bulkhead. The first matching endpoint wins.
+     *
+     * @param method    the HTTP method.
+     * @param pattern   the path pattern, e.g. {@code /team4/employee/{id}}.
+     * @param condition the condition on the request, e.g. on its query parameters.
+     * @param bulkhead  the bulkhead.
+     * @return this filter.
+     */
+    public AdmissionControlFilter guard(HttpMethod method, String pattern, Predicate<HttpServletRequest> condition,
+                                        Bulkhead bulkhead) {
+        routes.add(new Route(method, PathPatternParser.defaultInstance.parse(pattern), condition, bulkhead));
+        return this;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = bulkheadFor(request);
+        if (bulkhead == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!bulkhead.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Too many concurrent requests, retry later");
+            return;
+        }
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (response.getStatus() == HttpStatus.NOT_MODIFIED.value()) {
+                bulkhead.release();
+            } else {
+                bulkhead.release(System.nanoTime() - start);
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release.run();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        release.run();
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private Bulkhead bulkheadFor(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Route route : routes) {
+            if (route.method().matches(request.getMethod()) && route.pattern().matches(path)
+                    && route.condition().test(request)) {
+                return route.bulkhead();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One guarded endpoint.
+     *
+     * @param method    the HTTP method.
+     * @param pattern   the path pattern.
+     * @param condition the condition on the request.
+     * @param bulkhead  the bulkhead its requests run in.
+     */
+    private record Route(HttpMethod method, PathPattern pattern, Predicate<HttpServletRequest> condition,
+                         Bulkhead bulkhead) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.team4.appraisalApp.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The AdmissionProperties class holds the admission control settings under {@code appraisal.admission}.
+ * The scan bulkhead admits full-table and bulk operations, the page bulkhead filtered and paged list reads, and the
+ * point bulkhead single-row lookups and writes.
+ */
+@ConfigurationProperties("appraisal.admission")
+public class AdmissionProperties {
+
+    private Limit scan = new Limit(4, 1, 16);
+    private Limit page = new Limit(16, 4, 64);
+    private Limit point = new Limit(50, 10, 400);
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Gets the concurrency limit of the scan bulkhead.
+     * @return the scan limit.
+     */
+    public Limit getScan() {
+        return scan;
+    }
+
+    /**
+     * Sets the concurrency limit of the scan bulkhead.
+     * @param scan the scan limit.
+     */
+    public void setScan(Limit scan) {
+        this.scan = scan;
+    }
+
+    /**
+     * Gets the concurrency limit of the page bulkhead.
+     * @return the page limit.
+     */
+    public Limit getPage() {
+        return page;
+    }
+
+    /**
+     * Sets the concurrency limit of the page bulkhead.
+     * @param page the page limit.
+     */
+    public void setPage(Limit page) {
+        this.page = page;
+    }
+
+    /**
+     * Gets the concurrency limit of the point bulkhead.
+     * @return the point limit.
+     */
+    public Limit getPoint() {
+        return point;
+    }
+
+    /**
+     * Sets the concurrency limit of the point bulkhead.
+     * @param point the point limit.
+     */
+    public void setPoint(Limit point) {
+        this.point = point;
+    }
+
+    /**
+     * Gets the delay sent in the Retry-After header of a rejected request.
+     * @return the delay; sent in whole seconds, at least one.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Sets the delay sent in the Retry-After header of a rejected request.
+     * @param retryAfter the delay.
+     */
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * The Limit class holds the concurrency limit of one bulkhead.
+     * The limit starts at {@code initial} and adapts to the observed latency between {@code min} and {@code max};
+     * with {@code min} equal to {@code max} it is fixed.
+     */
+    public static class Limit {
+        private int initial;
+        private int min;
+        private int max;
+
+        /**
+         * Constructs a Limit with no bounds set.
+         */
+        public Limit() {
+        }
+
+        /**
+         * Constructs a Limit.
+         * @param initial the starting limit.
+         * @param min the lowest limit.
+         * @param max the highest limit.
+         */
+        public Limit(int initial, int min, int max) {
+            this.initial = initial;
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * Gets the starting limit.
+         * @return the starting limit.
+         */
+        public int getInitial() {
+            return initial;
+        }
+
+        /**
+         * Sets the starting limit.
+         * @param initial the starting limit.
+         */
+        public void setInitial(int initial) {
+            this.initial = initial;
+        }
+
+        /**
+         * Gets the lowest limit.
+         * @return the lowest limit.
+         */
+        public int getMin() {
+            return min;
+        }
+
+        /**
+         * Sets the lowest limit.
+         * @param min the lowest limit.
+         */
+        public void setMin(int min) {
+            this.min = min;
+        }
+
+        /**
+         * Gets the highest limit.
+         * @return the highest limit.
+         */
+        public int getMax() {
+            return max;
+        }
+
+        /**
+         * Sets the highest limit.
+         * @param max the highest limit.
+         */
+        public void setMax(int max) {
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.team4.appraisalApp.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The Bulkhead class bounds the number of requests of one kind that run at once, with a limit that adapts to their
+ * latency.
+ * <p>
+ * {@link #tryAcquire()} never waits: a request over the limit is rejected at once, so a burst cannot queue up
+ * behind the connection pool. Each completed request feeds its latency into two moving averages, a short one that
+ * follows the current latency and a long one that remembers the latency under normal load. While the current
+ * latency is more than 1.5 times the normal one, the limit is scaled down by their ratio (at most halved per
+ * sample); otherwise it grows by about its square root per sample, as long as the bulkhead is at least half full.
+ * Samples taken while the bulkhead is less than half full do not grow the limit, as they say nothing about a higher
+ * one. Each change is smoothed, so one slow request moves the limit only a little.
+ * <p>
+ * Meters, tagged {@code bulkhead}: {@code appraisal.admission.inflight} (admitted requests running),
+ * {@code appraisal.admission.limit} (current limit) and {@code appraisal.admission.requests} tagged
+ * {@code result=admitted|rejected}.
+ */
+public final class Bulkhead {
+
+    private static final double SHORT_WEIGHT = 0.1;
+    private static final double LONG_WEIGHT = 0.01;
+    private static final double SMOOTHING = 0.2;
+    // Latency up to this multiple of the normal latency still counts as normal
+    private static final double TOLERANCE = 1.5;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Counter admitted;
+    private final Counter rejected;
+
+    private volatile int limit;
+    // Guarded by lock; a lock rather than a monitor, so a virtual thread completing a request never pins its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private double estimatedLimit;
+    private double shortLatency;
+    private double longLatency;
+
+    /**
+     * Constructs a Bulkhead.
+     *
+     * @param name          the bulkhead name, used as the {@code bulkhead} meter tag.
+     * @param settings      the starting, lowest and highest limit.
+     * @param meterRegistry the registry the bulkhead meters are published to.
+     * @throws IllegalArgumentException if the limits are not {@code 1 <= min <= initial <= max}.
+     */
+    public Bulkhead(String name, AdmissionProperties.Limit settings, MeterRegistry meterRegistry) {
+        if (settings.getMin() < 1 || settings.getMin() > settings.getInitial()
+                || settings.getInitial() > settings.getMax()) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs 1 <= min <= initial <= max");
+        }
+        this.name = name;
+        this.minLimit = settings.getMin();
+        this.maxLimit = settings.getMax();
+        this.limit = settings.getInitial();
+        this.estimatedLimit = settings.getInitial();
+        this.admitted = requestCounter(meterRegistry, name, "admitted");
+        this.rejected = requestCounter(meterRegistry, name, "rejected");
+        Gauge.builder("appraisal.admission.inflight", inflight, AtomicInteger::get)
+                .description("Admitted requests running in the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("appraisal.admission.limit", this, Bulkhead::getLimit)
+                .description("Current concurrency limit of the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("appraisal.admission.requests")
+                .description("Requests by bulkhead and admission result")
+                .tag("bulkhead", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gets the bulkhead name.
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the current concurrency limit.
+     * @return the limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Admits a request if the bulkhead is below its limit.
+     * Every admitted request must be followed by exactly one {@link #release(long)} or {@link #release()}.
+     *
+     * @return whether the request was admitted.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int running = inflight.get();
+            if (running >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inflight.compareAndSet(running, running + 1)) {
+                admitted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends an admitted request without adapting the limit, for a request that did not do the work the bulkhead is
+     * sized for, such as one answered with 304 (NOT MODIFIED). Its latency would drag the normal latency down, and
+     * the first real request after a run of them would then cut the limit.
+     */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    /**
+     * Ends an admitted request and adapts the limit to its latency.
+     *
+     * @param latencyNanos how long the request ran.
+     */
+    public void release(long latencyNanos) {
+        int running = inflight.getAndDecrement();
+        if (minLimit == maxLimit) {
+            return;
+        }
+        double sample = Math.max(1, latencyNanos);
+        lock.lock();
+        try {
+            if (longLatency == 0) {
+                shortLatency = sample;
+                longLatency = sample;
+                return;
+            }
+            shortLatency += SHORT_WEIGHT * (sample - shortLatency);
+            longLatency += LONG_WEIGHT * (sample - longLatency);
+            if (shortLatency < longLatency) {
+                // Latency has improved; let the normal latency follow it down at the faster rate
+                longLatency = shortLatency;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longLatency / shortLatency));
+            if (gradient == 1.0 && running * 2 < estimatedLimit) {
+                return;
+            }
+            double target = gradient == 1.0 ? estimatedLimit + Math.sqrt(estimatedLimit) : estimatedLimit * gradient;
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                    estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+            limit = (int) estimatedLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
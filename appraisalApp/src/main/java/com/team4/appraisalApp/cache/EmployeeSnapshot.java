@@ -0,0 +1,546 @@
+package com.team4.appraisalApp.cache;
+
+import com.team4.appraisalApp.models.Appraisal;
+import com.team4.appraisalApp.models.Employee;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The EmployeeSnapshot class reads a memory-mapped snapshot file of the employee and appraisal tables.
+ * <p>
+ * The file holds one fixed-width record per employee and one per appraisal, each section sorted by employee ID, so a
+ * lookup is a binary search over the mapped records followed by one record decode. Bands are stored as codes into a
+ * small dictionary and names as offsets into a string section, which keeps the records fixed-width. The mapping is
+ * off-heap: a lookup allocates only the returned object and its strings. Files are limited to 2 GB, the size of one
+ * mapping.
+ * <p>
+ * Layout, big-endian: a 64-byte header (magic, build time, record counts, section offsets), the band dictionary
+ * (length-prefixed UTF-8), the employee records ({@value #EMPLOYEE_BYTES} bytes: emp_id, review, band code, name
+ * length, name offset, salary millis), the appraisal records ({@value #APPRAISAL_BYTES} bytes: emp_id, review, band
+ * code, name length, name offset, current salary millis, percentage, appraised salary millis) and the UTF-8 names.
+ * A null band or name is stored as -1.
+ * <p>
+ * The mapping is released explicitly rather than left to the garbage collector, which may keep a replaced file's
+ * pages and its deleted inode alive for a long time. The snapshot starts with one reference, held by its owner;
+ * readers take another with {@link #retain()} around each lookup, and the file is unmapped when the last one is
+ * given back with {@link #release()}.
+ */
+final class EmployeeSnapshot {
+
+    private static final long MAGIC = 0x454d50534e415031L; // "EMPSNAP1"
+    private static final int HEADER_BYTES = 64;
+    static final int EMPLOYEE_BYTES = 32;
+    static final int APPRAISAL_BYTES = 48;
+    // sun.misc.Unsafe.invokeCleaner bound to the Unsafe instance, or null where it is not available
+    private static final MethodHandle UNMAP = unmapHandle();
+
+    private final MappedByteBuffer buffer;
+    private final long builtAt;
+    private final int employeeCount;
+    private final int appraisalCount;
+    private final int employeesOffset;
+    private final int appraisalsOffset;
+    private final int stringsOffset;
+    private final String[] bands;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private EmployeeSnapshot(MappedByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getLong(0) != MAGIC) {
+            throw new IllegalStateException("Not an employee snapshot file");
+        }
+        this.buffer = buffer;
+        this.builtAt = buffer.getLong(8);
+        this.employeeCount = buffer.getInt(16);
+        this.appraisalCount = buffer.getInt(20);
+        int bandCount = buffer.getInt(24);
+        int bandsOffset = (int) buffer.getLong(32);
+        this.employeesOffset = (int) buffer.getLong(40);
+        this.appraisalsOffset = (int) buffer.getLong(48);
+        this.stringsOffset = (int) buffer.getLong(56);
+        if (employeeCount < 0 || appraisalCount < 0 || bandCount < 0 || bandsOffset != HEADER_BYTES
+                || employeesOffset < bandsOffset
+                || appraisalsOffset != employeesOffset + (long) employeeCount * EMPLOYEE_BYTES
+                || stringsOffset != appraisalsOffset + (long) appraisalCount * APPRAISAL_BYTES
+                || stringsOffset > buffer.capacity()) {
+            throw new IllegalStateException("Corrupt employee snapshot header");
+        }
+        this.bands = new String[bandCount];
+        int position = bandsOffset;
+        for (int i = 0; i < bandCount; i++) {
+            int length = buffer.getShort(position) & 0xffff;
+            bands[i] = string(position + 2, length);
+            position += 2 + length;
+        }
+    }
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @param file the file.
+     * @return the snapshot, holding its owner's reference; the mapping stays valid after the file is replaced or
+     * deleted, until the last reference is released.
+     * @throws IOException           if the file cannot be read.
+     * @throws IllegalStateException if the file is not a snapshot.
+     */
+    static EmployeeSnapshot open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            return new EmployeeSnapshot(buffer);
+        } catch (RuntimeException e) {
+            unmap(buffer);
+            throw e;
+        }
+    }
+
+    private static MethodHandle unmapHandle() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Takes a reference to the snapshot, which keeps it mapped until {@link #release()} is called.
+     *
+     * @return whether the reference was taken; false once the snapshot has been unmapped.
+     */
+    boolean retain() {
+        while (true) {
+            int count = references.get();
+            if (count == 0) {
+                return false;
+            }
+            if (references.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a reference taken by {@link #retain()}, or the owner's reference. The last one unmaps the file, after
+     * which no lookup may be made.
+     */
+    void release() {
+        int count = references.decrementAndGet();
+        if (count == 0) {
+            unmap(buffer);
+        } else if (count < 0) {
+            throw new IllegalStateException("Employee snapshot released more often than retained");
+        }
+    }
+
+    private static void unmap(MappedByteBuffer buffer) {
+        if (UNMAP == null) {
+            return;
+        }
+        try {
+            UNMAP.invokeExact((ByteBuffer) buffer);
+        } catch (Throwable e) {
+            // The mapping is left to the garbage collector
+        }
+    }
+
+    /**
+     * Gets the time the snapshot was built.
+     * @return the build time, in epoch milliseconds.
+     */
+    long builtAt() {
+        return builtAt;
+    }
+
+    /**
+     * Gets the number of employees in the snapshot.
+     * @return the number of employees.
+     */
+    int employeeCount() {
+        return employeeCount;
+    }
+
+    /**
+     * Gets the number of appraisals in the snapshot.
+     * @return the number of appraisals.
+     */
+    int appraisalCount() {
+        return appraisalCount;
+    }
+
+    /**
+     * Looks up an employee.
+     *
+     * @param empId the employee ID.
+     * @return an Optional containing the employee as it was when the snapshot was built, otherwise an empty Optional.
+     */
+    Optional<Employee> employee(int empId) {
+        int record = find(employeesOffset, employeeCount, EMPLOYEE_BYTES, empId);
+        if (record < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Employee.ofMillis(empId, name(record), buffer.getInt(record + 4),
+                band(buffer.getInt(record + 8)), buffer.getLong(record + 24)));
+    }
+
+    /**
+     * Looks up an appraisal.
+     *
+     * @param empId the employee ID.
+     * @return an Optional containing the appraisal as it was when the snapshot was built, otherwise an empty Optional.
+     */
+    Optional<Appraisal> appraisal(int empId) {
+        int record = find(appraisalsOffset, appraisalCount, APPRAISAL_BYTES, empId);
+        if (record < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Appraisal.ofMillis(empId, name(record), buffer.getInt(record + 4),
+                band(buffer.getInt(record + 8)), buffer.getLong(record + 24), buffer.getDouble(record + 32),
+                buffer.getLong(record + 40)));
+    }
+
+    /**
+     * Finds a record by binary search on its leading employee ID.
+     *
+     * @return the record's byte offset, or -1 if there is none.
+     */
+    private int find(int offset, int count, int width, int empId) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = buffer.getInt(offset + mid * width);
+            if (id < empId) {
+                low = mid + 1;
+            } else if (id > empId) {
+                high = mid - 1;
+            } else {
+                return offset + mid * width;
+            }
+        }
+        return -1;
+    }
+
+    private String name(int record) {
+        int length = buffer.getInt(record + 12);
+        return length < 0 ? null : string(stringsOffset + (int) buffer.getLong(record + 16), length);
+    }
+
+    private String band(int code) {
+        return code < 0 ? null : bands[code];
+    }
+
+    private String string(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a snapshot file.
+     * <p>
+     * Rows are taken in any order and written unsorted to scratch files next to {@code file}, holding only one long
+     * per row on the heap; the sections are then copied into {@code file} in employee ID order.
+     *
+     * @param file       the file to write; it is replaced.
+     * @param employees  streams every employee to the given consumer.
+     * @param appraisals streams every appraisal to the given consumer.
+     * @param builtAt    the build time recorded in the header, in epoch milliseconds.
+     * @throws IOException           if a file cannot be written.
+     * @throws IllegalStateException if the snapshot would exceed 2 GB.
+     */
+    static void write(Path file, Consumer<Consumer<Employee>> employees, Consumer<Consumer<Appraisal>> appraisals,
+                      long builtAt) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path employeeScratch = Files.createTempFile(directory, "employees", ".tmp");
+        Path appraisalScratch = Files.createTempFile(directory, "appraisals", ".tmp");
+        Path stringScratch = Files.createTempFile(directory, "names", ".tmp");
+        try (Section employeeRecords = new Section(employeeScratch, EMPLOYEE_BYTES);
+             Section appraisalRecords = new Section(appraisalScratch, APPRAISAL_BYTES);
+             Strings strings = new Strings(stringScratch)) {
+            Map<String, Integer> bandCodes = new HashMap<>();
+            List<String> bandList = new ArrayList<>();
+            writeRows(employees, employee -> {
+                byte[] name = utf8(employee.getEmpName());
+                long nameOffset = strings.add(name);
+                employeeRecords.add(employee.getEmpId(), record -> record
+                        .putInt(employee.getEmpId())
+                        .putInt(employee.getReview())
+                        .putInt(bandCode(employee.getBand(), bandCodes, bandList))
+                        .putInt(name == null ? -1 : name.length)
+                        .putLong(nameOffset)
+                        .putLong(employee.getSalaryMillis()));
+            });
+            writeRows(appraisals, appraisal -> {
+                byte[] name = utf8(appraisal.getEmpName());
+                long nameOffset = strings.add(name);
+                appraisalRecords.add(appraisal.getEmpId(), record -> record
+                        .putInt(appraisal.getEmpId())
+                        .putInt(appraisal.getEmpReview())
+                        .putInt(bandCode(appraisal.getEmpBand(), bandCodes, bandList))
+                        .putInt(name == null ? -1 : name.length)
+                        .putLong(nameOffset)
+                        .putLong(appraisal.getCurrentSalaryMillis())
+                        .putDouble(appraisal.getAppraisalPercentage())
+                        .putLong(appraisal.getAppraisedSalaryMillis()));
+            });
+            employeeRecords.finish();
+            appraisalRecords.finish();
+            strings.finish();
+
+            ByteBuffer bandBytes = encodeBands(bandList);
+            long bandsOffset = HEADER_BYTES;
+            long employeesOffset = bandsOffset + bandBytes.remaining();
+            long appraisalsOffset = employeesOffset + employeeRecords.bytes();
+            long stringsOffset = appraisalsOffset + appraisalRecords.bytes();
+            if (stringsOffset + strings.bytes() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Employee snapshot would exceed 2 GB");
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putLong(MAGIC)
+                    .putLong(builtAt)
+                    .putInt(employeeRecords.count())
+                    .putInt(appraisalRecords.count())
+                    .putInt(bandList.size())
+                    .putInt(0)
+                    .putLong(bandsOffset)
+                    .putLong(employeesOffset)
+                    .putLong(appraisalsOffset)
+                    .putLong(stringsOffset)
+                    .flip();
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(out, header);
+                writeFully(out, bandBytes);
+                employeeRecords.copySortedTo(out);
+                appraisalRecords.copySortedTo(out);
+                strings.copyTo(out);
+                out.force(false);
+            }
+        } finally {
+            Files.deleteIfExists(employeeScratch);
+            Files.deleteIfExists(appraisalScratch);
+            Files.deleteIfExists(stringScratch);
+        }
+    }
+
+    private static <T> void writeRows(Consumer<Consumer<T>> rows, IoConsumer<T> writer) throws IOException {
+        try {
+            rows.accept(row -> {
+                try {
+                    writer.accept(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int bandCode(String band, Map<String, Integer> bandCodes, List<String> bandList) {
+        if (band == null) {
+            return -1;
+        }
+        return bandCodes.computeIfAbsent(band, id -> {
+            bandList.add(id);
+            return bandList.size() - 1;
+        });
+    }
+
+    private static ByteBuffer encodeBands(List<String> bandList) {
+        List<byte[]> encoded = new ArrayList<>(bandList.size());
+        int size = 0;
+        for (String band : bandList) {
+            byte[] bytes = band.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xffff) {
+                throw new IllegalStateException("Band ID too long for the employee snapshot: " + band);
+            }
+            encoded.add(bytes);
+            size += 2 + bytes.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] bytes : encoded) {
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+        return buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoConsumer<T> {
+        void accept(T value) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(ByteBuffer record);
+    }
+
+    /**
+     * A scratch file of fixed-width records in arrival order, with the sort keys kept on the heap.
+     */
+    private static final class Section implements AutoCloseable {
+        private final FileChannel channel;
+        private final int width;
+        private final ByteBuffer block = ByteBuffer.allocateDirect(64 * 1024);
+        // (emp_id << 32 | arrival index), so sorting the keys orders the records by employee ID
+        private long[] keys = new long[1024];
+        private int count;
+
+        Section(Path scratch, int width) throws IOException {
+            this.channel = FileChannel.open(scratch, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.width = width;
+        }
+
+        void add(int empId, RecordWriter writer) throws IOException {
+            if (block.remaining() < width) {
+                flush();
+            }
+            writer.write(block);
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+            }
+            keys[count] = (long) empId << 32 | count;
+            count++;
+        }
+
+        private void flush() throws IOException {
+            block.flip();
+            writeFully(channel, block);
+            block.clear();
+        }
+
+        void finish() throws IOException {
+            flush();
+            Arrays.sort(keys, 0, count);
+        }
+
+        int count() {
+            return count;
+        }
+
+        long bytes() {
+            return (long) count * width;
+        }
+
+        void copySortedTo(FileChannel out) throws IOException {
+            if (count == 0) {
+                return;
+            }
+            MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes());
+            block.clear();
+            for (int i = 0; i < count; i++) {
+                if (block.remaining() < width) {
+                    block.flip();
+                    writeFully(out, block);
+                    block.clear();
+                }
+                int position = (int) keys[i] * width;
+                block.put(records.slice(position, width));
+            }
+            block.flip();
+            writeFully(out, block);
+            block.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * A scratch file of UTF-8 names, each addressed by its offset.
+     */
+    private static final class Strings implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer block = ByteBuffer.allocateDirect(64 * 1024);
+        private long size;
+
+        Strings(Path scratch) throws IOException {
+            this.channel = FileChannel.open(scratch, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        /**
+         * Appends an encoded name.
+         * @param bytes the UTF-8 name; may be null, which appends nothing.
+         * @return its offset in the string section.
+         */
+        long add(byte[] bytes) throws IOException {
+            long offset = size;
+            if (bytes != null) {
+                if (block.remaining() < bytes.length) {
+                    flush();
+                }
+                if (bytes.length > block.capacity()) {
+                    writeFully(channel, ByteBuffer.wrap(bytes));
+                } else {
+                    block.put(bytes);
+                }
+                size += bytes.length;
+            }
+            return offset;
+        }
+
+        private void flush() throws IOException {
+            block.flip();
+            writeFully(channel, block);
+            block.clear();
+        }
+
+        void finish() throws IOException {
+            flush();
+        }
+
+        long bytes() {
+            return size;
+        }
+
+        void copyTo(FileChannel out) throws IOException {
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
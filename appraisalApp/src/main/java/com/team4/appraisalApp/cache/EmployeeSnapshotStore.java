@@ -0,0 +1,312 @@
+package com.team4.appraisalApp.cache;
+
+import com.team4.appraisalApp.cache.TableVersions.Table;
+import com.team4.appraisalApp.datasource.ReadRouting;
+import com.team4.appraisalApp.models.Appraisal;
+import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.repository.IAppraisalRepo;
+import com.team4.appraisalApp.repository.IEmployeeRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The EmployeeSnapshotStore class serves employee and appraisal lookups by ID from an {@link EmployeeSnapshot}
+ * instead of the database.
+ * <p>
+ * The table versions of {@link TableVersions} are read before a snapshot is built, and a lookup is served from the
+ * snapshot only while the version of its table is unchanged; otherwise it goes to the repository, so a write through
+ * this instance, or announced by the {@link InvalidationBus}, is never hidden by an older snapshot. A background
+ * thread rebuilds the snapshot once a version has changed, at most once per {@code appraisal.snapshot.min-interval},
+ * and at the latest after {@code appraisal.snapshot.max-age}. A snapshot is written to a scratch file, moved over
+ * {@code appraisal.snapshot.path} and then swapped in, so lookups see either the old or the new one whole. Each
+ * lookup holds a reference to the snapshot it reads, and a replaced snapshot is unmapped once the last lookup on it
+ * has finished.
+ * <p>
+ * On startup a snapshot file younger than the max age is mapped and served at once, so a restarted instance answers
+ * lookups without querying the database. Writes made by other instances while this one was down are not in it, so it
+ * is served only until the first build, which starts right away, and for at most
+ * {@code appraisal.snapshot.warm-max-age}. The snapshots are built from the primary, never from a replica. The store
+ * is off unless {@code appraisal.snapshot.enabled} is true.
+ * <p>
+ * Meters: {@code appraisal.snapshot.lookups} tagged {@code table=employee|appraisal} and
+ * {@code result=snapshot|database}, {@code appraisal.snapshot.builds} (build duration) and
+ * {@code appraisal.snapshot.age} (seconds since the served snapshot was built).
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "appraisal.snapshot.enabled", havingValue = "true")
+public class EmployeeSnapshotStore implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSnapshotStore.class);
+
+    private final IEmployeeRepo employeeRepo;
+    private final IAppraisalRepo appraisalRepo;
+    private final TableVersions tableVersions;
+    private final Path file;
+    private final long minIntervalMillis;
+    private final long maxAgeMillis;
+    private final long warmMaxAgeMillis;
+
+    private final Counter employeeHits;
+    private final Counter employeeMisses;
+    private final Counter appraisalHits;
+    private final Counter appraisalMisses;
+    private final Timer builds;
+
+    private volatile Loaded current;
+    private volatile boolean running;
+    private Thread builder;
+
+    /**
+     * Constructs an EmployeeSnapshotStore.
+     *
+     * @param employeeRepo  the employee repository the snapshot is built from and misses are served by.
+     * @param appraisalRepo the appraisal repository the snapshot is built from and misses are served by.
+     * @param tableVersions the table versions that tell whether the snapshot is current.
+     * @param meterRegistry the registry the snapshot meters are published to.
+     * @param file          the snapshot file.
+     * @param minInterval   the shortest time between two builds.
+     * @param maxAge        the longest time a snapshot is served since it was built.
+     * @param warmMaxAge    the longest time a snapshot found on startup is served while the first build runs.
+     */
+    public EmployeeSnapshotStore(IEmployeeRepo employeeRepo, IAppraisalRepo appraisalRepo, TableVersions tableVersions,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${appraisal.snapshot.path:employee-directory.snap}") Path file,
+                                 @Value("${appraisal.snapshot.min-interval:5s}") Duration minInterval,
+                                 @Value("${appraisal.snapshot.max-age:10m}") Duration maxAge,
+                                 @Value("${appraisal.snapshot.warm-max-age:30s}") Duration warmMaxAge) {
+        this.employeeRepo = employeeRepo;
+        this.appraisalRepo = appraisalRepo;
+        this.tableVersions = tableVersions;
+        this.file = file.toAbsolutePath();
+        this.minIntervalMillis = Math.max(1, minInterval.toMillis());
+        this.maxAgeMillis = maxAge.toMillis();
+        this.warmMaxAgeMillis = warmMaxAge.toMillis();
+        this.employeeHits = lookupCounter(meterRegistry, "employee", "snapshot");
+        this.employeeMisses = lookupCounter(meterRegistry, "employee", "database");
+        this.appraisalHits = lookupCounter(meterRegistry, "appraisal", "snapshot");
+        this.appraisalMisses = lookupCounter(meterRegistry, "appraisal", "database");
+        this.builds = Timer.builder("appraisal.snapshot.builds")
+                .description("Duration of employee snapshot builds")
+                .register(meterRegistry);
+        Gauge.builder("appraisal.snapshot.age", this, EmployeeSnapshotStore::ageSeconds)
+                .description("Age of the served employee snapshot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String table, String result) {
+        return Counter.builder("appraisal.snapshot.lookups")
+                .description("Lookups by ID by table and by where they were served from")
+                .tag("table", table)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retrieves an employee by employee ID, from the snapshot if it is current.
+     *
+     * @param empId the employee ID.
+     * @return an Optional containing the employee if found, otherwise an empty Optional.
+     */
+    public Optional<Employee> getEmployeeById(int empId) {
+        Loaded loaded = current;
+        if (loaded != null && loaded.employeeVersion() == tableVersions.version(Table.EMPLOYEE) && young(loaded)
+                && loaded.snapshot().retain()) {
+            try {
+                employeeHits.increment();
+                return loaded.snapshot().employee(empId);
+            } finally {
+                loaded.snapshot().release();
+            }
+        }
+        employeeMisses.increment();
+        return employeeRepo.getEmployeeById(empId);
+    }
+
+    /**
+     * Retrieves an appraisal by employee ID, from the snapshot if it is current.
+     *
+     * @param empId the employee ID.
+     * @return an Optional containing the appraisal if found, otherwise an empty Optional.
+     */
+    public Optional<Appraisal> getAppraisal(int empId) {
+        Loaded loaded = current;
+        if (loaded != null && loaded.appraisalVersion() == tableVersions.version(Table.APPRAISAL) && young(loaded)
+                && loaded.snapshot().retain()) {
+            try {
+                appraisalHits.increment();
+                return loaded.snapshot().appraisal(empId);
+            } finally {
+                loaded.snapshot().release();
+            }
+        }
+        appraisalMisses.increment();
+        return appraisalRepo.getAppraisal(empId);
+    }
+
+    private boolean young(Loaded loaded) {
+        return System.currentTimeMillis() < loaded.servedUntil();
+    }
+
+    private boolean needsBuild() {
+        Loaded loaded = current;
+        return loaded == null
+                || loaded.warm()
+                || loaded.employeeVersion() != tableVersions.version(Table.EMPLOYEE)
+                || loaded.appraisalVersion() != tableVersions.version(Table.APPRAISAL)
+                || !young(loaded);
+    }
+
+    /**
+     * Builds a snapshot from the repositories and swaps it in.
+     * The versions are read before any row, so a write that commits during the build leaves the new snapshot stale
+     * rather than hiding the write.
+     */
+    private void build() {
+        long start = System.nanoTime();
+        long employeeVersion = tableVersions.version(Table.EMPLOYEE);
+        long appraisalVersion = tableVersions.version(Table.APPRAISAL);
+        Path scratch = null;
+        try {
+            Files.createDirectories(file.getParent());
+            scratch = Files.createTempFile(file.getParent(), "employee-directory", ".tmp");
+            EmployeeSnapshot.write(scratch,
+                    rows -> ReadRouting.onPrimary(() -> employeeRepo.streamAllEmployees(rows)),
+                    rows -> ReadRouting.onPrimary(() -> appraisalRepo.streamAllAppraisals(rows)),
+                    System.currentTimeMillis());
+            Files.move(scratch, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            scratch = null;
+            EmployeeSnapshot snapshot = EmployeeSnapshot.open(file);
+            swap(new Loaded(snapshot, employeeVersion, appraisalVersion, snapshot.builtAt() + maxAgeMillis, false));
+            long elapsed = System.nanoTime() - start;
+            builds.record(Duration.ofNanos(elapsed));
+            log.debug("Employee snapshot of {} employees and {} appraisals built in {} ms",
+                    snapshot.employeeCount(), snapshot.appraisalCount(), elapsed / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Employee snapshot could not be built; lookups go to the database until the next build", e);
+        } finally {
+            if (scratch != null) {
+                try {
+                    Files.deleteIfExists(scratch);
+                } catch (IOException e) {
+                    log.debug("Scratch file {} could not be deleted", scratch, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps the snapshot file left by an earlier run, if it is younger than the max age, to be served until the first
+     * build replaces it.
+     */
+    private void loadExisting() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            EmployeeSnapshot snapshot = EmployeeSnapshot.open(file);
+            long servedUntil = Math.min(snapshot.builtAt() + maxAgeMillis,
+                    System.currentTimeMillis() + warmMaxAgeMillis);
+            Loaded loaded = new Loaded(snapshot, tableVersions.version(Table.EMPLOYEE),
+                    tableVersions.version(Table.APPRAISAL), servedUntil, true);
+            if (young(loaded)) {
+                swap(loaded);
+                log.info("Serving employee snapshot of {} employees from {}", snapshot.employeeCount(), file);
+            } else {
+                snapshot.release();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Employee snapshot {} could not be read; it will be rebuilt", file, e);
+        }
+    }
+
+    /**
+     * Serves a new snapshot, or none, and gives back the owner's reference to the one it replaces, which is unmapped
+     * as soon as no lookup holds it.
+     */
+    private void swap(Loaded loaded) {
+        Loaded replaced = current;
+        current = loaded;
+        if (replaced != null) {
+            replaced.snapshot().release();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            if (needsBuild()) {
+                build();
+            }
+            // Parked rather than asleep, so that stop() wakes the thread without interrupting a build's file I/O
+            LockSupport.parkNanos(this, minIntervalMillis * 1_000_000);
+        }
+    }
+
+    private double ageSeconds() {
+        Loaded loaded = current;
+        return loaded == null ? 0 : (System.currentTimeMillis() - loaded.snapshot().builtAt()) / 1000.0;
+    }
+
+    /**
+     * Maps the snapshot left by an earlier run and starts the builder thread.
+     */
+    @Override
+    public void start() {
+        loadExisting();
+        running = true;
+        builder = new Thread(this::run, "employee-snapshot");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Stops the builder thread, a build in progress being finished first, and unmaps the served snapshot.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(builder);
+        try {
+            builder.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        swap(null);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * A mapped snapshot and the table versions it was built at.
+     *
+     * @param snapshot         the snapshot.
+     * @param employeeVersion  the employee table version read before the build.
+     * @param appraisalVersion the appraisal table version read before the build.
+     * @param servedUntil      the wall-clock time in milliseconds after which the snapshot is no longer served.
+     * @param warm             whether the snapshot was found on startup rather than built by this instance.
+     */
+    private record Loaded(EmployeeSnapshot snapshot, long employeeVersion, long appraisalVersion, long servedUntil,
+                          boolean warm) {
+    }
+}
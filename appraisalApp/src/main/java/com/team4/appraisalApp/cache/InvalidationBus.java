@@ -0,0 +1,302 @@
+package com.team4.appraisalApp.cache;
+
+import com.team4.appraisalApp.cache.TableVersions.Table;
+import com.team4.appraisalApp.compute.AppraisalEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The InvalidationBus class keeps the in-memory caches of several application instances in step through PostgreSQL
+ * {@code LISTEN}/{@code NOTIFY} on the primary database.
+ * <p>
+ * Every write bumped in {@link TableVersions} is announced on the {@value #CHANNEL} channel as a short notice naming
+ * this instance and the tables written, e.g. {@code k2x9q1 employee,appraisal}. Announcing never blocks the writer:
+ * the tables are collected into a bit set and a single thread sends one {@code pg_notify} for everything written
+ * since its last one. On every instance a second thread holds its own connection in {@code LISTEN} and, for each
+ * notice from another instance, advances the table versions and discards the affected caches: the band/review
+ * snapshot of the {@link ReferenceDataCache} and the employee columns of the {@link AppraisalEngine}.
+ * <p>
+ * PostgreSQL does not keep notices for a connection that is not listening, so after every reconnect the listener
+ * resyncs: every table version advances and every cache is discarded. The first connection does not resync, so that
+ * the {@link EmployeeSnapshotStore} can serve the snapshot it found on startup until its first build. A connection that
+ * has been idle for {@code appraisal.cache.notify.keepalive} is checked, so a silently dropped connection is noticed
+ * within that time. The bus is on unless {@code appraisal.cache.notify.enabled} is false.
+ * <p>
+ * Meters: {@code appraisal.cache.notices} tagged {@code direction=sent|received} and
+ * {@code appraisal.cache.resyncs}.
+ */
+@Component
+@ConditionalOnProperty(name = "appraisal.cache.notify.enabled", havingValue = "true", matchIfMissing = true)
+public class InvalidationBus implements SmartLifecycle {
+
+    /** The notification channel; the same on every instance. */
+    static final String CHANNEL = "appraisal_changes";
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final Table[] TABLES = Table.values();
+
+    private final String node = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final TableVersions tableVersions;
+    private final ReferenceDataCache referenceDataCache;
+    private final AppraisalEngine appraisalEngine;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties properties;
+    private final int keepaliveMillis;
+
+    private final Counter sent;
+    private final Counter received;
+    private final Counter resyncs;
+
+    // Bit set of the tables written since the last notice, by Table ordinal
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile boolean running;
+    private Thread publisher;
+    private Thread listener;
+
+    /**
+     * Constructs an InvalidationBus.
+     *
+     * @param tableVersions      the table versions whose writes are announced and advanced.
+     * @param referenceDataCache the band/review cache discarded on band and review notices.
+     * @param appraisalEngine    the engine whose employee columns are discarded on employee notices.
+     * @param dataSource         the DataSource the notices are sent through.
+     * @param properties         the primary's {@code spring.datasource.*} properties the listener connects with.
+     * @param meterRegistry      the registry the notice counters are published to.
+     * @param keepalive          how long the listening connection may be idle before it is checked.
+     */
+    public InvalidationBus(TableVersions tableVersions, ReferenceDataCache referenceDataCache,
+                           AppraisalEngine appraisalEngine, DataSource dataSource, DataSourceProperties properties,
+                           MeterRegistry meterRegistry,
+                           @Value("${appraisal.cache.notify.keepalive:10s}") Duration keepalive) {
+        this.tableVersions = tableVersions;
+        this.referenceDataCache = referenceDataCache;
+        this.appraisalEngine = appraisalEngine;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+        this.keepaliveMillis = (int) Math.max(1, keepalive.toMillis());
+        this.sent = noticeCounter(meterRegistry, "sent");
+        this.received = noticeCounter(meterRegistry, "received");
+        this.resyncs = Counter.builder("appraisal.cache.resyncs")
+                .description("Number of times every cache was discarded after the listening connection was reopened")
+                .register(meterRegistry);
+    }
+
+    private static Counter noticeCounter(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("appraisal.cache.notices")
+                .description("Cache invalidation notices by direction")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records written tables to be announced; called by {@link TableVersions} on the writing thread.
+     *
+     * @param tables the tables that were written.
+     */
+    private void written(Table[] tables) {
+        int mask = 0;
+        for (Table table : tables) {
+            mask |= 1 << table.ordinal();
+        }
+        int bits = mask;
+        // The publisher parks only after finding nothing pending, so only the first write since then wakes it
+        if (pending.getAndUpdate(current -> current | bits) == 0) {
+            LockSupport.unpark(publisher);
+        }
+    }
+
+    private void publish() {
+        while (true) {
+            int bits = pending.getAndSet(0);
+            if (bits == 0) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, CHANNEL, node + ' ' + tags(bits));
+                sent.increment();
+            } catch (DataAccessException e) {
+                pending.getAndUpdate(current -> current | bits);
+                if (!running) {
+                    log.error("Cache invalidation notice for {} could not be sent during shutdown", tags(bits), e);
+                    return;
+                }
+                log.warn("Cache invalidation notice for {} failed; retrying in {} ms",
+                        tags(bits), RETRY_DELAY_MILLIS, e);
+                sleepBeforeRetry();
+            }
+        }
+    }
+
+    private static String tags(int bits) {
+        StringBuilder tags = new StringBuilder();
+        for (Table table : TABLES) {
+            if ((bits & 1 << table.ordinal()) != 0) {
+                if (!tags.isEmpty()) {
+                    tags.append(',');
+                }
+                tags.append(table.tag());
+            }
+        }
+        return tags.toString();
+    }
+
+    private void listen() {
+        boolean listenedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    properties.determineUrl(), properties.determineUsername(), properties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (listenedBefore) {
+                    resync();
+                }
+                listenedBefore = true;
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] batch = notifications.getNotifications(keepaliveMillis);
+                    if (batch == null || batch.length == 0) {
+                        if (!connection.isValid(keepaliveMillis / 1000 + 1)) {
+                            throw new SQLException("Listening connection is no longer valid");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : batch) {
+                        apply(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener lost its connection; reconnecting in {} ms",
+                            RETRY_DELAY_MILLIS, e);
+                    sleepBeforeRetry();
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies a notice from the channel; notices sent by this instance are ignored.
+     *
+     * @param payload the notice, the sending node followed by a comma-separated list of table tags.
+     */
+    private void apply(String payload) {
+        int space = payload.indexOf(' ');
+        if (space < 0 || payload.substring(0, space).equals(node)) {
+            return;
+        }
+        List<Table> tables = new ArrayList<>(TABLES.length);
+        for (String tag : payload.substring(space + 1).split(",")) {
+            for (Table table : TABLES) {
+                if (table.tag().equals(tag)) {
+                    tables.add(table);
+                }
+            }
+        }
+        received.increment();
+        evict(tables.toArray(new Table[0]));
+    }
+
+    /**
+     * Discards everything cached, for the notices that may have been missed while no connection was listening.
+     */
+    private void resync() {
+        resyncs.increment();
+        evict(TABLES);
+    }
+
+    private void evict(Table[] tables) {
+        tableVersions.advance(tables);
+        for (Table table : tables) {
+            switch (table) {
+                case BAND, REVIEW -> referenceDataCache.invalidate();
+                case EMPLOYEE -> appraisalEngine.invalidate();
+                case APPRAISAL -> {
+                    // Appraisals are only cached by their ETag, which has advanced
+                }
+            }
+        }
+    }
+
+    private void sleepBeforeRetry() {
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            running = false;
+        }
+    }
+
+    /**
+     * Starts announcing local writes and listening for the writes of other instances.
+     */
+    @Override
+    public void start() {
+        running = true;
+        publisher = new Thread(this::publish, "cache-notify");
+        publisher.setDaemon(true);
+        publisher.start();
+        listener = new Thread(this::listen, "cache-listen");
+        listener.setDaemon(true);
+        listener.start();
+        tableVersions.onWrite(this::written);
+    }
+
+    /**
+     * Stops listening, sends the notice for writes not yet announced and waits for the publisher to finish.
+     * The listener thread exits at its next keepalive check.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(publisher);
+        listener.interrupt();
+        try {
+            publisher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server and the {@link com.team4.appraisalApp.compute.AppraisalRecomputeQueue}, so that
+     * the writes they finish during a graceful shutdown are still announced.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+}
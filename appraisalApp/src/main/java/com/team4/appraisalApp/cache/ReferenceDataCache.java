@@ -0,0 +1,305 @@
+package com.team4.appraisalApp.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team4.appraisalApp.datasource.ReadRouting;
+import com.team4.appraisalApp.models.Band;
+import com.team4.appraisalApp.models.Review;
+import com.team4.appraisalApp.repository.impl.BandRepoImpl;
+import com.team4.appraisalApp.repository.impl.ReviewRepoImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The ReferenceDataCache class holds an immutable in-memory snapshot of the band and review tables.
+ * Lookups by band ID and review ID are O(1) map reads. The snapshot is reloaded from the database
+ * when its time-to-live expires or after {@link #invalidate()} has been called. A reload that finds different
+ * bands or reviews advances the band or review version in {@link TableVersions}. A reload that overlaps an
+ * {@link #invalidate()} may have read the tables before the write, so each snapshot records the invalidation
+ * generation it started at and is only served while that generation is current.
+ * <p>
+ * Each snapshot also holds the band and review lists serialized as JSON, plain and gzip-encoded, so the list
+ * endpoints write prebuilt bytes instead of serializing on every request.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private final BandRepoImpl bandRepo;
+    private final ReviewRepoImpl reviewRepo;
+    private final TableVersions tableVersions;
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+
+    private final Counter bandHits;
+    private final Counter bandMisses;
+    private final Counter reviewHits;
+    private final Counter reviewMisses;
+    private final Counter refreshes;
+    // Not a synchronized block, so a virtual thread waiting on the reload query does not pin its carrier thread
+    private final ReentrantLock loadLock = new ReentrantLock();
+    // Advanced by every invalidate(), so a reload can tell whether one happened while it was reading
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+    // The last snapshot loaded, kept across invalidate() so a reload can tell whether the tables changed; guarded by loadLock
+    private Snapshot previous;
+
+    /**
+     * Constructs a ReferenceDataCache backed by the JDBC band and review repositories.
+     *
+     * @param bandRepo      the band repository used to load the snapshot.
+     * @param reviewRepo    the review repository used to load the snapshot.
+     * @param tableVersions the version counters advanced when a reload finds changed data.
+     * @param objectMapper  the JSON mapper the serialized lists are built with.
+     * @param meterRegistry the registry the hit and miss counters are published to.
+     * @param ttl           how long a loaded snapshot stays valid.
+     */
+    public ReferenceDataCache(BandRepoImpl bandRepo, ReviewRepoImpl reviewRepo, TableVersions tableVersions,
+                              ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${appraisal.cache.reference.ttl:5m}") Duration ttl) {
+        this.bandRepo = bandRepo;
+        this.reviewRepo = reviewRepo;
+        this.tableVersions = tableVersions;
+        this.objectMapper = objectMapper;
+        this.ttlNanos = ttl.toNanos();
+        this.bandHits = lookupCounter(meterRegistry, "band", "hit");
+        this.bandMisses = lookupCounter(meterRegistry, "band", "miss");
+        this.reviewHits = lookupCounter(meterRegistry, "review", "hit");
+        this.reviewMisses = lookupCounter(meterRegistry, "review", "miss");
+        this.refreshes = Counter.builder("appraisal.reference.cache.refreshes")
+                .description("Number of times the band/review snapshot was reloaded")
+                .register(meterRegistry);
+        Gauge.builder("appraisal.reference.cache.size", this, c -> c.sizeOf(Snapshot::bandList))
+                .tag("cache", "band")
+                .register(meterRegistry);
+        Gauge.builder("appraisal.reference.cache.size", this, c -> c.sizeOf(Snapshot::reviewList))
+                .tag("cache", "review")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder("appraisal.reference.cache.lookups")
+                .description("Band/review cache lookups by result")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Looks up a band by its ID.
+     *
+     * @param bandId the band ID.
+     * @return an Optional containing the band if found, otherwise an empty Optional.
+     */
+    public Optional<Band> getBand(String bandId) {
+        Band band = current().bands().get(bandId);
+        (band != null ? bandHits : bandMisses).increment();
+        return Optional.ofNullable(band);
+    }
+
+    /**
+     * Looks up a review by its ID.
+     *
+     * @param revId the review ID.
+     * @return an Optional containing the review if found, otherwise an empty Optional.
+     */
+    public Optional<Review> getReview(int revId) {
+        Review review = current().reviews().get(revId);
+        (review != null ? reviewHits : reviewMisses).increment();
+        return Optional.ofNullable(review);
+    }
+
+    /**
+     * Returns all bands in the current snapshot.
+     *
+     * @return an unmodifiable list of bands.
+     */
+    public List<Band> getAllBands() {
+        return current().bandList();
+    }
+
+    /**
+     * Returns all reviews in the current snapshot.
+     *
+     * @return an unmodifiable list of reviews.
+     */
+    public List<Review> getAllReviews() {
+        return current().reviewList();
+    }
+
+    /**
+     * Returns all bands in the current snapshot as a serialized JSON array.
+     *
+     * @return the serialized bands; the arrays are shared and must not be modified.
+     */
+    public SerializedList getSerializedBands() {
+        return current().serializedBands();
+    }
+
+    /**
+     * Returns all reviews in the current snapshot as a serialized JSON array.
+     *
+     * @return the serialized reviews; the arrays are shared and must not be modified.
+     */
+    public SerializedList getSerializedReviews() {
+        return current().serializedReviews();
+    }
+
+    /**
+     * Discards the current snapshot so that the next lookup reloads it from the database.
+     * Must be called after any write to the band or review tables.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * Returns the current snapshot, reloading it if it is missing or older than the TTL.
+     *
+     * @return the current snapshot.
+     */
+    Snapshot current() {
+        Snapshot current = snapshot;
+        if (fresh(current)) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (!fresh(current)) {
+                current = load(generation.get());
+                snapshot = current;
+                previous = current;
+            }
+            return current;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private boolean fresh(Snapshot current) {
+        return current != null && current.generation() == generation.get()
+                && System.nanoTime() - current.loadedAt() < ttlNanos;
+    }
+
+    private Snapshot load(long generation) {
+        // From the primary, as the snapshot is served as current for the table versions read after it
+        List<Band> bandList = List.copyOf(ReadRouting.onPrimary(bandRepo::getAllBands));
+        List<Review> reviewList = List.copyOf(ReadRouting.onPrimary(reviewRepo::getAllReviews));
+
+        Map<String, Band> bands = new LinkedHashMap<>();
+        for (Band band : bandList) {
+            bands.put(band.getBandId(), band);
+        }
+        Map<Integer, Review> reviews = new LinkedHashMap<>();
+        for (Review review : reviewList) {
+            reviews.put(review.getRevId(), review);
+        }
+        if (previous == null || !sameBands(previous.bandList(), bandList)) {
+            tableVersions.bump(TableVersions.Table.BAND);
+        }
+        if (previous == null || !sameReviews(previous.reviewList(), reviewList)) {
+            tableVersions.bump(TableVersions.Table.REVIEW);
+        }
+        refreshes.increment();
+        return new Snapshot(Map.copyOf(bands), Map.copyOf(reviews), bandList, reviewList,
+                serialize(bandList), serialize(reviewList), System.nanoTime(), generation);
+    }
+
+    private SerializedList serialize(List<?> list) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(list);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length / 2 + 64);
+            // Built once per reload, so spend the time on the best ratio
+            try (GZIPOutputStream compressed = new GZIPOutputStream(gzip) {
+                {
+                    def.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            }) {
+                compressed.write(json);
+            }
+            return new SerializedList(list.size(), json, gzip.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Reference data could not be serialized", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean sameBands(List<Band> a, List<Band> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!a.get(i).getBandId().equals(b.get(i).getBandId())
+                    || Double.compare(a.get(i).getBandMul(), b.get(i).getBandMul()) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameReviews(List<Review> a, List<Review> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i).getRevId() != b.get(i).getRevId()
+                    || Double.compare(a.get(i).getRevMul(), b.get(i).getRevMul()) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double sizeOf(Function<Snapshot, List<?>> list) {
+        Snapshot current = snapshot;
+        return current == null ? 0 : list.apply(current).size();
+    }
+
+    /**
+     * An immutable view of the band and review tables at the time they were loaded.
+     *
+     * @param bands             bands keyed by band ID.
+     * @param reviews           reviews keyed by review ID.
+     * @param bandList          bands in table order.
+     * @param reviewList        reviews in table order.
+     * @param serializedBands   {@code bandList} as JSON.
+     * @param serializedReviews {@code reviewList} as JSON.
+     * @param loadedAt          the {@link System#nanoTime()} at which the snapshot was loaded.
+     * @param generation        the invalidation generation read before the tables were.
+     */
+    record Snapshot(Map<String, Band> bands, Map<Integer, Review> reviews,
+                    List<Band> bandList, List<Review> reviewList,
+                    SerializedList serializedBands, SerializedList serializedReviews, long loadedAt,
+                    long generation) {
+    }
+
+    /**
+     * A list serialized as a JSON array.
+     *
+     * @param size the number of elements in the list.
+     * @param json the UTF-8 JSON bytes.
+     * @param gzip {@code json} gzip-encoded.
+     */
+    public record SerializedList(int size, byte[] json, byte[] gzip) {
+    }
+}
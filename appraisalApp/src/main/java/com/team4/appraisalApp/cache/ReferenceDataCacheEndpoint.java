@@ -0,0 +1,49 @@
+package com.team4.appraisalApp.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * The ReferenceDataCacheEndpoint class exposes the band/review cache through the actuator.
+ * A GET on {@code /actuator/referencecache} reports the cached entry counts and a POST discards the snapshot.
+ */
+@Component
+@Endpoint(id = "referencecache")
+public class ReferenceDataCacheEndpoint {
+
+    private final ReferenceDataCache cache;
+
+    /**
+     * Constructs a ReferenceDataCacheEndpoint for the specified cache.
+     *
+     * @param cache the reference data cache.
+     */
+    public ReferenceDataCacheEndpoint(ReferenceDataCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Reports the number of cached bands and reviews, loading the snapshot if necessary.
+     *
+     * @return the cached entry counts.
+     */
+    @ReadOperation
+    public Map<String, Integer> entries() {
+        return Map.of(
+                "bands", cache.getAllBands().size(),
+                "reviews", cache.getAllReviews().size()
+        );
+    }
+
+    /**
+     * Discards the cached snapshot so that the next lookup reloads it from the database.
+     */
+    @WriteOperation
+    public void invalidate() {
+        cache.invalidate();
+    }
+}
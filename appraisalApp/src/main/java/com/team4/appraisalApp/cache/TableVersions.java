@@ -0,0 +1,163 @@
+package com.team4.appraisalApp.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * The TableVersions class keeps an in-memory version counter per table, advanced by the write paths of the
+ * repositories, and formats it as a strong ETag.
+ * <p>
+ * A list endpoint compares the ETag with the request's {@code If-None-Match} before touching any row data, so an
+ * unchanged poll is answered with 304 from a counter read. The ETag carries the instance's start time, so a tag
+ * issued by another instance or before a restart never matches. Writes made outside this instance (another
+ * instance, or SQL run directly against the database) do not advance the counters unless the {@link InvalidationBus}
+ * relays them; to bound how long they go unseen, every ETag also changes once per {@code appraisal.etag.max-age}.
+ */
+@Component
+public class TableVersions {
+
+    /**
+     * The tables that carry a version.
+     */
+    public enum Table {
+        EMPLOYEE("employee"),
+        APPRAISAL("appraisal"),
+        BAND("band"),
+        REVIEW("review");
+
+        private final String tag;
+
+        Table(String tag) {
+            this.tag = tag;
+        }
+
+        String tag() {
+            return tag;
+        }
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final long origin = System.nanoTime();
+    private final long maxAgeNanos;
+    private final AtomicLongArray versions = new AtomicLongArray(Table.values().length);
+    // The last formatted tags per table, so that polls between writes do not build a new string
+    private final AtomicReferenceArray<Tags> tags = new AtomicReferenceArray<>(Table.values().length);
+    private volatile Consumer<Table[]> writeListener = tables -> {
+    };
+
+    /**
+     * Constructs a TableVersions with every counter at zero.
+     *
+     * @param maxAge how long an ETag may stay unchanged while the table is not written through this instance.
+     */
+    public TableVersions(@Value("${appraisal.etag.max-age:1m}") Duration maxAge) {
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    /**
+     * Advances the versions of the given tables.
+     * Inside a transaction the versions advance after it commits, so an ETag never names data that could still
+     * roll back; outside one they advance immediately.
+     *
+     * @param tables the tables that were written.
+     */
+    public void bump(Table... tables) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(tables);
+                }
+            });
+        } else {
+            increment(tables);
+        }
+    }
+
+    private void increment(Table[] tables) {
+        advance(tables);
+        writeListener.accept(tables);
+    }
+
+    /**
+     * Advances the versions of the given tables without reporting a write, for changes made by another instance.
+     *
+     * @param tables the tables that were written.
+     */
+    void advance(Table... tables) {
+        for (Table table : tables) {
+            versions.incrementAndGet(table.ordinal());
+        }
+    }
+
+    /**
+     * Sets the listener called with the tables of every write bumped on this instance, once the write is visible.
+     *
+     * @param listener the listener; it runs on the writing thread and must not block.
+     */
+    void onWrite(Consumer<Table[]> listener) {
+        this.writeListener = listener;
+    }
+
+    /**
+     * Returns the current version of a table.
+     *
+     * @param table the table.
+     * @return the number of times the table has been written through this instance.
+     */
+    public long version(Table table) {
+        return versions.get(table.ordinal());
+    }
+
+    /**
+     * Returns the strong ETag for the current version of a table, quotes included.
+     * Must be read before the rows it is sent with, so that the ETag is never newer than the data.
+     *
+     * @param table the table.
+     * @return the ETag, e.g. {@code "employee-m1x2y3z4-17-0"}.
+     */
+    public String etag(Table table) {
+        return tags(table).identity();
+    }
+
+    /**
+     * Returns the strong ETag for the gzip-encoded representation of the current version of a table.
+     * A strong ETag names one exact byte sequence, so the gzip variant needs a tag of its own.
+     *
+     * @param table the table.
+     * @return the ETag, e.g. {@code "employee-m1x2y3z4-17-0-gzip"}.
+     */
+    public String gzipEtag(Table table) {
+        return tags(table).gzip();
+    }
+
+    private Tags tags(Table table) {
+        long version = version(table);
+        long period = (System.nanoTime() - origin) / maxAgeNanos;
+        Tags current = tags.get(table.ordinal());
+        if (current == null || current.version() != version || current.period() != period) {
+            String base = table.tag + '-' + epoch + '-' + version + '-' + period;
+            current = new Tags(version, period, '"' + base + '"', '"' + base + "-gzip\"");
+            tags.set(table.ordinal(), current);
+        }
+        return current;
+    }
+
+    /**
+     * The formatted ETags of one table version.
+     *
+     * @param version  the table version.
+     * @param period   the max-age period the tags were formatted in.
+     * @param identity the tag of the uncompressed representation.
+     * @param gzip     the tag of the gzip-encoded representation.
+     */
+    private record Tags(long version, long period, String identity, String gzip) {
+    }
+}
@@ -0,0 +1,233 @@
+package com.team4.appraisalApp.compute;
+
+import com.team4.appraisalApp.datasource.ReadRouting;
+import com.team4.appraisalApp.models.Band;
+import com.team4.appraisalApp.models.Review;
+import com.team4.appraisalApp.repository.IBandRepo;
+import com.team4.appraisalApp.repository.IEmployeeRepo;
+import com.team4.appraisalApp.repository.IReviewRepo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * The AppraisalEngine class computes appraisals for the whole employee population in memory.
+ * <p>
+ * The population is held as {@link EmployeeColumns}: primitive arrays with byte-coded bands and reviews. The
+ * percentages for every (band, review) pair are precomputed into a small matrix, so the per-employee work is two
+ * byte reads, one double read from the matrix and the {@link AppraisalFormula} arithmetic. The rows are split into
+ * contiguous chunks that are processed in parallel on the common fork-join pool without allocating per row.
+ * <p>
+ * The columns are loaded from the database on first use and reloaded after the TTL or after
+ * {@link #invalidate()}. Columns loaded while an {@link #invalidate()} came in may predate the write; they are
+ * handed to the computation that loaded them but not reused. Multipliers are read from the band and review
+ * repositories on every computation.
+ */
+@Component
+public class AppraisalEngine {
+
+    private static final int MIN_CHUNK_SIZE = 16 * 1024;
+
+    private final IEmployeeRepo employeeRepo;
+    private final IBandRepo bandRepo;
+    private final IReviewRepo reviewRepo;
+    private final long ttlNanos;
+    // A lock rather than a monitor: the reload blocks on JDBC, which would pin a virtual thread inside synchronized
+    private final ReentrantLock loadLock = new ReentrantLock();
+    // Advanced by every invalidate(), so a load can tell whether one happened while it was reading
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Loaded loaded;
+
+    /**
+     * Constructs an AppraisalEngine with the specified repositories.
+     *
+     * @param employeeRepo the employee repository the columns are loaded from.
+     * @param bandRepo     the band repository.
+     * @param reviewRepo   the review repository.
+     * @param ttl          how long loaded columns stay valid.
+     */
+    public AppraisalEngine(IEmployeeRepo employeeRepo, IBandRepo bandRepo, IReviewRepo reviewRepo,
+                           @Value("${appraisal.compute.columns-ttl:1m}") Duration ttl) {
+        this.employeeRepo = employeeRepo;
+        this.bandRepo = bandRepo;
+        this.reviewRepo = reviewRepo;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Returns the employee columns, loading them from the database if they are missing or older than the TTL.
+     *
+     * @return the current employee columns.
+     */
+    public EmployeeColumns columns() {
+        Loaded current = loaded;
+        if (fresh(current)) {
+            return current.columns();
+        }
+        loadLock.lock();
+        try {
+            current = loaded;
+            if (!fresh(current)) {
+                long started = generation.get();
+                current = new Loaded(load(), System.nanoTime(), started);
+                loaded = current;
+            }
+            return current.columns();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Discards the loaded columns so that the next computation reloads them.
+     * Should be called after writes to the employee table.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        loaded = null;
+    }
+
+    private boolean fresh(Loaded current) {
+        return current != null && current.generation() == generation.get()
+                && System.nanoTime() - current.loadedAt() < ttlNanos;
+    }
+
+    private EmployeeColumns load() {
+        List<String> bandIds = bandRepo.getAllBands().stream().map(Band::getBandId).toList();
+        List<Integer> reviewIds = reviewRepo.getAllReviews().stream().map(Review::getRevId).toList();
+        EmployeeColumns.Builder builder = new EmployeeColumns.Builder(bandIds, reviewIds, 1024);
+        // From the primary: columns read from a lagging replica after invalidate() would be reused until the TTL
+        ReadRouting.onPrimary(() -> employeeRepo.streamAllEmployees(employee -> builder.add(
+                employee.getSalaryMillis(), employee.getBand(), employee.getReview())));
+        return builder.build();
+    }
+
+    /**
+     * Builds the appraisal percentage matrix for the columns' band and review dictionaries.
+     * Overridden multipliers take precedence over the stored ones. A cell whose band or review no longer has a
+     * multiplier is NaN and its employees are skipped.
+     *
+     * @param columns          the columns whose dictionaries define the matrix layout.
+     * @param bandOverrides    band multipliers to use instead of the stored ones; may be empty.
+     * @param reviewOverrides  review multipliers to use instead of the stored ones; may be empty.
+     * @return the percentages indexed by {@code bandCode * reviewCount + reviewCode}.
+     */
+    public double[] percentageMatrix(EmployeeColumns columns, Map<String, Double> bandOverrides,
+                                     Map<Integer, Double> reviewOverrides) {
+        String[] bandIds = columns.getBandIds();
+        int[] reviewIds = columns.getReviewIds();
+        double[] reviewMultipliers = new double[reviewIds.length];
+        for (int r = 0; r < reviewIds.length; r++) {
+            int reviewId = reviewIds[r];
+            reviewMultipliers[r] = Optional.ofNullable(reviewOverrides.get(reviewId))
+                    .or(() -> reviewRepo.getReview(reviewId).map(Review::getRevMul))
+                    .orElse(Double.NaN);
+        }
+        double[] matrix = new double[bandIds.length * reviewIds.length];
+        for (int b = 0; b < bandIds.length; b++) {
+            String bandId = bandIds[b];
+            double bandMultiplier = Optional.ofNullable(bandOverrides.get(bandId))
+                    .or(() -> bandRepo.getBand(bandId).map(Band::getBandMul))
+                    .orElse(Double.NaN);
+            for (int r = 0; r < reviewIds.length; r++) {
+                matrix[b * reviewIds.length + r] = AppraisalFormula.percentage(reviewMultipliers[r], bandMultiplier);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Computes headcount, current payroll and appraised payroll per (band, review) cell.
+     * Each chunk accumulates into its own slice of the partial arrays, so the parallel pass needs no
+     * synchronization; the slices are summed afterwards. Payroll is summed in millis, so the totals are exact and
+     * do not depend on how the rows were split into chunks.
+     *
+     * @param columns the employee columns.
+     * @param matrix  the percentage matrix from {@link #percentageMatrix}.
+     * @return the payroll totals.
+     */
+    public PayrollTotals totals(EmployeeColumns columns, double[] matrix) {
+        long[] salaries = columns.salaries();
+        byte[] bandCodes = columns.bandCodes();
+        byte[] reviewCodes = columns.reviewCodes();
+        int reviewCount = columns.reviewCount();
+        int cells = columns.bandCount() * reviewCount;
+        int size = columns.size();
+        int chunks = chunkCount(size);
+
+        long[] headcount = new long[chunks * cells];
+        long[] currentPayroll = new long[chunks * cells];
+        long[] appraisedPayroll = new long[chunks * cells];
+        long[] skipped = new long[chunks];
+
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunkStart(size, chunks, chunk);
+            int to = chunkStart(size, chunks, chunk + 1);
+            int base = chunk * cells;
+            long skippedInChunk = 0;
+            for (int i = from; i < to; i++) {
+                int b = bandCodes[i];
+                int r = reviewCodes[i];
+                if (b < 0 || r < 0) {
+                    skippedInChunk++;
+                    continue;
+                }
+                int cell = b * reviewCount + r;
+                double percentage = matrix[cell];
+                if (Double.isNaN(percentage)) {
+                    skippedInChunk++;
+                    continue;
+                }
+                long salary = salaries[i];
+                headcount[base + cell]++;
+                currentPayroll[base + cell] += salary;
+                appraisedPayroll[base + cell] += AppraisalFormula.appraisedSalary(salary, percentage);
+            }
+            skipped[chunk] = skippedInChunk;
+        });
+
+        long[] cellHeadcount = new long[cells];
+        long[] cellCurrent = new long[cells];
+        long[] cellAppraised = new long[cells];
+        long totalSkipped = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int base = chunk * cells;
+            for (int cell = 0; cell < cells; cell++) {
+                cellHeadcount[cell] += headcount[base + cell];
+                cellCurrent[cell] += currentPayroll[base + cell];
+                cellAppraised[cell] += appraisedPayroll[base + cell];
+            }
+            totalSkipped += skipped[chunk];
+        }
+        return new PayrollTotals(columns.getBandIds(), columns.getReviewIds(),
+                cellHeadcount, cellCurrent, cellAppraised, totalSkipped);
+    }
+
+    private static int chunkCount(int size) {
+        int byParallelism = Runtime.getRuntime().availableProcessors() * 4;
+        int bySize = (size + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE;
+        return Math.max(1, Math.min(byParallelism, bySize));
+    }
+
+    private static int chunkStart(int size, int chunks, int chunk) {
+        return (int) ((long) size * chunk / chunks);
+    }
+
+    /**
+     * Loaded columns with the time they were loaded and the invalidation generation read before the load.
+     *
+     * @param columns    the employee columns.
+     * @param loadedAt   the {@link System#nanoTime()} at which the columns were loaded.
+     * @param generation the invalidation generation read before the load.
+     */
+    private record Loaded(EmployeeColumns columns, long loadedAt, long generation) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.team4.appraisalApp.compute;
+
+import com.team4.appraisalApp.models.Money;
+
+/**
+ * The AppraisalFormula class holds the appraisal arithmetic used by the compute engine and the repositories.
+ * The appraisal percentage is the product of the review and band multipliers, and the appraised salary is the
+ * current salary raised by that percentage.
+ * <p>
+ * Salaries are fixed-point thousandths (see {@link Money}). The raise is the salary in millis times the percentage,
+ * evaluated in double precision and rounded to a whole number of millis half away from zero; the appraised salary is
+ * the salary plus the raise, added exactly. {@link #appraisedSalarySql(String, String)} renders the same steps in
+ * SQL, so appraisals written by the database and payroll computed in memory agree to the thousandth.
+ */
+public final class AppraisalFormula {
+
+    private AppraisalFormula() {
+    }
+
+    /**
+     * Computes the appraisal percentage for a review and band.
+     *
+     * @param reviewMultiplier the review multiplier.
+     * @param bandMultiplier   the band multiplier.
+     * @return the appraisal percentage.
+     */
+    public static double percentage(double reviewMultiplier, double bandMultiplier) {
+        return reviewMultiplier * bandMultiplier;
+    }
+
+    /**
+     * Computes the appraised salary for a current salary and appraisal percentage.
+     *
+     * @param salaryMillis the current salary in millis.
+     * @param percentage   the appraisal percentage.
+     * @return the appraised salary in millis.
+     */
+    public static long appraisedSalary(long salaryMillis, double percentage) {
+        return salaryMillis + Money.round(salaryMillis * percentage);
+    }
+
+    /**
+     * Renders {@link #appraisedSalary(long, double)} as a SQL expression of type numeric.
+     * The salary is converted to a bigint count of millis, multiplied by the percentage as double precision, and the
+     * raise is rounded half away from zero by adding {@code trunc(2 * fraction)} to its integer part, so no
+     * floating-point rounding function with a different tie rule is involved. The millis are scaled back by
+     * multiplying with {@code 0.001}, which is exact and yields three fraction digits, rather than by dividing.
+     *
+     * @param salary     a SQL expression of type numeric for the current salary.
+     * @param percentage a SQL expression of type double precision for the appraisal percentage.
+     * @return the SQL expression for the appraised salary.
+     */
+    public static String appraisedSalarySql(String salary, String percentage) {
+        String millis = "((" + salary + ") * 1000)::bigint";
+        String raise = "(" + millis + "::double precision * (" + percentage + "))";
+        return "((" + millis + " + trunc(" + raise + ")::bigint + trunc(2 * (" + raise + " - trunc(" + raise + ")))::bigint)" +
+                " * 0.001)";
+    }
+}
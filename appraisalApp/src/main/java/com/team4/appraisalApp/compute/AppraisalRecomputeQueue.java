@@ -0,0 +1,280 @@
+package com.team4.appraisalApp.compute;
+
+import com.team4.appraisalApp.repository.IAppraisalRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The AppraisalRecomputeQueue class brings stored appraisals up to date with employee changes in the background.
+ * <p>
+ * Employee writes {@link #enqueue(int) enqueue} the employee ID and return. A single worker thread drains up to
+ * {@code appraisal.recompute.batch-size} IDs at a time and recomputes their appraisals with one
+ * {@link IAppraisalRepo#recomputeAppraisals(List)} statement per batch. An ID that is already pending is not queued
+ * again, so repeated updates to the same employee cost one recompute.
+ * <p>
+ * The queue holds at most {@code appraisal.recompute.capacity} IDs. When it is full, {@link #enqueue(int)} waits
+ * up to {@code appraisal.recompute.offer-timeout} for room and then recomputes the appraisal on the caller's thread,
+ * so writers slow down instead of losing updates. Pending IDs are drained when the application shuts down.
+ * <p>
+ * Meters: {@code appraisal.recompute.pending} (queued IDs), {@code appraisal.recompute.lag} (age in seconds of
+ * the oldest pending ID), {@code appraisal.recompute.requests} tagged {@code result=queued|coalesced|caller_ran},
+ * {@code appraisal.recompute.batches} (batch duration) and {@code appraisal.recompute.latency} (time from enqueue
+ * to recompute per ID).
+ */
+@Component
+public class AppraisalRecomputeQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AppraisalRecomputeQueue.class);
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final IAppraisalRepo appraisalRepo;
+    private final int capacity;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+
+    private final Counter queued;
+    private final Counter coalesced;
+    private final Counter callerRan;
+    private final Timer batches;
+    private final Timer latency;
+
+    // Pending employee IDs and the System.nanoTime() of their first enqueue, oldest first; guarded by lock.
+    // A lock rather than a monitor, so a virtual thread waiting for room does not pin its carrier thread
+    private final LinkedHashMap<Integer, Long> pending = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Constructs an AppraisalRecomputeQueue.
+     *
+     * @param appraisalRepo the appraisal repository the recomputes are run through.
+     * @param meterRegistry the registry the queue meters are published to.
+     * @param capacity      the maximum number of pending employee IDs.
+     * @param batchSize     the maximum number of appraisals recomputed per statement.
+     * @param offerTimeout  how long an enqueue waits for room before recomputing on the caller's thread.
+     */
+    public AppraisalRecomputeQueue(IAppraisalRepo appraisalRepo, MeterRegistry meterRegistry,
+                                   @Value("${appraisal.recompute.capacity:10000}") int capacity,
+                                   @Value("${appraisal.recompute.batch-size:500}") int batchSize,
+                                   @Value("${appraisal.recompute.offer-timeout:100ms}") Duration offerTimeout) {
+        this.appraisalRepo = appraisalRepo;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.queued = requestCounter(meterRegistry, "queued");
+        this.coalesced = requestCounter(meterRegistry, "coalesced");
+        this.callerRan = requestCounter(meterRegistry, "caller_ran");
+        this.batches = Timer.builder("appraisal.recompute.batches")
+                .description("Duration of background appraisal recompute batches")
+                .register(meterRegistry);
+        this.latency = Timer.builder("appraisal.recompute.latency")
+                .description("Time from an employee change being queued to its appraisal being recomputed")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("appraisal.recompute.pending", this, AppraisalRecomputeQueue::size)
+                .description("Employee IDs waiting for their appraisal to be recomputed")
+                .register(meterRegistry);
+        Gauge.builder("appraisal.recompute.lag", this, AppraisalRecomputeQueue::lagSeconds)
+                .description("Age of the oldest pending appraisal recompute")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("appraisal.recompute.requests")
+                .description("Appraisal recompute requests by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an employee's appraisal for recompute.
+     * Returns immediately unless the queue is full; see the class description.
+     *
+     * @param empId the ID of the employee that changed.
+     */
+    public void enqueue(int empId) {
+        lock.lock();
+        try {
+            if (pending.containsKey(empId)) {
+                coalesced.increment();
+                return;
+            }
+            long remaining = offerTimeoutNanos;
+            while (running && pending.size() >= capacity && remaining > 0) {
+                remaining = notFull.awaitNanos(remaining);
+            }
+            if (running && pending.size() < capacity) {
+                pending.put(empId, System.nanoTime());
+                queued.increment();
+                notEmpty.signal();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+        callerRan.increment();
+        appraisalRepo.recomputeAppraisals(List.of(empId));
+    }
+
+    private void drain() {
+        while (true) {
+            Map<Integer, Long> batch = new LinkedHashMap<>();
+            lock.lock();
+            try {
+                while (running && pending.isEmpty()) {
+                    notEmpty.await();
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                Iterator<Map.Entry<Integer, Long>> it = pending.entrySet().iterator();
+                while (it.hasNext() && batch.size() < batchSize) {
+                    Map.Entry<Integer, Long> entry = it.next();
+                    batch.put(entry.getKey(), entry.getValue());
+                    it.remove();
+                }
+                notFull.signalAll();
+            } catch (InterruptedException e) {
+                // Interrupted by stop(); drain whatever is left before exiting
+                running = false;
+                continue;
+            } finally {
+                lock.unlock();
+            }
+            recompute(batch);
+        }
+    }
+
+    private void recompute(Map<Integer, Long> batch) {
+        long start = System.nanoTime();
+        try {
+            appraisalRepo.recomputeAppraisals(new ArrayList<>(batch.keySet()));
+        } catch (RuntimeException e) {
+            if (!running) {
+                log.error("Appraisal recompute of {} employees failed during shutdown; employee IDs {} were not recomputed",
+                        batch.size(), batch.keySet(), e);
+                return;
+            }
+            log.warn("Appraisal recompute of {} employees failed; retrying in {} ms", batch.size(), RETRY_DELAY_MILLIS, e);
+            requeue(batch);
+            sleepBeforeRetry();
+            return;
+        }
+        long end = System.nanoTime();
+        batches.record(end - start, TimeUnit.NANOSECONDS);
+        for (long enqueuedAt : batch.values()) {
+            latency.record(end - enqueuedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void requeue(Map<Integer, Long> batch) {
+        lock.lock();
+        try {
+            // Failed IDs go back ahead of newer ones and keep their enqueue time; they may exceed the capacity briefly
+            LinkedHashMap<Integer, Long> newer = new LinkedHashMap<>(pending);
+            pending.clear();
+            pending.putAll(batch);
+            newer.forEach(pending::putIfAbsent);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sleepBeforeRetry() {
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            running = false;
+        }
+    }
+
+    private double size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double lagSeconds() {
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            return (System.nanoTime() - pending.values().iterator().next()) / 1e9;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts the worker thread.
+     */
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::drain, "appraisal-recompute");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops accepting work, recomputes the pending appraisals and waits for the worker thread to finish.
+     */
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, so that requests still in flight during a graceful shutdown can queue work that
+     * is then drained, and starts before it.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,164 @@
+package com.team4.appraisalApp.compute;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The EmployeeColumns class holds the employee population as parallel primitive arrays.
+ * Row {@code i} is described by {@code salaries[i]} (in millis, see
+ * {@link com.team4.appraisalApp.models.Money}), {@code bandCodes[i]} and {@code reviewCodes[i]}. Band and review codes index the {@link #getBandIds()} and {@link #getReviewIds()}
+ * dictionaries, so a multiplier lookup is a single array read; a code of -1 means the employee's band or review
+ * is not in the reference tables. Instances are immutable once built.
+ */
+public final class EmployeeColumns {
+
+    /** Code stored for a band or review that is not in the dictionary. */
+    public static final byte UNKNOWN = -1;
+
+    private final int size;
+    private final long[] salaries;
+    private final byte[] bandCodes;
+    private final byte[] reviewCodes;
+    private final String[] bandIds;
+    private final int[] reviewIds;
+
+    private EmployeeColumns(int size, long[] salaries, byte[] bandCodes, byte[] reviewCodes, String[] bandIds,
+                            int[] reviewIds) {
+        this.size = size;
+        this.salaries = salaries;
+        this.bandCodes = bandCodes;
+        this.reviewCodes = reviewCodes;
+        this.bandIds = bandIds;
+        this.reviewIds = reviewIds;
+    }
+
+    /**
+     * Gets the number of employees.
+     * @return the number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the band ID dictionary; a band code is an index into this array.
+     * @return a copy of the band IDs.
+     */
+    public String[] getBandIds() {
+        return bandIds.clone();
+    }
+
+    /**
+     * Gets the review ID dictionary; a review code is an index into this array.
+     * @return a copy of the review IDs.
+     */
+    public int[] getReviewIds() {
+        return reviewIds.clone();
+    }
+
+    /**
+     * Gets the number of distinct bands in the dictionary.
+     * @return the band count.
+     */
+    public int bandCount() {
+        return bandIds.length;
+    }
+
+    /**
+     * Gets the number of distinct reviews in the dictionary.
+     * @return the review count.
+     */
+    public int reviewCount() {
+        return reviewIds.length;
+    }
+
+    long[] salaries() {
+        return salaries;
+    }
+
+    byte[] bandCodes() {
+        return bandCodes;
+    }
+
+    byte[] reviewCodes() {
+        return reviewCodes;
+    }
+
+    /**
+     * Builds an EmployeeColumns instance row by row, growing the arrays geometrically.
+     */
+    public static final class Builder {
+        private final String[] bandIds;
+        private final int[] reviewIds;
+        private final Map<String, Byte> bandCodeById = new HashMap<>();
+        private final Map<Integer, Byte> reviewCodeById = new HashMap<>();
+
+        private int size;
+        private long[] salaries;
+        private byte[] bandCodes;
+        private byte[] reviewCodes;
+
+        /**
+         * Constructs a Builder for the given band and review dictionaries.
+         *
+         * @param bandIds   the known band IDs.
+         * @param reviewIds the known review IDs.
+         * @param capacity  the initial number of rows to allocate.
+         * @throws IllegalArgumentException if either dictionary has more than {@link Byte#MAX_VALUE} entries.
+         */
+        public Builder(List<String> bandIds, List<Integer> reviewIds, int capacity) {
+            if (bandIds.size() > Byte.MAX_VALUE || reviewIds.size() > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many bands or reviews for byte codes");
+            }
+            this.bandIds = bandIds.toArray(new String[0]);
+            this.reviewIds = reviewIds.stream().mapToInt(Integer::intValue).toArray();
+            for (byte code = 0; code < this.bandIds.length; code++) {
+                bandCodeById.put(this.bandIds[code], code);
+            }
+            for (byte code = 0; code < this.reviewIds.length; code++) {
+                reviewCodeById.put(this.reviewIds[code], code);
+            }
+            int initial = Math.max(capacity, 16);
+            this.salaries = new long[initial];
+            this.bandCodes = new byte[initial];
+            this.reviewCodes = new byte[initial];
+        }
+
+        /**
+         * Appends one employee.
+         *
+         * @param salaryMillis the current salary in millis.
+         * @param band         the band ID.
+         * @param review       the review ID.
+         * @return this builder.
+         */
+        public Builder add(long salaryMillis, String band, int review) {
+            if (size == salaries.length) {
+                int capacity = size + (size >> 1);
+                salaries = Arrays.copyOf(salaries, capacity);
+                bandCodes = Arrays.copyOf(bandCodes, capacity);
+                reviewCodes = Arrays.copyOf(reviewCodes, capacity);
+            }
+            salaries[size] = salaryMillis;
+            bandCodes[size] = bandCodeById.getOrDefault(band, UNKNOWN);
+            reviewCodes[size] = reviewCodeById.getOrDefault(review, UNKNOWN);
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the columns, trimming the arrays to the number of rows added.
+         *
+         * @return the immutable columns.
+         */
+        public EmployeeColumns build() {
+            return new EmployeeColumns(size,
+                    Arrays.copyOf(salaries, size),
+                    Arrays.copyOf(bandCodes, size),
+                    Arrays.copyOf(reviewCodes, size),
+                    bandIds, reviewIds);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.team4.appraisalApp.compute;
+
+/**
+ * The PayrollTotals class holds payroll aggregates computed by the {@link AppraisalEngine}.
+ * Aggregates are kept per (band, review) cell; cell {@code b * reviewCount + r} belongs to band code {@code b}
+ * and review code {@code r} of the {@link EmployeeColumns} they were computed from. Payroll is in millis (see
+ * {@link com.team4.appraisalApp.models.Money}). Instances are immutable.
+ */
+public final class PayrollTotals {
+
+    private final String[] bandIds;
+    private final int[] reviewIds;
+    private final long[] headcount;
+    private final long[] currentPayroll;
+    private final long[] appraisedPayroll;
+    private final long skipped;
+
+    PayrollTotals(String[] bandIds, int[] reviewIds, long[] headcount, long[] currentPayroll,
+                  long[] appraisedPayroll, long skipped) {
+        this.bandIds = bandIds;
+        this.reviewIds = reviewIds;
+        this.headcount = headcount;
+        this.currentPayroll = currentPayroll;
+        this.appraisedPayroll = appraisedPayroll;
+        this.skipped = skipped;
+    }
+
+    /**
+     * Gets the number of bands in the cell grid.
+     * @return the band count.
+     */
+    public int bandCount() {
+        return bandIds.length;
+    }
+
+    /**
+     * Gets the number of reviews in the cell grid.
+     * @return the review count.
+     */
+    public int reviewCount() {
+        return reviewIds.length;
+    }
+
+    /**
+     * Gets the band ID for a band code.
+     * @param bandCode the band code.
+     * @return the band ID.
+     */
+    public String bandId(int bandCode) {
+        return bandIds[bandCode];
+    }
+
+    /**
+     * Gets the review ID for a review code.
+     * @param reviewCode the review code.
+     * @return the review ID.
+     */
+    public int reviewId(int reviewCode) {
+        return reviewIds[reviewCode];
+    }
+
+    /**
+     * Gets the headcount of one cell.
+     * @param bandCode the band code.
+     * @param reviewCode the review code.
+     * @return the number of employees in the cell.
+     */
+    public long headcount(int bandCode, int reviewCode) {
+        return headcount[bandCode * reviewIds.length + reviewCode];
+    }
+
+    /**
+     * Gets the current payroll of one cell.
+     * @param bandCode the band code.
+     * @param reviewCode the review code.
+     * @return the sum of current salaries in the cell, in millis.
+     */
+    public long currentPayrollMillis(int bandCode, int reviewCode) {
+        return currentPayroll[bandCode * reviewIds.length + reviewCode];
+    }
+
+    /**
+     * Gets the appraised payroll of one cell.
+     * @param bandCode the band code.
+     * @param reviewCode the review code.
+     * @return the sum of appraised salaries in the cell, in millis.
+     */
+    public long appraisedPayrollMillis(int bandCode, int reviewCode) {
+        return appraisedPayroll[bandCode * reviewIds.length + reviewCode];
+    }
+
+    /**
+     * Gets the total headcount over all cells.
+     * @return the number of employees that were appraised.
+     */
+    public long totalHeadcount() {
+        long total = 0;
+        for (long value : headcount) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the total current payroll over all cells.
+     * @return the sum of current salaries of the employees that were appraised, in millis.
+     */
+    public long totalCurrentPayrollMillis() {
+        long total = 0;
+        for (long value : currentPayroll) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the total appraised payroll over all cells.
+     * @return the sum of appraised salaries, in millis.
+     */
+    public long totalAppraisedPayrollMillis() {
+        long total = 0;
+        for (long value : appraisedPayroll) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of employees left out because their band or review has no multiplier.
+     * @return the number of skipped employees.
+     */
+    public long skipped() {
+        return skipped;
+    }
+}
@@ -0,0 +1,49 @@
+package com.team4.appraisalApp.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursor tokens used by the keyset-paginated list endpoints.
+ * A token carries the last employee ID of the previous page; clients must treat it as opaque.
+ */
+final class CursorToken {
+
+    private static final String PREFIX = "emp:";
+
+    private CursorToken() {
+    }
+
+    /**
+     * Encodes the last employee ID of a page as a cursor token.
+     *
+     * @param lastEmpId the employee ID of the last item on the page.
+     * @return the URL-safe cursor token.
+     */
+    static String encode(int lastEmpId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastEmpId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token back to the employee ID after which the next page starts.
+     *
+     * @param token the cursor token, or null for the first page.
+     * @return the employee ID, or null if the token is null.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    static Integer decode(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Integer.valueOf(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
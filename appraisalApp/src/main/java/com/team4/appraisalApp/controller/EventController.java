@@ -1,73 +1,235 @@
 package com.team4.appraisalApp.controller;
 
+import com.team4.appraisalApp.cache.EmployeeSnapshotStore;
+import com.team4.appraisalApp.cache.ReferenceDataCache;
+import com.team4.appraisalApp.cache.ReferenceDataCache.SerializedList;
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.cache.TableVersions.Table;
+import com.team4.appraisalApp.compute.AppraisalEngine;
+import com.team4.appraisalApp.compute.AppraisalRecomputeQueue;
+import com.team4.appraisalApp.compute.EmployeeColumns;
+import com.team4.appraisalApp.compute.PayrollTotals;
+import com.team4.appraisalApp.datasource.ReadRouting;
 import com.team4.appraisalApp.models.Appraisal;
+import com.team4.appraisalApp.models.AppraisalCycleResult;
+import com.team4.appraisalApp.models.AppraisalProjection;
 import com.team4.appraisalApp.models.Band;
+import com.team4.appraisalApp.models.BandPayrollSummary;
 import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.EmployeeFilter;
+import com.team4.appraisalApp.models.EmployeeImportResult;
+import com.team4.appraisalApp.models.KeysetPage;
+import com.team4.appraisalApp.models.Money;
+import com.team4.appraisalApp.models.MultiplierUpdateResult;
+import com.team4.appraisalApp.models.PayrollGroup;
+import com.team4.appraisalApp.models.PayrollSummaryRebuildResult;
+import com.team4.appraisalApp.models.Review;
+import com.team4.appraisalApp.models.SimulationRequest;
+import com.team4.appraisalApp.models.SimulationResult;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.team4.appraisalApp.repository.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * The EventController class handles HTTP requests related to appraisals, employees, bands, and reviews.
+ * Serves the servlet stack; with the {@code reactive} profile {@link ReactiveEventController} serves the same URLs.
  */
 @RestController
 @RequestMapping("/team4")
+@Profile("!reactive")
 public class EventController {
+    private static final int DEFAULT_PAGE_LIMIT = 100;
+    private static final int MAX_PAGE_LIMIT = 1000;
+
     private final IAppraisalRepo appraisalRepo;
     private final IEmployeeRepo employeeRepo;
     private final IBandRepo bandRepo;
     private final IReviewRepo reviewRepo;
+    private final ObjectMapper objectMapper;
+    private final AppraisalEngine appraisalEngine;
+    private final TableVersions tableVersions;
+    private final ReferenceDataCache referenceDataCache;
+    private final AppraisalRecomputeQueue recomputeQueue;
+    private final EmployeeSnapshotStore snapshotStore;
 
     /**
      * Constructs an EventController with the specified repositories.
      *
-     * @param appraisalRepo the appraisal repository.
-     * @param employeeRepo  the employee repository.
-     * @param bandRepo      the band repository.
-     * @param reviewRepo    the review repository.
+     * @param appraisalRepo   the appraisal repository.
+     * @param employeeRepo    the employee repository.
+     * @param bandRepo        the band repository.
+     * @param reviewRepo      the review repository.
+     * @param objectMapper    the JSON mapper used for streamed responses.
+     * @param appraisalEngine the in-memory appraisal compute engine.
+     * @param tableVersions      the table version counters the list ETags are built from.
+     * @param referenceDataCache the band/review cache the prebuilt list responses are served from.
+     * @param recomputeQueue     the queue that recomputes appraisals after employee updates.
+     * @param snapshotStore      the snapshot lookups by ID are served from, when enabled.
      */
-    public EventController(IAppraisalRepo appraisalRepo, IEmployeeRepo employeeRepo, IBandRepo bandRepo, IReviewRepo reviewRepo) {
+    public EventController(IAppraisalRepo appraisalRepo, IEmployeeRepo employeeRepo, IBandRepo bandRepo, IReviewRepo reviewRepo,
+                           ObjectMapper objectMapper, AppraisalEngine appraisalEngine, TableVersions tableVersions,
+                           ReferenceDataCache referenceDataCache, AppraisalRecomputeQueue recomputeQueue,
+                           ObjectProvider<EmployeeSnapshotStore> snapshotStore) {
         this.appraisalRepo = appraisalRepo;
         this.employeeRepo = employeeRepo;
         this.bandRepo = bandRepo;
         this.reviewRepo = reviewRepo;
+        this.objectMapper = objectMapper;
+        this.appraisalEngine = appraisalEngine;
+        this.tableVersions = tableVersions;
+        this.referenceDataCache = referenceDataCache;
+        this.recomputeQueue = recomputeQueue;
+        this.snapshotStore = snapshotStore.getIfAvailable();
     }
 
     /**
-     * Validates the provided band ID and review ID to ensure they exist in the system.
-     * This method checks if the provided band ID exists within the list of available bands and if the provided review ID
-     * exists within the list of available reviews. If either the band ID or review ID is invalid, an error message is returned
-     * within a ResponseEntity. If both IDs are valid, it returns null.
+     * Rejects a write without a band ID before it is sent to the database.
+     * Unknown band and review IDs are rejected by the foreign keys on the employee and appraisal tables in the
+     * same statement as the write, but a null band ID satisfies a foreign key, so it is checked here.
      *
-     * @param bandId   the band ID to validate. This should be a non-null string representing the band.
-     * @param reviewId the review ID to validate. This should be an integer representing the review.
+     * @param bandId the band ID of the employee being written.
      * @return a ResponseEntity containing:
      * <ul>
-     *     <li>HTTP 400 (BAD REQUEST) with an error message if either the band ID or review ID is invalid.</li>
-     *     <li>null if both the band ID and review ID are valid.</li>
+     *     <li>HTTP 400 (BAD REQUEST) with the message "Invalid band ID" if the band ID is null.</li>
+     *     <li>null if a band ID is present.</li>
      * </ul>
      */
-    private ResponseEntity<String> validateBandAndReview(String bandId, int reviewId) {
-        // Validate Band ID
-        boolean validBand = bandRepo.getAllBands().stream()
-                .anyMatch(band -> band.getBandId().equals(bandId));
-        if (!validBand) {
+    private static ResponseEntity<String> validateBandPresent(String bandId) {
+        if (bandId == null) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid band ID");
         }
+        return null;
+    }
+
 
-        // Validate Review ID
-        boolean validReview = reviewRepo.getAllReviews().stream()
-                .anyMatch(review -> review.getRevId() == reviewId);
-        if (!validReview) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid review ID");
+    /**
+     * Builds a response body that writes rows as newline-delimited JSON while they are read from the database.
+     * Rows are serialized one at a time into the response buffer, so memory use does not depend on the number of rows.
+     *
+     * @param type   the row type.
+     * @param source the repository stream method that feeds each row to a consumer.
+     * @param <T>    the row type.
+     * @return a streaming response body producing one JSON document per line.
+     */
+    private <T> StreamingResponseBody ndjson(Class<T> type, Consumer<Consumer<T>> source) {
+        ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                source.accept(row -> {
+                    try {
+                        writer.writeValue(generator, row);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
+
+
+    /**
+     * Writes a cached, already serialized list, gzip-encoded when the client sends {@code Accept-Encoding: gzip}.
+     * The JSON and gzip bytes are built once per cache reload, so a request only costs the ETag check and the write.
+     *
+     * @param request        the current request, checked against the ETag of the variant being sent.
+     * @param acceptEncoding the Accept-Encoding request header.
+     * @param table          the table the list is read from.
+     * @param source         returns the list from the current cache snapshot.
+     * @param emptyMessage   the message sent with 204 if the list is empty.
+     * @return a ResponseEntity containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the serialized list if it is not empty.</li>
+     *     <li>HTTP 304 (NOT MODIFIED) if the table has not changed since the ETag in {@code If-None-Match}.</li>
+     *     <li>HTTP 204 (NO CONTENT) with {@code emptyMessage} if the list is empty.</li>
+     * </ul>
+     */
+    private ResponseEntity<?> serializedList(ServletWebRequest request, String acceptEncoding, Table table,
+                                             Supplier<SerializedList> source, String emptyMessage) {
+        // Reading through the cache first reloads an expired snapshot, advancing the version if the table changed
+        source.get();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        request.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (request.checkNotModified(gzip ? tableVersions.gzipEtag(table) : tableVersions.etag(table))) {
+            return null;
+        }
+        SerializedList list = source.get();
+        if (list.size() == 0) {
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).body(emptyMessage);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(list.gzip());
         }
+        return response.body(list.json());
+    }
 
-        return null;
+
+    /**
+     * Fetches one keyset page and builds the paged response.
+     * One extra row is requested so that the next-page cursor is only returned when more rows exist.
+     *
+     * @param cursor the cursor token from the previous page, or null for the first page.
+     * @param limit  the requested page size, or null for the default.
+     * @param fetch  the repository call taking the employee ID to start after and the number of rows to fetch.
+     * @param idOf   extracts the employee ID from a row.
+     * @param <T>    the row type.
+     * @return a ResponseEntity containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the page items and the next cursor, which is null on the last page.</li>
+     *     <li>HTTP 400 (BAD REQUEST) if the cursor is malformed or the limit is out of range.</li>
+     * </ul>
+     */
+    private <T> ResponseEntity<?> keysetPage(String cursor, Integer limit,
+                                             BiFunction<Integer, Integer, List<T>> fetch, ToIntFunction<T> idOf) {
+        int pageLimit = limit == null ? DEFAULT_PAGE_LIMIT : limit;
+        if (pageLimit < 1 || pageLimit > MAX_PAGE_LIMIT) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+        Integer afterEmpId;
+        try {
+            afterEmpId = CursorToken.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        List<T> rows = fetch.apply(afterEmpId, pageLimit + 1);
+        String nextCursor = null;
+        if (rows.size() > pageLimit) {
+            rows = rows.subList(0, pageLimit);
+            nextCursor = CursorToken.encode(idOf.applyAsInt(rows.get(pageLimit - 1)));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(new KeysetPage<>(rows, nextCursor));
     }
 
 
@@ -77,23 +239,56 @@ public class EventController {
 
     /**
      * Retrieves all reviews from the system.
-     * This method fetches the list of all reviews from the review repository. If the list is not empty,
+     * This method fetches the list of all reviews from the reference data cache. If the list is not empty,
      * it returns the list of reviews with an HTTP 200 (OK) status. If the list is empty, it returns an HTTP 204
      * (NO CONTENT) status along with a message indicating the list is empty.
+     * <p>
+     * The response carries the review table's ETag; a request whose {@code If-None-Match} matches it is answered
+     * with 304 (NOT MODIFIED) and no body. The list is served from JSON prebuilt by the reference data cache, and
+     * gzip-encoded when the client sends {@code Accept-Encoding: gzip}.
      *
+     * @param request        the current request, checked against the ETag.
+     * @param acceptEncoding the Accept-Encoding request header.
      * @return a ResponseEntity containing:
      * <ul>
      *     <li>HTTP 200 (OK) with the list of reviews if reviews are available.</li>
+     *     <li>HTTP 304 (NOT MODIFIED) if the review table has not changed since the ETag in {@code If-None-Match}.</li>
      *     <li>HTTP 204 (NO CONTENT) with a message "Empty review list" if there are no reviews.</li>
      * </ul>
      */
     @GetMapping("/review")
-    public ResponseEntity<?> getAllReviews() {
-        List<?> reviewList = reviewRepo.getAllReviews();
-        if (!reviewList.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.OK).body(reviewList);
+    public ResponseEntity<?> getAllReviews(ServletWebRequest request,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return serializedList(request, acceptEncoding, Table.REVIEW, referenceDataCache::getSerializedReviews,
+                "Empty review list");
+    }
+
+    /**
+     * Changes a review's multiplier.
+     * The review and the appraisals of employees with that review are updated in a single statement; other
+     * appraisals are not touched.
+     *
+     * @param id     the ID of the review to update.
+     * @param review the review as JSON; its {@code revMul} is the new multiplier, and its review ID is ignored in
+     *               favour of the path.
+     * @return a ResponseEntity containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the number of appraisals recomputed.</li>
+     *     <li>HTTP 400 (BAD REQUEST) if {@code revMul} is missing, not a number or negative.</li>
+     *     <li>HTTP 404 (NOT FOUND) if the review does not exist.</li>
+     * </ul>
+     */
+    @PutMapping("/review/{id}")
+    public ResponseEntity<?> updateReview(@PathVariable int id, @RequestBody JsonNode review) {
+        Double revMul = multiplierField(review, "revMul");
+        if (!isValidMultiplier(revMul)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid review multiplier");
         }
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).body("Empty review list");
+        Optional<MultiplierUpdateResult> result = reviewRepo.updateReviewMultiplier(id, revMul);
+        if (result.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Review not found");
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(result.get());
     }
 
 // *********************************************************************************
@@ -115,7 +310,9 @@ public class EventController {
      */
     @GetMapping("/employee/{id}")
     public ResponseEntity<?> getEmployeeById(@PathVariable int id) {
-        Optional<Employee> employee = employeeRepo.getEmployeeById(id);
+        Optional<Employee> employee = snapshotStore != null
+                ? snapshotStore.getEmployeeById(id)
+                : employeeRepo.getEmployeeById(id);
         if (employee.isPresent()) {
             return ResponseEntity.status(HttpStatus.OK).body(employee.get());
         }
@@ -124,20 +321,59 @@ public class EventController {
 
 
     /**
-     * Retrieves all employees from the system.
-     * This method fetches the list of all employees in the system. If there are employees, it returns
-     * the list with an HTTP 200 (OK) status. If the list is empty, it returns an HTTP 204 (NO CONTENT) status
-     * with a message indicating that the employee list is empty.
+     * Retrieves all employees from the system, or one filtered page of them.
+     * Without query parameters this method fetches the list of all employees in the system. If there are employees,
+     * it returns the list with an HTTP 200 (OK) status. If the list is empty, it returns an HTTP 204 (NO CONTENT)
+     * status with a message indicating that the employee list is empty.
+     * <p>
+     * If any filter, cursor or limit parameter is present, the employees are filtered on the server and returned one
+     * keyset page at a time in employee ID order. The response carries a {@code nextCursor} token to pass back as
+     * {@code cursor} for the following page.
+     * <p>
+     * Both variants carry the employee table's ETag, taken before any rows are read; a request whose
+     * {@code If-None-Match} matches it is answered with 304 (NOT MODIFIED) without querying the table. The rows
+     * are read from the primary, so a lagging replica can never serve an old body under a new ETag. The NDJSON
+     * variant ({@link #streamAllEmployees()}) carries no ETag.
      *
+     * @param band      optional band ID filter.
+     * @param review    optional review ID filter.
+     * @param minSalary optional inclusive lower salary bound.
+     * @param maxSalary optional inclusive upper salary bound.
+     * @param cursor    optional cursor token returned by the previous page.
+     * @param limit     optional page size, between 1 and 1000; defaults to 100.
+     * @param request   the current request, checked against the ETag.
      * @return a ResponseEntity containing:
      * <ul>
      *     <li>HTTP 200 (OK) with the list of employees if the list is not empty.</li>
+     *     <li>HTTP 200 (OK) with a page of employees and the next cursor when paging or filtering.</li>
+     *     <li>HTTP 304 (NOT MODIFIED) if the employee table has not changed since the ETag in {@code If-None-Match}.</li>
      *     <li>HTTP 204 (NO CONTENT) with a message "Empty employee list" if no employees are found.</li>
+     *     <li>HTTP 400 (BAD REQUEST) if the cursor, limit, band ID or salary bounds are invalid.</li>
      * </ul>
      */
     @GetMapping("/employee")
-    public ResponseEntity<?> getAllEmployees() {
-        List<Employee> employeeList = employeeRepo.getAllEmployees();
+    public ResponseEntity<?> getAllEmployees(@RequestParam(required = false) String band,
+                                             @RequestParam(required = false) Integer review,
+                                             @RequestParam(required = false) Double minSalary,
+                                             @RequestParam(required = false) Double maxSalary,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer limit,
+                                             WebRequest request) {
+        String invalidFilter = filterError(band, minSalary, maxSalary);
+        if (invalidFilter != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(invalidFilter);
+        }
+        if (request.checkNotModified(tableVersions.etag(Table.EMPLOYEE))) {
+            return null;
+        }
+        EmployeeFilter filter = new EmployeeFilter(band, review, minSalary, maxSalary);
+        if (!filter.isEmpty() || cursor != null || limit != null) {
+            return keysetPage(cursor, limit,
+                    (afterEmpId, pageLimit) -> ReadRouting.onPrimary(
+                            () -> employeeRepo.findEmployees(filter, afterEmpId, pageLimit)),
+                    Employee::getEmpId);
+        }
+        List<Employee> employeeList = ReadRouting.onPrimary(employeeRepo::getAllEmployees);
         if (!employeeList.isEmpty()) {
             return ResponseEntity.status(HttpStatus.OK).body(employeeList);
         }
@@ -145,85 +381,126 @@ public class EventController {
     }
 
 
+    /**
+     * Streams all employees as newline-delimited JSON.
+     * This variant is selected with {@code Accept: application/x-ndjson}. Rows are read through a forward-only
+     * cursor and written to the response as they are mapped, so memory use stays flat regardless of table size.
+     * The stream may be served by a read replica, so it carries no ETag and ignores {@code If-None-Match}.
+     *
+     * @return a ResponseEntity containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with one JSON employee per line; the body is empty if there are no employees.</li>
+     * </ul>
+     */
+    @GetMapping(value = "/employee", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjson(Employee.class, employeeRepo::streamAllEmployees));
+    }
+
+
     /**
      * Updates an existing employee by their ID.
      * <p>
      * This method allows for updating an existing employee's details. The employee is identified by their ID
-     * passed in the URL path. If the employee is found, the updated information is saved. If the update fails,
-     * a message indicating the failure is returned. If the employee does not exist, a message indicating the
-     * employee was not found is returned.
+     * passed in the URL path. The update is a single UPDATE ... RETURNING statement: if no employee has the ID,
+     * a message indicating the employee was not found is returned, and an unknown band or review is rejected by
+     * the database's foreign keys. The employee's appraisal, if any, is recomputed in the background shortly after
+     * the response (see {@link AppraisalRecomputeQueue}).
      *
      * @param id       The ID of the employee to update.
      * @param employee The employee object containing the updated information.
      * @return a ResponseEntity containing:
      * <ul>
-     *     <li>HTTP 200 (OK) with the updated employee if the update is successful.</li>
+     *     <li>HTTP 200 (OK) with the employee as stored if the update is successful.</li>
+     *     <li>HTTP 400 (BAD REQUEST) if the band ID or review ID is invalid.</li>
      *     <li>HTTP 404 (NOT FOUND) if the employee with the given ID does not exist.</li>
-     *     <li>HTTP 304 (NOT MODIFIED) if the update operation fails.</li>
      * </ul>
      */
     @PutMapping("/employee/{id}")
     public ResponseEntity<?> updateEmployee(@PathVariable int id, @RequestBody Employee employee) {
-        Optional<Employee> employeeOptional = employeeRepo.getEmployeeById(id);
-        if (employeeOptional.isPresent()) {
-            int update = employeeRepo.updateEmployee(employee);
-            if (update == 0) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).body("Update failed");
-            return ResponseEntity.status(HttpStatus.OK).body(employee);
+        ResponseEntity<String> validationResponse = validateBandPresent(employee.getBand());
+        if (validationResponse != null) {
+            return validationResponse;
         }
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found");
+        employee.setEmpId(id);
+        Optional<Employee> updated;
+        try {
+            updated = employeeRepo.updateEmployee(employee);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        if (updated.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found");
+        }
+        appraisalEngine.invalidate();
+        recomputeQueue.enqueue(id);
+        return ResponseEntity.status(HttpStatus.OK).body(updated.get());
     }
 
 
     /**
      * Deletes an employee by ID from the system.
      * <p>
-     * This method checks if the employee exists using the provided employee ID. If the employee is found,
-     * it attempts to delete the employee. If the delete operation is successful, it returns the deleted
-     * employee's information along with HTTP status 200 (OK). If the deletion fails (e.g., no rows were affected),
-     * it returns an HTTP status 304 (Not Modified) with an error message. If the employee is not found,
-     * it returns HTTP status 404 (Not Found) with an appropriate message.
-     * <p>
-     * Additionally, if the employee has an associated appraisal, it will attempt to delete the appraisal.
-     * If the appraisal deletion is successful, the employee is deleted, otherwise, it returns a failure response.
+     * The employee and their appraisal, if any, are deleted in a single statement that returns the deleted
+     * employee. If the employee is found, the deleted employee's information is returned along with HTTP status
+     * 200 (OK). If the employee is not found, it returns HTTP status 404 (Not Found) with an appropriate message.
      *
      * @param id The ID of the employee to delete.
      * @return A ResponseEntity containing:
      * <ul>
      *     <li>HTTP status 200 (OK) with the deleted employee if the operation is successful.</li>
-     *     <li>HTTP status 304 (Not Modified) with a message if the delete operation fails.</li>
      *     <li>HTTP status 404 (Not Found) with a message if the employee with the given ID does not exist.</li>
      * </ul>
-     * @throws IllegalArgumentException If the employee ID is invalid or null (if applicable).
      */
     @DeleteMapping("/employee/{id}")
     public ResponseEntity<?> deleteEmployee(@PathVariable int id) {
-        Optional<Employee> employeeOptional = employeeRepo.getEmployeeById(id);
-        if (employeeOptional.isPresent()) {
-            int delete = employeeRepo.deleteEmployeeById(id);
-            if (delete == 0) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).body("Delete failed");
-            else {
-                Optional<Appraisal> appraisalOptional = appraisalRepo.getAppraisal(id);
-                if (appraisalOptional.isPresent()) {
-                    int deleteAppraisal = appraisalRepo.deleteAppraisal(id);
-                    if (deleteAppraisal == 0)
-                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).body("Delete failed");
-                }
-                return ResponseEntity.status(HttpStatus.OK).body(Map.of(
-                        "Employee deleted successfully", employeeOptional.get()
-                ));
-            }
+        Optional<Employee> deleted = employeeRepo.deleteEmployeeById(id);
+        if (deleted.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found");
         }
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found");
+        appraisalEngine.invalidate();
+        return ResponseEntity.status(HttpStatus.OK).body(Map.of(
+                "Employee deleted successfully", deleted.get()
+        ));
+    }
+
+
+    /**
+     * Deletes a batch of employees, for example when offboarding, by ID.
+     * All employees and their appraisals are deleted in a single statement, so either the whole batch is deleted
+     * or none of it is. IDs that do not exist are ignored.
+     *
+     * @param ids the IDs of the employees to delete.
+     * @return A ResponseEntity containing:
+     * <ul>
+     *     <li>HTTP status 200 (OK) with the deleted employees if at least one employee was deleted.</li>
+     *     <li>HTTP status 400 (Bad Request) with a message if no IDs are given.</li>
+     *     <li>HTTP status 404 (Not Found) with a message if none of the employees exist.</li>
+     * </ul>
+     */
+    @PostMapping("/employee/bulk-delete")
+    public ResponseEntity<?> deleteEmployees(@RequestBody List<Integer> ids) {
+        if (ids == null || ids.isEmpty() || ids.contains(null)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Employee IDs are required");
+        }
+        List<Employee> deleted = employeeRepo.deleteEmployeesByIds(ids);
+        if (deleted.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employees not found");
+        }
+        appraisalEngine.invalidate();
+        return ResponseEntity.status(HttpStatus.OK).body(Map.of(
+                "Employees deleted successfully", deleted
+        ));
     }
 
 
     /**
      * Adds a new employee to the system.
-     * This method checks if the employee already exists in the system. If the employee exists,
-     * it returns a response with HTTP status 409 (Conflict) and an appropriate message.
-     * If the employee does not exist, the method performs validation on the employee's band and review.
-     * If validation fails, an error response is returned. If all checks pass, the employee is added to the system.
-     * The method then returns a response indicating whether the employee was successfully created.
+     * The employee is written with a single INSERT ... ON CONFLICT DO NOTHING statement. If an employee with the
+     * same ID already exists, no row is inserted and HTTP status 409 (Conflict) is returned. An unknown band or
+     * review is rejected by the database's foreign keys and reported as HTTP status 400 (Bad Request).
      *
      * @param employee The employee to be added.
      * @return ResponseEntity containing:
@@ -231,50 +508,155 @@ public class EventController {
      *     <li>HTTP 409 (Conflict) with a message if the employee already exists.</li>
      *     <li>HTTP 400 (Bad Request) with validation error message if validation fails.</li>
      *     <li>HTTP 201 (Created) with the newly created employee if successful.</li>
-     *     <li>HTTP 304 (Not Modified) with a message if employee creation fails.</li>
      * </ul>
      */
     @PostMapping("/employee")
     public ResponseEntity<?> addEmployee(@RequestBody Employee employee) {
-        // Check if the employee already exists
-        if (employeeRepo.getEmployeeById(employee.getEmpId()).isPresent()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Employee already exists");
-        }
-        // Validation
-        ResponseEntity<String> validationResponse = validateBandAndReview(employee.getBand(), employee.getReview());
+        ResponseEntity<String> validationResponse = validateBandPresent(employee.getBand());
         if (validationResponse != null) {
             return validationResponse;
         }
-        // Add the employee if all validations pass
-        int addEmp = employeeRepo.addEmployee(employee);
-        if (addEmp == 0) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).body("Employee creation failed");
+        int addEmp;
+        try {
+            addEmp = employeeRepo.addEmployee(employee);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        if (addEmp == 0) return ResponseEntity.status(HttpStatus.CONFLICT).body("Employee already exists");
+        appraisalEngine.invalidate();
         return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("Employee successfully added", employee));
     }
 
 
+    /**
+     * Bulk imports employees from a CSV request body.
+     * The body must have the columns emp_id, emp_name, emp_review, emp_band, emp_salary. It is streamed into the
+     * database with the PostgreSQL COPY protocol, validated set-based, and merged into the employee table. Rows with
+     * an unknown band or review, a duplicate ID within the body, or an ID that already exists are skipped and listed
+     * in the response; all other rows are imported.
+     *
+     * @param body   the CSV request body.
+     * @param header whether the first line is a header; defaults to true.
+     * @return ResponseEntity containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the number of rows received and imported and the per-row rejections.</li>
+     *     <li>HTTP 400 (Bad Request) with a message if the body is not valid CSV for the employee columns.</li>
+     * </ul>
+     */
+    @PostMapping(value = "/employee/import", consumes = "text/csv")
+    public ResponseEntity<?> importEmployeesCsv(InputStream body, @RequestParam(defaultValue = "true") boolean header) {
+        try {
+            EmployeeImportResult result = employeeRepo.importEmployeesCsv(body, header);
+            appraisalEngine.invalidate();
+            return ResponseEntity.status(HttpStatus.OK).body(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+
+    /**
+     * Bulk imports employees from a newline-delimited JSON request body.
+     * Each line is an employee object as accepted by {@code POST /employee}. Lines are parsed one at a time and
+     * streamed into the database with the PostgreSQL COPY protocol; validation and rejection reporting are the same
+     * as for the CSV import.
+     *
+     * @param body the NDJSON request body.
+     * @return ResponseEntity containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the number of rows received and imported and the per-row rejections.</li>
+     *     <li>HTTP 400 (Bad Request) with a message if a line is not a valid employee.</li>
+     * </ul>
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/employee/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> importEmployeesNdjson(InputStream body) throws IOException {
+        MappingIterator<Employee> lines = objectMapper.readerFor(Employee.class).readValues(body);
+        Iterator<Employee> employees = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return lines.hasNextValue();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Malformed NDJSON: " + e.getMessage(), e);
+                }
+            }
+
+            @Override
+            public Employee next() {
+                try {
+                    return lines.nextValue();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Malformed NDJSON: " + e.getMessage(), e);
+                }
+            }
+        };
+        try {
+            EmployeeImportResult result = employeeRepo.importEmployees(employees);
+            appraisalEngine.invalidate();
+            return ResponseEntity.status(HttpStatus.OK).body(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+
 // *********************************************************************************
 // **************************  Band table APIss ************************************
 // *********************************************************************************
 
     /**
      * Retrieves all bands from the database.
-     * This method fetches the list of all bands from the repository. If the list is non-empty,
+     * This method fetches the list of all bands from the reference data cache. If the list is non-empty,
      * it returns the list with a status of HTTP 200 (OK). If the list is empty, it returns a status of
      * HTTP 204 (No Content) with an appropriate message indicating that the list is empty.
+     * <p>
+     * The response carries the band table's ETag; a request whose {@code If-None-Match} matches it is answered
+     * with 304 (Not Modified) and no body. The list is served from JSON prebuilt by the reference data cache, and
+     * gzip-encoded when the client sends {@code Accept-Encoding: gzip}.
      *
+     * @param request        the current request, checked against the ETag.
+     * @param acceptEncoding the Accept-Encoding request header.
      * @return ResponseEntity containing:
      * <ul>
      *     <li>HTTP 200 (OK) with the list of bands if the list is non-empty.</li>
+     *     <li>HTTP 304 (Not Modified) if the band table has not changed since the ETag in {@code If-None-Match}.</li>
      *     <li>HTTP 204 (No Content) with a message "Empty band list" if the list is empty.</li>
      * </ul>
      */
     @GetMapping("/band")
-    public ResponseEntity<?> getAllBands() {
-        List<Band> bandList = bandRepo.getAllBands();
-        if (!bandList.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.OK).body(bandList);
+    public ResponseEntity<?> getAllBands(ServletWebRequest request,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return serializedList(request, acceptEncoding, Table.BAND, referenceDataCache::getSerializedBands,
+                "Empty band list");
+    }
+
+    /**
+     * Changes a band's multiplier.
+     * The band and the appraisals of employees in that band are updated in a single statement; other appraisals
+     * are not touched.
+     *
+     * @param id   the ID of the band to update.
+     * @param band the band as JSON; its {@code bandMul} is the new multiplier, and its band ID is ignored in favour
+     *             of the path.
+     * @return ResponseEntity containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the number of appraisals recomputed.</li>
+     *     <li>HTTP 400 (Bad Request) if {@code bandMul} is missing, not a number or negative.</li>
+     *     <li>HTTP 404 (Not Found) if the band does not exist.</li>
+     * </ul>
+     */
+    @PutMapping("/band/{id}")
+    public ResponseEntity<?> updateBand(@PathVariable String id, @RequestBody JsonNode band) {
+        Double bandMul = multiplierField(band, "bandMul");
+        if (!isValidMultiplier(bandMul)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid band multiplier");
+        }
+        Optional<MultiplierUpdateResult> result = bandRepo.updateBandMultiplier(id, bandMul);
+        if (result.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Band not found");
         }
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).body("Empty band list");
+        return ResponseEntity.status(HttpStatus.OK).body(result.get());
     }
 
 
@@ -299,7 +681,9 @@ public class EventController {
      */
     @GetMapping("/appraisal/{id}")
     public ResponseEntity<?> getAppraisalById(@PathVariable int id) {
-        Optional<Appraisal> appraisalOptional = appraisalRepo.getAppraisal(id);
+        Optional<Appraisal> appraisalOptional = snapshotStore != null
+                ? snapshotStore.getAppraisal(id)
+                : appraisalRepo.getAppraisal(id);
         if (appraisalOptional.isPresent()) {
             return ResponseEntity.status(HttpStatus.OK).body(appraisalOptional.get());
         }
@@ -307,20 +691,58 @@ public class EventController {
     }
 
     /**
-     * Retrieves all appraisals from the database.
-     * This method fetches the list of all appraisals from the repository. If the list is non-empty,
-     * it returns the list with a status of HTTP 200 (OK). If the list is empty, it returns a status of
+     * Retrieves all appraisals from the database, or one filtered page of them.
+     * Without query parameters this method fetches the list of all appraisals from the repository. If the list is
+     * non-empty, it returns the list with a status of HTTP 200 (OK). If the list is empty, it returns a status of
      * HTTP 204 (No Content) with an appropriate message.
+     * <p>
+     * If any filter, cursor or limit parameter is present, the appraisals are filtered on the server and returned one
+     * keyset page at a time in employee ID order. The salary bounds apply to the current salary.
+     * <p>
+     * Both variants carry the appraisal table's ETag, taken before any rows are read; a request whose
+     * {@code If-None-Match} matches it is answered with 304 (Not Modified) without querying the table. The rows
+     * are read from the primary, so a lagging replica can never serve an old body under a new ETag. The NDJSON
+     * variant ({@link #streamAllAppraisals()}) carries no ETag.
      *
+     * @param band      optional band ID filter.
+     * @param review    optional review ID filter.
+     * @param minSalary optional inclusive lower bound on the current salary.
+     * @param maxSalary optional inclusive upper bound on the current salary.
+     * @param cursor    optional cursor token returned by the previous page.
+     * @param limit     optional page size, between 1 and 1000; defaults to 100.
+     * @param request   the current request, checked against the ETag.
      * @return ResponseEntity containing:
      * <ul>
      *     <li>HTTP 200 (OK) with the list of appraisals if the list is non-empty.</li>
+     *     <li>HTTP 200 (OK) with a page of appraisals and the next cursor when paging or filtering.</li>
+     *     <li>HTTP 304 (Not Modified) if the appraisal table has not changed since the ETag in {@code If-None-Match}.</li>
      *     <li>HTTP 204 (No Content) with a message "Empty appraisal list" if the list is empty.</li>
+     *     <li>HTTP 400 (Bad Request) if the cursor, limit, band ID or salary bounds are invalid.</li>
      * </ul>
      */
     @GetMapping("/appraisal")
-    public ResponseEntity<?> getAllAppraisals() {
-        List<Appraisal> appraisalList = appraisalRepo.getAllAppraisals();
+    public ResponseEntity<?> getAllAppraisals(@RequestParam(required = false) String band,
+                                              @RequestParam(required = false) Integer review,
+                                              @RequestParam(required = false) Double minSalary,
+                                              @RequestParam(required = false) Double maxSalary,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit,
+                                              WebRequest request) {
+        String invalidFilter = filterError(band, minSalary, maxSalary);
+        if (invalidFilter != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(invalidFilter);
+        }
+        if (request.checkNotModified(tableVersions.etag(Table.APPRAISAL))) {
+            return null;
+        }
+        EmployeeFilter filter = new EmployeeFilter(band, review, minSalary, maxSalary);
+        if (!filter.isEmpty() || cursor != null || limit != null) {
+            return keysetPage(cursor, limit,
+                    (afterEmpId, pageLimit) -> ReadRouting.onPrimary(
+                            () -> appraisalRepo.findAppraisals(filter, afterEmpId, pageLimit)),
+                    Appraisal::getEmpId);
+        }
+        List<Appraisal> appraisalList = ReadRouting.onPrimary(appraisalRepo::getAllAppraisals);
         if (!appraisalList.isEmpty()) {
             return ResponseEntity.status(HttpStatus.OK).body(appraisalList);
 
@@ -329,40 +751,59 @@ public class EventController {
 
     }
 
+    /**
+     * Streams all appraisals as newline-delimited JSON.
+     * This variant is selected with {@code Accept: application/x-ndjson}. Rows are read through a forward-only
+     * cursor and written to the response as they are mapped, so memory use stays flat regardless of table size.
+     * The stream may be served by a read replica, so it carries no ETag and ignores {@code If-None-Match}.
+     *
+     * @return ResponseEntity containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with one JSON appraisal per line; the body is empty if there are no appraisals.</li>
+     * </ul>
+     */
+    @GetMapping(value = "/appraisal", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllAppraisals() {
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjson(Appraisal.class, appraisalRepo::streamAllAppraisals));
+    }
+
     /**
      * Adds a new appraisal for an employee.
-     * This endpoint checks if an appraisal already exists for the employee, validates the employee's band and review,
-     * and then creates the appraisal if all validations pass.
+     * The appraisal is computed and inserted by a single INSERT ... ON CONFLICT DO NOTHING statement. If an
+     * appraisal already exists for the employee nothing is written, and an unknown band or review is rejected by
+     * the database's foreign keys.
      *
      * @param employee The {@link Employee} object containing the details of the employee for whom the appraisal is to be added.
      * @return a {@link ResponseEntity} representing the outcome of the add operation:
      * <ul>
      *     <li>HTTP 409 (CONFLICT): If an appraisal already exists for the given employee ID.</li>
      *     <li>HTTP 400 (BAD REQUEST): If validation of band or review fails.</li>
-     *     <li>HTTP 304 (NOT MODIFIED): If the appraisal creation fails.</li>
      *     <li>HTTP 201 (CREATED): If the appraisal is successfully created.</li>
      * </ul>
      */
     @PostMapping("/appraisal")
     public ResponseEntity<?> addAppraisal(@RequestBody Employee employee) {
-        if (appraisalRepo.getAppraisal(employee.getEmpId()).isPresent()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Appraisal already exists");
-        }
-        ResponseEntity<String> validationResponse = validateBandAndReview(employee.getBand(), employee.getReview());
+        ResponseEntity<String> validationResponse = validateBandPresent(employee.getBand());
         if (validationResponse != null) {
             return validationResponse;
         }
-        int addApp = appraisalRepo.createAppraisal(employee);
-        if (addApp == 0) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).body("Appraisal creation failed");
+        int addApp;
+        try {
+            addApp = appraisalRepo.createAppraisal(employee);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        if (addApp == 0) return ResponseEntity.status(HttpStatus.CONFLICT).body("Appraisal already exists");
         return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("Appraisal successfully created for ", employee));
     }
 
     /**
      * Updates an appraisal record for a given employee.
      * <p>
-     * This endpoint validates the existence of the appraisal and the employee's band and review details
-     * before updating the appraisal information in the database. If any validation fails, or if the update
-     * operation is unsuccessful, appropriate HTTP status codes and error messages are returned.
+     * The appraisal is recomputed and updated by a single UPDATE statement. If no appraisal exists for the
+     * employee no row is affected, and an unknown band or review is rejected by the database's foreign keys.
      *
      * @param employee the {@link Employee} object containing the details of the employee to update.
      *                 It includes the employee's ID, band, review, and other related information.
@@ -370,25 +811,329 @@ public class EventController {
      * <ul>
      *     <li>HTTP 404 (NOT FOUND): If the appraisal does not exist for the given employee ID.</li>
      *     <li>HTTP 400 (BAD REQUEST): If validation of band or review fails.</li>
-     *     <li>HTTP 304 (NOT MODIFIED): If the update operation does not affect any records.</li>
      *     <li>HTTP 200 (OK): If the appraisal is successfully updated.</li>
      *     <li>HTTP 500 (INTERNAL SERVER ERROR): If an unexpected error occurs.</li>
      * </ul>
      */
     @PutMapping("/appraisal")
     public ResponseEntity<?> updateAppraisal(@RequestBody Employee employee) {
-        if (!appraisalRepo.getAppraisal(employee.getEmpId()).isPresent()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Appraisal does not exists");
-        }
-        ResponseEntity<String> validationResponse = validateBandAndReview(employee.getBand(), employee.getReview());
+        ResponseEntity<String> validationResponse = validateBandPresent(employee.getBand());
         if (validationResponse != null) {
             return validationResponse;
         }
-
-        int update = appraisalRepo.updateAppraisal(employee);
-        if (update == 0) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).body("Update failed");
+        int update;
+        try {
+            update = appraisalRepo.updateAppraisal(employee);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        if (update == 0) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Appraisal does not exists");
         return ResponseEntity.status(HttpStatus.OK).body(Map.of("Appraisal update successful for ", employee));
     }
 
+    /**
+     * Runs the appraisal cycle for all employees, or for the subset matching the optional filters.
+     * <p>
+     * Appraisals are computed and upserted by the database in a single set-based statement rather than one
+     * request per employee. Existing appraisals for the selected employees are overwritten with freshly
+     * computed values; employees with an unknown band or review are skipped.
+     *
+     * @param band      optional band ID to restrict the cycle to.
+     * @param review    optional review ID to restrict the cycle to.
+     * @param minSalary optional inclusive lower salary bound.
+     * @param maxSalary optional inclusive upper salary bound.
+     * @return a {@link ResponseEntity} containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the number of rows processed and the elapsed time.</li>
+     *     <li>HTTP 400 (BAD REQUEST) if the band ID or salary bounds are invalid.</li>
+     * </ul>
+     */
+    @PostMapping("/appraisal/cycle")
+    public ResponseEntity<?> runAppraisalCycle(@RequestParam(required = false) String band,
+                                               @RequestParam(required = false) Integer review,
+                                               @RequestParam(required = false) Double minSalary,
+                                               @RequestParam(required = false) Double maxSalary) {
+        String invalidFilter = filterError(band, minSalary, maxSalary);
+        if (invalidFilter != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(invalidFilter);
+        }
+        AppraisalCycleResult result = appraisalRepo.runAppraisalCycle(new EmployeeFilter(band, review, minSalary, maxSalary));
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
+    /**
+     * Exports appraisals as CSV, optionally filtered.
+     * <p>
+     * The rows are produced by PostgreSQL with {@code COPY ... TO STDOUT (FORMAT csv)} and copied straight into the
+     * response, so export speed is bound by disk and network rather than by object mapping. The body is gzip-encoded
+     * at the fastest compression level when the client accepts gzip. The filters are the same as for the paged
+     * appraisal list, and are checked before the response starts, so an invalid filter is a 400 rather than a
+     * truncated file.
+     *
+     * @param band           optional band ID filter.
+     * @param review         optional review ID filter.
+     * @param minSalary      optional inclusive lower bound on the current salary.
+     * @param maxSalary      optional inclusive upper bound on the current salary.
+     * @param acceptEncoding the Accept-Encoding request header.
+     * @return a {@link ResponseEntity} containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the CSV, including a header row, ordered by employee ID.</li>
+     *     <li>HTTP 400 (BAD REQUEST) with a plain text message if the band ID or salary bounds are invalid.</li>
+     * </ul>
+     */
+    @GetMapping(value = "/appraisal/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportAppraisals(@RequestParam(required = false) String band,
+                                                                  @RequestParam(required = false) Integer review,
+                                                                  @RequestParam(required = false) Double minSalary,
+                                                                  @RequestParam(required = false) Double maxSalary,
+                                                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // The body runs after the status and headers are sent, so every filter error must be caught here
+        String invalidFilter = filterError(band, minSalary, maxSalary);
+        if (invalidFilter != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.TEXT_PLAIN)
+                    .body(badRequestBody(invalidFilter));
+        }
+        EmployeeFilter filter = new EmployeeFilter(band, review, minSalary, maxSalary);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"appraisals.csv\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return response.body(out -> {
+                // Favour throughput over ratio so that compression does not become the bottleneck
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024) {
+                    {
+                        def.setLevel(Deflater.BEST_SPEED);
+                    }
+                };
+                appraisalRepo.exportAppraisalsCsv(filter, compressed);
+                compressed.finish();
+            });
+        }
+        return response.body(out -> appraisalRepo.exportAppraisalsCsv(filter, out));
+    }
+
+    /**
+     * Retrieves the appraisal payroll totals per band: headcount, current payroll, appraised payroll and average
+     * appraisal percentage.
+     * <p>
+     * The totals are kept up to date by the database as appraisals are written, so this reads one row per band
+     * regardless of the number of employees.
+     *
+     * @return a {@link ResponseEntity} containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with one summary per band that has appraisals, in band ID order.</li>
+     * </ul>
+     */
+    @GetMapping("/appraisal/summary")
+    public ResponseEntity<?> getPayrollSummary() {
+        List<BandPayrollSummary> summary = appraisalRepo.getBandPayrollSummary();
+        return ResponseEntity.status(HttpStatus.OK).body(summary);
+    }
+
+    /**
+     * Rebuilds the per-band payroll totals from the appraisal table.
+     * Intended for verifying the maintained totals: the response reports how many bands had drifted.
+     * Appraisal writes wait while the rebuild runs.
+     *
+     * @return a {@link ResponseEntity} containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the number of bands corrected, the rebuilt totals and the elapsed time.</li>
+     * </ul>
+     */
+    @PostMapping("/appraisal/summary/rebuild")
+    public ResponseEntity<?> rebuildPayrollSummary() {
+        PayrollSummaryRebuildResult result = appraisalRepo.rebuildBandPayrollSummary();
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
+    /**
+     * Projects the payroll impact of appraising every employee with the current multipliers.
+     * <p>
+     * The computation runs in memory on the columnar employee snapshot held by the {@link AppraisalEngine}, in
+     * parallel across cores, and writes nothing. Employees whose band or review has no multiplier are counted as
+     * skipped, matching the bulk appraisal cycle.
+     *
+     * @return a {@link ResponseEntity} containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the headcount, current and appraised payroll, and the compute time.</li>
+     * </ul>
+     */
+    @GetMapping("/appraisal/projection")
+    public ResponseEntity<?> getAppraisalProjection() {
+        EmployeeColumns columns = appraisalEngine.columns();
+        long start = System.nanoTime();
+        double[] matrix = appraisalEngine.percentageMatrix(columns, Map.of(), Map.of());
+        PayrollTotals totals = appraisalEngine.totals(columns, matrix);
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+        return ResponseEntity.status(HttpStatus.OK).body(new AppraisalProjection(
+                totals.totalHeadcount(), totals.skipped(), Money.toDouble(totals.totalCurrentPayrollMillis()),
+                Money.toDouble(totals.totalAppraisedPayrollMillis()),
+                elapsedMicros));
+    }
+
+    /**
+     * Simulates the payroll impact of proposed band and/or review multipliers without writing anything.
+     * <p>
+     * Bands and reviews missing from the request keep their stored multiplier. The appraised payroll is computed in
+     * memory with the same formula as appraisal creation, once with the stored and once with the proposed
+     * multipliers, and returned for the whole population and grouped by band and by review.
+     *
+     * @param request the proposed multipliers keyed by band ID and review ID.
+     * @return a {@link ResponseEntity} containing:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the baseline and simulated totals.</li>
+     *     <li>HTTP 400 (Bad Request) if a band or review is unknown or a multiplier is negative or not finite.</li>
+     * </ul>
+     */
+    @PostMapping("/appraisal/simulation")
+    public ResponseEntity<?> simulateAppraisal(@RequestBody SimulationRequest request) {
+        for (Map.Entry<String, Double> entry : request.getBandMultipliers().entrySet()) {
+            if (bandRepo.getBand(entry.getKey()).isEmpty()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid band ID: " + entry.getKey());
+            }
+            if (!isValidMultiplier(entry.getValue())) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid multiplier for band " + entry.getKey());
+            }
+        }
+        for (Map.Entry<Integer, Double> entry : request.getReviewMultipliers().entrySet()) {
+            if (reviewRepo.getReview(entry.getKey()).isEmpty()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid review ID: " + entry.getKey());
+            }
+            if (!isValidMultiplier(entry.getValue())) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid multiplier for review " + entry.getKey());
+            }
+        }
+
+        EmployeeColumns columns = appraisalEngine.columns();
+        long start = System.nanoTime();
+        PayrollTotals baseline = appraisalEngine.totals(columns,
+                appraisalEngine.percentageMatrix(columns, Map.of(), Map.of()));
+        PayrollTotals simulated = appraisalEngine.totals(columns,
+                appraisalEngine.percentageMatrix(columns, request.getBandMultipliers(), request.getReviewMultipliers()));
+
+        int bandCount = simulated.bandCount();
+        int reviewCount = simulated.reviewCount();
+        // Groups are summed in millis: headcount, current, baseline appraised and simulated appraised payroll
+        long[][] bandSums = new long[bandCount][4];
+        long[][] reviewSums = new long[reviewCount][4];
+        long[] totalSums = new long[4];
+        for (int b = 0; b < bandCount; b++) {
+            for (int r = 0; r < reviewCount; r++) {
+                long headcount = simulated.headcount(b, r);
+                long current = simulated.currentPayrollMillis(b, r);
+                long baselineAppraised = baseline.appraisedPayrollMillis(b, r);
+                long simulatedAppraised = simulated.appraisedPayrollMillis(b, r);
+                for (long[] sums : List.of(bandSums[b], reviewSums[r], totalSums)) {
+                    sums[0] += headcount;
+                    sums[1] += current;
+                    sums[2] += baselineAppraised;
+                    sums[3] += simulatedAppraised;
+                }
+            }
+        }
+        List<PayrollGroup> byBand = new ArrayList<>(bandCount);
+        for (int b = 0; b < bandCount; b++) {
+            byBand.add(payrollGroup(simulated.bandId(b), bandSums[b]));
+        }
+        List<PayrollGroup> byReview = new ArrayList<>(reviewCount);
+        for (int r = 0; r < reviewCount; r++) {
+            byReview.add(payrollGroup(String.valueOf(simulated.reviewId(r)), reviewSums[r]));
+        }
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+        return ResponseEntity.status(HttpStatus.OK).body(new SimulationResult(
+                payrollGroup("total", totalSums), simulated.skipped(), byBand, byReview, elapsedMicros));
+    }
+
+    private static PayrollGroup payrollGroup(String key, long[] sums) {
+        return new PayrollGroup(key, sums[0], Money.toDouble(sums[1]), Money.toDouble(sums[2]), Money.toDouble(sums[3]));
+    }
+
+    /**
+     * Checks the optional band and salary bounds of a filter: the band must not contain a NUL character, which
+     * PostgreSQL rejects in a text parameter, each bound must be a finite number, and the lower bound must not be
+     * above the upper one.
+     *
+     * @param band      the band ID, or null.
+     * @param minSalary the inclusive lower salary bound, or null.
+     * @param maxSalary the inclusive upper salary bound, or null.
+     * @return the error message for a 400 response, or null if the filter is valid.
+     */
+    private static String filterError(String band, Double minSalary, Double maxSalary) {
+        if (band != null && band.indexOf('\0') >= 0) {
+            return "Invalid band ID";
+        }
+        if ((minSalary != null && !Double.isFinite(minSalary)) || (maxSalary != null && !Double.isFinite(maxSalary))) {
+            return "Salary bounds must be finite numbers";
+        }
+        if (minSalary != null && maxSalary != null && minSalary > maxSalary) {
+            return "minSalary must not be greater than maxSalary";
+        }
+        return null;
+    }
+
+    /**
+     * Builds the body of a 400 response on an endpoint whose successful responses are streamed.
+     *
+     * @param message the error message.
+     * @return a body that writes the message as UTF-8.
+     */
+    private static StreamingResponseBody badRequestBody(String message) {
+        return out -> out.write(message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks whether an Accept-Encoding header accepts gzip, honouring quality values: {@code gzip;q=0} refuses it,
+     * and {@code *} accepts it unless gzip is listed.
+     *
+     * @param acceptEncoding the Accept-Encoding request header, or null.
+     * @return true if the response may be gzip-encoded.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double anyQuality = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        return (gzipQuality >= 0 ? gzipQuality : anyQuality) > 0;
+    }
+
+    /**
+     * Reads a multiplier from a request body. The body is read as a tree rather than bound to {@link Band} or
+     * {@link Review}, whose primitive multiplier would turn a missing field into 0.
+     *
+     * @param body  the request body.
+     * @param field the name of the multiplier field.
+     * @return the multiplier, or null if the field is missing or not a number.
+     */
+    private static Double multiplierField(JsonNode body, String field) {
+        JsonNode value = body == null ? null : body.get(field);
+        return value != null && value.isNumber() ? value.doubleValue() : null;
+    }
 
+    private static boolean isValidMultiplier(Double multiplier) {
+        return multiplier != null && Double.isFinite(multiplier) && multiplier >= 0;
+    }
 }
@@ -0,0 +1,268 @@
+package com.team4.appraisalApp.controller;
+
+import com.team4.appraisalApp.models.Appraisal;
+import com.team4.appraisalApp.models.Band;
+import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.Review;
+import com.team4.appraisalApp.repository.IReactiveAppraisalRepo;
+import com.team4.appraisalApp.repository.IReactiveEmployeeRepo;
+import com.team4.appraisalApp.repository.IReactiveReferenceRepo;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * The ReactiveEventController class serves the employee, appraisal, band and review endpoints of
+ * {@link EventController} on the non-blocking stack, with the same URLs, status codes and messages.
+ * <p>
+ * Only active with the {@code reactive} profile. Every handler returns as soon as its statement has been sent; the
+ * response is written when R2DBC delivers the rows, so no thread waits on the database. List endpoints stream rows
+ * as they arrive, as a JSON array or, with {@code Accept: application/x-ndjson}, one JSON document per line; demand
+ * from the client is passed back to the database fetches. Because the status is sent before the first row is read,
+ * an empty list is 200 with {@code []} rather than 204, and list ETags, filters and keyset paging are not offered.
+ */
+@RestController
+@RequestMapping("/team4")
+@Profile("reactive")
+public class ReactiveEventController {
+
+    private final IReactiveEmployeeRepo employeeRepo;
+    private final IReactiveAppraisalRepo appraisalRepo;
+    private final IReactiveReferenceRepo referenceRepo;
+
+    /**
+     * Constructs a ReactiveEventController with the specified repositories.
+     *
+     * @param employeeRepo  the reactive employee repository.
+     * @param appraisalRepo the reactive appraisal repository.
+     * @param referenceRepo the reactive band and review repository.
+     */
+    public ReactiveEventController(IReactiveEmployeeRepo employeeRepo, IReactiveAppraisalRepo appraisalRepo,
+                                   IReactiveReferenceRepo referenceRepo) {
+        this.employeeRepo = employeeRepo;
+        this.appraisalRepo = appraisalRepo;
+        this.referenceRepo = referenceRepo;
+    }
+
+    /**
+     * Rejects a write without a band ID before it is sent to the database, as {@link EventController} does.
+     *
+     * @param bandId the band ID of the employee being written.
+     * @return a Mono of HTTP 400 (BAD REQUEST) with the message "Invalid band ID" if the band ID is null, otherwise
+     * null.
+     */
+    private static Mono<ResponseEntity<?>> validateBandPresent(String bandId) {
+        if (bandId == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid band ID"));
+        }
+        return null;
+    }
+
+    /**
+     * Turns an unknown band or review reported by a repository into HTTP 400 (BAD REQUEST) with its message.
+     *
+     * @param e the IllegalArgumentException signalled by the repository.
+     * @return a Mono of the response.
+     */
+    private static Mono<ResponseEntity<?>> badRequest(IllegalArgumentException e) {
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage()));
+    }
+
+    /**
+     * Streams all reviews.
+     *
+     * @return HTTP 200 (OK) with the reviews.
+     */
+    @GetMapping(value = "/review", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Review> getAllReviews() {
+        return referenceRepo.streamAllReviews();
+    }
+
+    /**
+     * Streams all bands.
+     *
+     * @return HTTP 200 (OK) with the bands.
+     */
+    @GetMapping(value = "/band", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Band> getAllBands() {
+        return referenceRepo.streamAllBands();
+    }
+
+    /**
+     * Retrieves an employee by their unique ID.
+     *
+     * @param id the unique ID of the employee to retrieve.
+     * @return a Mono of:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the employee data if the employee is found.</li>
+     *     <li>HTTP 404 (NOT FOUND) with a message "Employee not found" if the employee does not exist.</li>
+     * </ul>
+     */
+    @GetMapping("/employee/{id}")
+    public Mono<ResponseEntity<?>> getEmployeeById(@PathVariable int id) {
+        return employeeRepo.getEmployeeById(id)
+                .<ResponseEntity<?>>map(employee -> ResponseEntity.status(HttpStatus.OK).body(employee))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found"));
+    }
+
+    /**
+     * Streams all employees.
+     *
+     * @return HTTP 200 (OK) with the employees.
+     */
+    @GetMapping(value = "/employee", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepo.streamAllEmployees();
+    }
+
+    /**
+     * Updates an existing employee by their ID.
+     * The employee and their appraisal, if any, are updated in one statement, so unlike the servlet variant the
+     * appraisal is already recomputed when the response is sent.
+     *
+     * @param id       the ID of the employee to update.
+     * @param employee the employee object containing the updated information.
+     * @return a Mono of:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the employee as stored if the update is successful.</li>
+     *     <li>HTTP 400 (BAD REQUEST) if the band ID or review ID is invalid.</li>
+     *     <li>HTTP 404 (NOT FOUND) if the employee with the given ID does not exist.</li>
+     * </ul>
+     */
+    @PutMapping("/employee/{id}")
+    public Mono<ResponseEntity<?>> updateEmployee(@PathVariable int id, @RequestBody Employee employee) {
+        Mono<ResponseEntity<?>> validationResponse = validateBandPresent(employee.getBand());
+        if (validationResponse != null) {
+            return validationResponse;
+        }
+        employee.setEmpId(id);
+        return employeeRepo.updateEmployee(employee)
+                .<ResponseEntity<?>>map(updated -> ResponseEntity.status(HttpStatus.OK).body(updated))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found"))
+                .onErrorResume(IllegalArgumentException.class, ReactiveEventController::badRequest);
+    }
+
+    /**
+     * Deletes an employee, and their appraisal, by ID.
+     *
+     * @param id the ID of the employee to delete.
+     * @return a Mono of:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the deleted employee.</li>
+     *     <li>HTTP 404 (NOT FOUND) with a message "Employee not found" if the employee does not exist.</li>
+     * </ul>
+     */
+    @DeleteMapping("/employee/{id}")
+    public Mono<ResponseEntity<?>> deleteEmployee(@PathVariable int id) {
+        return employeeRepo.deleteEmployeeById(id)
+                .<ResponseEntity<?>>map(deleted -> ResponseEntity.status(HttpStatus.OK).body(Map.of(
+                        "Employee deleted successfully", deleted
+                )))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found"));
+    }
+
+    /**
+     * Adds a new employee.
+     *
+     * @param employee the employee to add.
+     * @return a Mono of:
+     * <ul>
+     *     <li>HTTP 201 (CREATED) if the employee is added.</li>
+     *     <li>HTTP 400 (BAD REQUEST) if the band ID or review ID is invalid.</li>
+     *     <li>HTTP 409 (CONFLICT) if an employee with the ID already exists.</li>
+     * </ul>
+     */
+    @PostMapping("/employee")
+    public Mono<ResponseEntity<?>> addEmployee(@RequestBody Employee employee) {
+        Mono<ResponseEntity<?>> validationResponse = validateBandPresent(employee.getBand());
+        if (validationResponse != null) {
+            return validationResponse;
+        }
+        return employeeRepo.addEmployee(employee)
+                .<ResponseEntity<?>>map(rows -> rows == 0
+                        ? ResponseEntity.status(HttpStatus.CONFLICT).body("Employee already exists")
+                        : ResponseEntity.status(HttpStatus.CREATED).body(Map.of("Employee successfully added", employee)))
+                .onErrorResume(IllegalArgumentException.class, ReactiveEventController::badRequest);
+    }
+
+    /**
+     * Retrieves the appraisal of an employee.
+     *
+     * @param id the ID of the employee.
+     * @return a Mono of:
+     * <ul>
+     *     <li>HTTP 200 (OK) with the appraisal if found.</li>
+     *     <li>HTTP 404 (NOT FOUND) with a message "Appraisal not found" if the appraisal does not exist.</li>
+     * </ul>
+     */
+    @GetMapping("/appraisal/{id}")
+    public Mono<ResponseEntity<?>> getAppraisalById(@PathVariable int id) {
+        return appraisalRepo.getAppraisal(id)
+                .<ResponseEntity<?>>map(appraisal -> ResponseEntity.status(HttpStatus.OK).body(appraisal))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Appraisal not found"));
+    }
+
+    /**
+     * Streams all appraisals.
+     *
+     * @return HTTP 200 (OK) with the appraisals.
+     */
+    @GetMapping(value = "/appraisal", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Appraisal> getAllAppraisals() {
+        return appraisalRepo.streamAllAppraisals();
+    }
+
+    /**
+     * Adds a new appraisal for an employee.
+     *
+     * @param employee the employee for whom the appraisal is to be added.
+     * @return a Mono of:
+     * <ul>
+     *     <li>HTTP 201 (CREATED) if the appraisal is created.</li>
+     *     <li>HTTP 400 (BAD REQUEST) if the band ID or review ID is invalid.</li>
+     *     <li>HTTP 409 (CONFLICT) if an appraisal already exists for the employee.</li>
+     * </ul>
+     */
+    @PostMapping("/appraisal")
+    public Mono<ResponseEntity<?>> addAppraisal(@RequestBody Employee employee) {
+        Mono<ResponseEntity<?>> validationResponse = validateBandPresent(employee.getBand());
+        if (validationResponse != null) {
+            return validationResponse;
+        }
+        return appraisalRepo.createAppraisal(employee)
+                .<ResponseEntity<?>>map(rows -> rows == 0
+                        ? ResponseEntity.status(HttpStatus.CONFLICT).body("Appraisal already exists")
+                        : ResponseEntity.status(HttpStatus.CREATED).body(Map.of("Appraisal successfully created for ", employee)))
+                .onErrorResume(IllegalArgumentException.class, ReactiveEventController::badRequest);
+    }
+
+    /**
+     * Updates an employee's appraisal.
+     *
+     * @param employee the employee's details.
+     * @return a Mono of:
+     * <ul>
+     *     <li>HTTP 200 (OK) if the appraisal is updated.</li>
+     *     <li>HTTP 400 (BAD REQUEST) if the band ID or review ID is invalid.</li>
+     *     <li>HTTP 404 (NOT FOUND) if the employee has no appraisal.</li>
+     * </ul>
+     */
+    @PutMapping("/appraisal")
+    public Mono<ResponseEntity<?>> updateAppraisal(@RequestBody Employee employee) {
+        Mono<ResponseEntity<?>> validationResponse = validateBandPresent(employee.getBand());
+        if (validationResponse != null) {
+            return validationResponse;
+        }
+        return appraisalRepo.updateAppraisal(employee)
+                .<ResponseEntity<?>>map(rows -> rows == 0
+                        ? ResponseEntity.status(HttpStatus.NOT_FOUND).body("Appraisal does not exists")
+                        : ResponseEntity.status(HttpStatus.OK).body(Map.of("Appraisal update successful for ", employee)))
+                .onErrorResume(IllegalArgumentException.class, ReactiveEventController::badRequest);
+    }
+}
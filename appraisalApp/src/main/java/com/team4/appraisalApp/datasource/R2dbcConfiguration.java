@@ -0,0 +1,68 @@
+package com.team4.appraisalApp.datasource;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * The R2dbcConfiguration class creates the non-blocking connection pool and {@link DatabaseClient} used by the
+ * reactive API variant.
+ * <p>
+ * Only active with the {@code reactive} profile. The pool connects to {@code appraisal.r2dbc.url} with the primary's
+ * {@code spring.datasource.username} and {@code password}; replicas are not used by the reactive variant. The JDBC
+ * DataSource stays in place for schema initialization and the components that are shared with the servlet variant.
+ * Pool metrics are published under {@code r2dbc.pool.*}.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class R2dbcConfiguration {
+
+    /**
+     * Creates the R2DBC connection pool.
+     *
+     * @param url            the R2DBC URL, e.g. {@code r2dbc:postgresql://localhost:5432/team4}.
+     * @param username       the database user.
+     * @param password       the database password.
+     * @param maxSize        the maximum number of pooled connections.
+     * @param maxAcquireTime how long a query waits for a connection before failing.
+     * @return the pool; it is disposed of with the application context.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(@Value("${appraisal.r2dbc.url}") String url,
+                                            @Value("${spring.datasource.username}") String username,
+                                            @Value("${spring.datasource.password}") String password,
+                                            @Value("${appraisal.r2dbc.pool.max-size:20}") int maxSize,
+                                            @Value("${appraisal.r2dbc.pool.max-acquire-time:5s}") Duration maxAcquireTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options);
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("r2dbc")
+                .initialSize(Math.min(10, maxSize))
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+    }
+
+    /**
+     * Creates the DatabaseClient the reactive repositories run their statements through.
+     *
+     * @param connectionFactory the R2DBC connection pool.
+     * @return the DatabaseClient.
+     */
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
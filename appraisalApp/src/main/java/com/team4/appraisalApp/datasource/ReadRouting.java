@@ -0,0 +1,119 @@
+package com.team4.appraisalApp.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * The ReadRouting class holds the per-thread state the {@link ReplicaRoutingDataSource} routes on.
+ * <p>
+ * A thread is in a replica read while it runs a {@link ReplicaRead} method. Inside an HTTP request, the first
+ * connection taken from the primary pins the rest of the request to the primary, so a read that follows a write
+ * in the same request sees that write instead of a possibly lagging replica.
+ * <p>
+ * Reads run through {@link #onPrimary(Supplier)} use the primary even inside a replica read. Caches whose loads are
+ * stamped with a table version use it: a load from a lagging replica would otherwise be served as current under the
+ * new version, after the write that advanced it, for as long as the entry lives. Such reads do not pin the request.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+    private static final ThreadLocal<RequestScope> REQUEST = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_READ = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Marks the current thread as running a replica read.
+     *
+     * @return whether the thread was already in a replica read; pass it to {@link #endReplicaRead(boolean)}.
+     */
+    static boolean beginReplicaRead() {
+        boolean outer = REPLICA_READ.get() != null;
+        REPLICA_READ.set(Boolean.TRUE);
+        return outer;
+    }
+
+    /**
+     * Ends a replica read started with {@link #beginReplicaRead()}.
+     *
+     * @param outer the value returned by the matching {@link #beginReplicaRead()}.
+     */
+    static void endReplicaRead(boolean outer) {
+        if (!outer) {
+            REPLICA_READ.remove();
+        }
+    }
+
+    /**
+     * Runs a read on the primary, including any {@link ReplicaRead} methods it calls.
+     *
+     * @param read the read.
+     * @param <T>  the type of the result.
+     * @return the result of the read.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        boolean outer = PRIMARY_READ.get() != null;
+        PRIMARY_READ.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (!outer) {
+                PRIMARY_READ.remove();
+            }
+        }
+    }
+
+    /**
+     * Runs a read without a result on the primary, including any {@link ReplicaRead} methods it calls.
+     *
+     * @param read the read.
+     */
+    public static void onPrimary(Runnable read) {
+        onPrimary(() -> {
+            read.run();
+            return null;
+        });
+    }
+
+    /**
+     * Opens the request scope that records whether the request has used the primary.
+     */
+    static void beginRequest() {
+        REQUEST.set(new RequestScope());
+    }
+
+    /**
+     * Closes the request scope opened by {@link #beginRequest()}.
+     */
+    static void endRequest() {
+        REQUEST.remove();
+    }
+
+    /**
+     * Checks whether a connection opened now may come from a replica.
+     *
+     * @return true inside a replica read that is not pinned to the primary.
+     */
+    static boolean useReplica() {
+        if (REPLICA_READ.get() == null || PRIMARY_READ.get() != null) {
+            return false;
+        }
+        RequestScope request = REQUEST.get();
+        return request == null || !request.pinnedToPrimary;
+    }
+
+    /**
+     * Pins the rest of the current request, if any, to the primary, unless the connection is for a read run
+     * through {@link #onPrimary(Supplier)}.
+     */
+    static void pinToPrimary() {
+        RequestScope request = REQUEST.get();
+        if (request != null && PRIMARY_READ.get() == null) {
+            request.pinnedToPrimary = true;
+        }
+    }
+
+    private static final class RequestScope {
+        private boolean pinnedToPrimary;
+    }
+}
@@ -0,0 +1,27 @@
+package com.team4.appraisalApp.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * The ReadRoutingFilter class opens a {@link ReadRouting} request scope around each HTTP request, so that a
+ * request which has used the primary keeps reading from it.
+ */
+public class ReadRoutingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReadRouting.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRouting.endRequest();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.team4.appraisalApp.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ReplicaDataSourceConfiguration class replaces the auto-configured DataSource with a
+ * {@link ReplicaRoutingDataSource} when at least one read replica is configured.
+ * <p>
+ * The primary pool is built from {@code spring.datasource.*} and {@code spring.datasource.hikari.*}; each replica
+ * pool copies the primary's pool settings and overrides the URL and, optionally, the credentials. Pools are named
+ * {@code primary}, {@code replica-1}, ... in the {@code hikaricp.*} metrics. Replica connections are read-only.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "appraisal.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfiguration {
+
+    /**
+     * Creates the routing DataSource over the primary and replica pools.
+     *
+     * @param properties        the primary's {@code spring.datasource.*} properties.
+     * @param replicaProperties the replica settings.
+     * @param environment       the environment the primary's Hikari settings are bound from.
+     * @param meterRegistry     the registry the pool metrics are published to.
+     * @return the routing DataSource; its pools are closed with the application context.
+     */
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties, ReplicaProperties replicaProperties,
+                                               Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        List<ReplicaProperties.Replica> configured = replicaProperties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaProperties.Replica replica = configured.get(i);
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(replica.getUrl());
+            if (replica.getUsername() != null) {
+                config.setUsername(replica.getUsername());
+            }
+            if (replica.getPassword() != null) {
+                config.setPassword(replica.getPassword());
+            }
+            config.setPoolName("replica-" + (i + 1));
+            config.setReadOnly(true);
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, replicaProperties.getReplicaSelection());
+    }
+
+    /**
+     * Creates the post-processor that marks {@link ReplicaRead} methods as replica reads.
+     * Static, as bean post-processors must be created before the configuration instance.
+     *
+     * @return the post-processor.
+     */
+    @Bean
+    public static ReplicaReadPostProcessor replicaReadPostProcessor() {
+        return new ReplicaReadPostProcessor();
+    }
+
+    /**
+     * Creates the filter that scopes primary pinning to one HTTP request.
+     *
+     * @return the filter.
+     */
+    @Bean
+    public ReadRoutingFilter readRoutingFilter() {
+        return new ReadRoutingFilter();
+    }
+}
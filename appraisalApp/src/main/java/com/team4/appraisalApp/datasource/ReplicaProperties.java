@@ -0,0 +1,107 @@
+package com.team4.appraisalApp.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ReplicaProperties class holds the read replica settings under {@code appraisal.datasource}.
+ * The primary is configured by the usual {@code spring.datasource.*} properties.
+ */
+@ConfigurationProperties("appraisal.datasource")
+public class ReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+    private ReplicaRoutingDataSource.Selection replicaSelection = ReplicaRoutingDataSource.Selection.ROUND_ROBIN;
+
+    /**
+     * Gets the read replicas.
+     * @return the read replicas; empty if reads go to the primary.
+     */
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Sets the read replicas.
+     * @param replicas the read replicas.
+     */
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    /**
+     * Gets how a replica is chosen for a read.
+     * @return the replica selection.
+     */
+    public ReplicaRoutingDataSource.Selection getReplicaSelection() {
+        return replicaSelection;
+    }
+
+    /**
+     * Sets how a replica is chosen for a read.
+     * @param replicaSelection the replica selection.
+     */
+    public void setReplicaSelection(ReplicaRoutingDataSource.Selection replicaSelection) {
+        this.replicaSelection = replicaSelection;
+    }
+
+    /**
+     * The Replica class holds the connection settings of one read replica.
+     * The username and password default to the primary's.
+     */
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+
+        /**
+         * Gets the JDBC URL of the replica.
+         * @return the JDBC URL.
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Sets the JDBC URL of the replica.
+         * @param url the JDBC URL.
+         */
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        /**
+         * Gets the username for the replica.
+         * @return the username, or null to use the primary's.
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * Sets the username for the replica.
+         * @param username the username, or null to use the primary's.
+         */
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        /**
+         * Gets the password for the replica.
+         * @return the password, or null to use the primary's.
+         */
+        public String getPassword() {
+            return password;
+        }
+
+        /**
+         * Sets the password for the replica.
+         * @param password the password, or null to use the primary's.
+         */
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.team4.appraisalApp.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a repository method as a read that may be served by a read replica.
+ * <p>
+ * When replicas are configured, connections opened during the method come from a replica, unless the current
+ * request has already used the primary (see {@link ReadRouting}). A method already running inside a transaction
+ * keeps using the transaction's connection. Without replicas the annotation has no effect.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReplicaRead {
+}
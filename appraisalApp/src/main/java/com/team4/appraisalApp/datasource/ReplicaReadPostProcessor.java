@@ -0,0 +1,33 @@
+package com.team4.appraisalApp.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+
+/**
+ * The ReplicaReadPostProcessor class marks calls to {@link ReplicaRead} methods as replica reads.
+ * <p>
+ * The interceptor is added in front of any existing advisors, so a {@code @Transactional(readOnly = true)} read
+ * already opens its transaction on a replica connection. Beans are proxied by class, like the repository metrics.
+ */
+public class ReplicaReadPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    /**
+     * Constructs a ReplicaReadPostProcessor.
+     */
+    public ReplicaReadPostProcessor() {
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+        MethodInterceptor interceptor = invocation -> {
+            boolean outer = ReadRouting.beginReplicaRead();
+            try {
+                return invocation.proceed();
+            } finally {
+                ReadRouting.endReplicaRead(outer);
+            }
+        };
+        this.advisor = new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(ReplicaRead.class),
+                interceptor);
+    }
+}
@@ -0,0 +1,97 @@
+package com.team4.appraisalApp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The ReplicaRoutingDataSource class hands out connections from the primary pool or from one of the replica pools.
+ * <p>
+ * Connections opened during a {@link ReplicaRead} method come from a replica, chosen round-robin or by the fewest
+ * busy connections; every other connection comes from the primary and pins the current request to it
+ * (see {@link ReadRouting}).
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    /**
+     * How a replica is chosen for a read.
+     */
+    public enum Selection {
+        /** Replicas take turns. */
+        ROUND_ROBIN,
+        /** The replica with the fewest active and waiting connections; ties go to the first. */
+        LEAST_BUSY
+    }
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final Selection selection;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Constructs a ReplicaRoutingDataSource over the given pools.
+     *
+     * @param primary   the primary pool, used for writes and for reads outside {@link ReplicaRead} methods.
+     * @param replicas  the replica pools; must not be empty.
+     * @param selection how a replica is chosen for a read.
+     */
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, Selection selection) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return target().getConnection(username, password);
+    }
+
+    private HikariDataSource target() {
+        if (ReadRouting.useReplica()) {
+            return selection == Selection.LEAST_BUSY ? leastBusyReplica() : nextReplica();
+        }
+        ReadRouting.pinToPrimary();
+        return primary;
+    }
+
+    private HikariDataSource nextReplica() {
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    private HikariDataSource leastBusyReplica() {
+        HikariDataSource best = replicas.get(0);
+        int bestLoad = Integer.MAX_VALUE;
+        for (HikariDataSource replica : replicas) {
+            // The pool MXBean is null until the pool has started, i.e. the replica has no load yet
+            HikariPoolMXBean pool = replica.getHikariPoolMXBean();
+            int load = pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            if (load < bestLoad) {
+                best = replica;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Closes the primary and replica pools.
+     */
+    @Override
+    public void close() {
+        primary.close();
+        replicas.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,96 @@
+package com.team4.appraisalApp.datasource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The ShardDataSources class holds the connection pools of the employee shards and decides which shard an employee
+ * lives on.
+ * <p>
+ * An employee, and their appraisal, live on shard {@code floorMod(mix(empId), shardCount)}, where {@code mix} is
+ * the MurmurHash3 finalizer, so consecutive IDs spread evenly. The mapping depends on the number of shards: adding
+ * or removing a shard moves most employees, and the data has to be redistributed before the application is started
+ * with the new list. Queries that span shards run on a cached pool of daemon threads named {@code shard-N}; its
+ * size is bounded in practice by the shard connection pools.
+ */
+public class ShardDataSources implements AutoCloseable {
+
+    private final List<? extends DataSource> shards;
+    private final ExecutorService executor;
+
+    /**
+     * Constructs a ShardDataSources over the given pools.
+     *
+     * @param shards the shard pools, in shard index order; must not be empty.
+     */
+    public ShardDataSources(List<? extends DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "shard-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the number of shards.
+     * @return the shard count.
+     */
+    public int size() {
+        return shards.size();
+    }
+
+    /**
+     * Gets the pool of one shard.
+     * @param shard the shard index.
+     * @return the shard's DataSource.
+     */
+    public DataSource get(int shard) {
+        return shards.get(shard);
+    }
+
+    /**
+     * Gets the shard an employee lives on.
+     * @param empId the employee ID.
+     * @return the shard index.
+     */
+    public int shardOf(int empId) {
+        int h = empId;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, shards.size());
+    }
+
+    /**
+     * Gets the executor that cross-shard queries run on.
+     * @return the executor.
+     */
+    public ExecutorService executor() {
+        return executor;
+    }
+
+    /**
+     * Stops the executor and closes the shard pools.
+     *
+     * @throws Exception if a pool fails to close.
+     */
+    @Override
+    public void close() throws Exception {
+        executor.shutdownNow();
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
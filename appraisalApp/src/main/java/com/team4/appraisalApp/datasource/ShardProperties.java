@@ -0,0 +1,90 @@
+package com.team4.appraisalApp.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ShardProperties class holds the employee shard settings under {@code appraisal.sharding}.
+ * The band and review master data stays on the database configured by {@code spring.datasource.*}.
+ */
+@ConfigurationProperties("appraisal.sharding")
+public class ShardProperties {
+
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Gets the shards.
+     * @return the shards, in shard index order; empty if employees are not sharded.
+     */
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    /**
+     * Sets the shards.
+     * @param shards the shards, in shard index order.
+     */
+    public void setShards(List<Shard> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * The Shard class holds the connection settings of one shard database.
+     * The username and password default to the primary's.
+     */
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+
+        /**
+         * Gets the JDBC URL of the shard.
+         * @return the JDBC URL.
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Sets the JDBC URL of the shard.
+         * @param url the JDBC URL.
+         */
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        /**
+         * Gets the username for the shard.
+         * @return the username, or null to use the primary's.
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * Sets the username for the shard.
+         * @param username the username, or null to use the primary's.
+         */
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        /**
+         * Gets the password for the shard.
+         * @return the password, or null to use the primary's.
+         */
+        public String getPassword() {
+            return password;
+        }
+
+        /**
+         * Sets the password for the shard.
+         * @param password the password, or null to use the primary's.
+         */
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
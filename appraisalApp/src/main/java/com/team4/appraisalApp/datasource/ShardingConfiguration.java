@@ -0,0 +1,90 @@
+package com.team4.appraisalApp.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ShardingConfiguration class creates the employee shard pools when at least one shard is configured.
+ * <p>
+ * Each shard pool copies the primary's {@code spring.datasource.hikari.*} settings and overrides the URL and,
+ * optionally, the credentials; pools are named {@code shard-1}, {@code shard-2}, ... in the {@code hikaricp.*}
+ * metrics. On startup {@code schema.sql} is applied to every shard, and the band and review rows of the primary are
+ * copied into each shard, where the foreign keys and the appraisal statements need them. Both steps only change what
+ * is missing or different: the script creates tables, indexes, foreign keys and triggers only if they do not exist,
+ * so a shard that is already set up is not locked or rewritten, and rows whose multiplier already matches are left
+ * alone.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "appraisal.sharding.shards[0].url")
+@EnableConfigurationProperties(ShardProperties.class)
+public class ShardingConfiguration {
+
+    /**
+     * Creates the shard pools, applies the schema to them and copies the reference data into them.
+     *
+     * @param properties      the primary's {@code spring.datasource.*} properties.
+     * @param shardProperties the shard settings.
+     * @param environment     the environment the primary's Hikari settings are bound from.
+     * @param meterRegistry   the registry the pool metrics are published to.
+     * @param dataSource      the primary DataSource the band and review rows are read from.
+     * @return the shard pools; they are closed with the application context.
+     */
+    @Bean
+    @DependsOnDatabaseInitialization
+    public ShardDataSources shardDataSources(DataSourceProperties properties, ShardProperties shardProperties,
+                                             Environment environment, MeterRegistry meterRegistry,
+                                             DataSource dataSource) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        List<ShardProperties.Shard> configured = shardProperties.getShards();
+        for (int i = 0; i < configured.size(); i++) {
+            ShardProperties.Shard shard = configured.get(i);
+            HikariConfig config = new HikariConfig();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(config));
+            config.setJdbcUrl(shard.getUrl());
+            config.setUsername(shard.getUsername() != null ? shard.getUsername() : properties.determineUsername());
+            config.setPassword(shard.getPassword() != null ? shard.getPassword() : properties.determinePassword());
+            config.setPoolName("shard-" + (i + 1));
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(new HikariDataSource(config));
+        }
+        try {
+            JdbcTemplate primary = new JdbcTemplate(dataSource);
+            List<Object[]> bands = primary.query("SELECT band_id, band_mul FROM public.band",
+                    (rs, row) -> new Object[]{rs.getString("band_id"), rs.getObject("band_mul")});
+            List<Object[]> reviews = primary.query("SELECT rev_id, rev_mul FROM public.review",
+                    (rs, row) -> new Object[]{rs.getInt("rev_id"), rs.getObject("rev_mul")});
+            for (HikariDataSource pool : pools) {
+                new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(pool);
+                JdbcTemplate shard = new JdbcTemplate(pool);
+                shard.batchUpdate("INSERT INTO public.band(band_id, band_mul) VALUES (?, ?) " +
+                        "ON CONFLICT (band_id) DO UPDATE SET band_mul = EXCLUDED.band_mul " +
+                        "WHERE band.band_mul IS DISTINCT FROM EXCLUDED.band_mul", bands);
+                shard.batchUpdate("INSERT INTO public.review(rev_id, rev_mul) VALUES (?, ?) " +
+                        "ON CONFLICT (rev_id) DO UPDATE SET rev_mul = EXCLUDED.rev_mul " +
+                        "WHERE review.rev_mul IS DISTINCT FROM EXCLUDED.rev_mul", reviews);
+            }
+        } catch (RuntimeException e) {
+            pools.forEach(HikariDataSource::close);
+            throw e;
+        }
+        return new ShardDataSources(pools);
+    }
+}
@@ -0,0 +1,190 @@
+package com.team4.appraisalApp.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * The RepositoryMetricsInterceptor class records the latency, outcome and row count of repository calls.
+ * <p>
+ * Every call is recorded in the {@code appraisal.repository.invocations} timer, tagged by repository class,
+ * operation (method name) and outcome:
+ * <ul>
+ *     <li>{@code success} for a call that returned a result;</li>
+ *     <li>{@code empty} for a list or stream that returned no rows;</li>
+ *     <li>{@code not_found} for an empty Optional, or an update or delete that affected no rows;</li>
+ *     <li>{@code error} for a call that threw.</li>
+ * </ul>
+ * Calls that return a list, or stream rows to a {@link Consumer}, also record the number of rows in the
+ * {@code appraisal.repository.rows} distribution summary. Both meters publish percentile histograms.
+ */
+final class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ConcurrentMap<Method, OperationMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a RepositoryMetricsInterceptor.
+     *
+     * @param meterRegistry the registry the meters are published to, resolved on first use.
+     */
+    RepositoryMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        OperationMeters operation = meters.computeIfAbsent(invocation.getMethod(),
+                method -> new OperationMeters(meterRegistry.getObject(), repositoryName(invocation), method));
+
+        RowCounter rowCounter = null;
+        Object[] arguments = invocation.getArguments();
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] instanceof Consumer<?> action) {
+                rowCounter = new RowCounter(action);
+                arguments[i] = rowCounter;
+            }
+        }
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable t) {
+            operation.timer(Outcome.ERROR).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw t;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long rows = -1;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (rowCounter != null) {
+            rows = rowCounter.rows;
+        }
+        operation.timer(outcomeOf(result, rows)).record(elapsed, TimeUnit.NANOSECONDS);
+        if (rows >= 0) {
+            operation.rows().record(rows);
+        }
+        return result;
+    }
+
+    private static String repositoryName(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : invocation.getMethod().getDeclaringClass();
+        return ClassUtils.getUserClass(targetClass).getSimpleName();
+    }
+
+    private static Outcome outcomeOf(Object result, long rows) {
+        if (rows == 0) {
+            return Outcome.EMPTY;
+        }
+        if (result instanceof Optional<?> optional && optional.isEmpty()) {
+            return Outcome.NOT_FOUND;
+        }
+        if (result instanceof Integer affected && affected == 0) {
+            return Outcome.NOT_FOUND;
+        }
+        return Outcome.SUCCESS;
+    }
+
+    /**
+     * The outcome tag values.
+     */
+    private enum Outcome {
+        SUCCESS("success"),
+        EMPTY("empty"),
+        NOT_FOUND("not_found"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * The meters of one repository method. Timers are registered on first use of each outcome, so an operation
+     * only publishes histograms for the outcomes it actually produces.
+     */
+    private static final class OperationMeters {
+
+        private final MeterRegistry registry;
+        private final String repository;
+        private final String operation;
+        private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(Outcome.values().length);
+        private volatile DistributionSummary rows;
+
+        OperationMeters(MeterRegistry registry, String repository, Method method) {
+            this.registry = registry;
+            this.repository = repository;
+            this.operation = method.getName();
+        }
+
+        Timer timer(Outcome outcome) {
+            Timer timer = timers.get(outcome.ordinal());
+            if (timer == null) {
+                // Registration is idempotent, so a racing thread at worst looks up the same timer again
+                timer = Timer.builder("appraisal.repository.invocations")
+                        .description("Repository call latency by operation and outcome")
+                        .tag("repository", repository)
+                        .tag("operation", operation)
+                        .tag("outcome", outcome.tag)
+                        .publishPercentileHistogram()
+                        .register(registry);
+                timers.set(outcome.ordinal(), timer);
+            }
+            return timer;
+        }
+
+        DistributionSummary rows() {
+            DistributionSummary summary = rows;
+            if (summary == null) {
+                summary = DistributionSummary.builder("appraisal.repository.rows")
+                        .description("Rows returned or streamed by repository list operations")
+                        .baseUnit("rows")
+                        .tag("repository", repository)
+                        .tag("operation", operation)
+                        .publishPercentileHistogram()
+                        .register(registry);
+                rows = summary;
+            }
+            return summary;
+        }
+    }
+
+    /**
+     * Wraps the row consumer of a streaming call and counts the rows passed to it.
+     */
+    private static final class RowCounter implements Consumer<Object> {
+
+        private final Consumer<Object> action;
+        private long rows;
+
+        @SuppressWarnings("unchecked")
+        RowCounter(Consumer<?> action) {
+            this.action = (Consumer<Object>) action;
+        }
+
+        @Override
+        public void accept(Object row) {
+            rows++;
+            action.accept(row);
+        }
+    }
+}
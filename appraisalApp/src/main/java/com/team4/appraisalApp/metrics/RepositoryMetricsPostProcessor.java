@@ -0,0 +1,67 @@
+package com.team4.appraisalApp.metrics;
+
+import com.team4.appraisalApp.repository.IAppraisalRepo;
+import com.team4.appraisalApp.repository.IBandRepo;
+import com.team4.appraisalApp.repository.IEmployeeRepo;
+import com.team4.appraisalApp.repository.IReviewRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * The RepositoryMetricsPostProcessor class times every method of the employee, appraisal, band and review
+ * repositories with a {@link RepositoryMetricsInterceptor}.
+ * <p>
+ * Repository beans are proxied by class, so beans injected by their concrete type (such as the JDBC band and
+ * review repositories behind the reference data cache) keep working. Beans that are already proxied for
+ * {@code @Transactional} get the interceptor added in front of the existing advisors, so the recorded time
+ * includes the transaction commit.
+ */
+@Component
+public class RepositoryMetricsPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    private static final List<Class<?>> REPOSITORIES =
+            List.of(IEmployeeRepo.class, IAppraisalRepo.class, IBandRepo.class, IReviewRepo.class);
+
+    /**
+     * Constructs a RepositoryMetricsPostProcessor.
+     * The registry is resolved on the first repository call, so creating this post-processor does not force the
+     * metrics infrastructure to initialize early.
+     *
+     * @param meterRegistry the registry the repository timers and row-count summaries are published to.
+     */
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+        this.advisor = new DefaultPointcutAdvisor(new RepositoryMethodPointcut(),
+                new RepositoryMetricsInterceptor(meterRegistry));
+    }
+
+    /**
+     * Matches the methods declared by the repository interfaces on any class implementing one of them.
+     */
+    private static final class RepositoryMethodPointcut extends StaticMethodMatcherPointcut {
+
+        RepositoryMethodPointcut() {
+            setClassFilter(clazz -> REPOSITORIES.stream().anyMatch(repository -> repository.isAssignableFrom(clazz)));
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            for (Class<?> repository : REPOSITORIES) {
+                if (repository.isAssignableFrom(targetClass)
+                        && ReflectionUtils.findMethod(repository, method.getName(), method.getParameterTypes()) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,17 +1,20 @@
 package com.team4.appraisalApp.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * The Appraisal class represents the appraisal details of an employee.
  * It includes employee ID, name, review, band, current salary, appraisal percentage, and appraised salary.
+ * Salaries are held in fixed-point thousandths (see {@link Money}) and read and written as decimal numbers in JSON.
  */
 public class Appraisal {
     private int empId;
     private String empName;
     private int empReview;
     private String empBand;
-    private double currentSalary;
+    private long currentSalaryMillis;
     private double appraisalPercentage;
-    private double appraisedSalary;
+    private long appraisedSalaryMillis;
 
     // Getter and setter methods
 
@@ -84,15 +87,33 @@ public class Appraisal {
      * @return the current salary of the employee.
      */
     public double getCurrentSalary() {
-        return currentSalary;
+        return Money.toDouble(currentSalaryMillis);
     }
 
     /**
-     * Sets the current salary of the employee.
+     * Sets the current salary of the employee, rounded to thousandths.
      * @param currentSalary the current salary of the employee.
      */
     public void setCurrentSalary(double currentSalary) {
-        this.currentSalary = currentSalary;
+        this.currentSalaryMillis = Money.fromDouble(currentSalary);
+    }
+
+    /**
+     * Gets the current salary of the employee in thousandths.
+     * @return the current salary in millis.
+     */
+    @JsonIgnore
+    public long getCurrentSalaryMillis() {
+        return currentSalaryMillis;
+    }
+
+    /**
+     * Sets the current salary of the employee in thousandths.
+     * @param currentSalaryMillis the current salary in millis.
+     */
+    @JsonIgnore
+    public void setCurrentSalaryMillis(long currentSalaryMillis) {
+        this.currentSalaryMillis = currentSalaryMillis;
     }
 
     /**
@@ -116,15 +137,33 @@ public class Appraisal {
      * @return the appraised salary of the employee.
      */
     public double getAppraisedSalary() {
-        return appraisedSalary;
+        return Money.toDouble(appraisedSalaryMillis);
     }
 
     /**
-     * Sets the appraised salary of the employee.
+     * Sets the appraised salary of the employee, rounded to thousandths.
      * @param appraisedSalary the appraised salary of the employee.
      */
     public void setAppraisedSalary(double appraisedSalary) {
-        this.appraisedSalary = appraisedSalary;
+        this.appraisedSalaryMillis = Money.fromDouble(appraisedSalary);
+    }
+
+    /**
+     * Gets the appraised salary of the employee in thousandths.
+     * @return the appraised salary in millis.
+     */
+    @JsonIgnore
+    public long getAppraisedSalaryMillis() {
+        return appraisedSalaryMillis;
+    }
+
+    /**
+     * Sets the appraised salary of the employee in thousandths.
+     * @param appraisedSalaryMillis the appraised salary in millis.
+     */
+    @JsonIgnore
+    public void setAppraisedSalaryMillis(long appraisedSalaryMillis) {
+        this.appraisedSalaryMillis = appraisedSalaryMillis;
     }
 
     // Constructors
@@ -135,18 +174,42 @@ public class Appraisal {
      * @param empName the employee name.
      * @param empReview the employee review.
      * @param empBand the employee band.
-     * @param currentSalary the current salary of the employee.
+     * @param currentSalary the current salary of the employee; rounded to thousandths.
      * @param appraisalPercentage the appraisal percentage.
-     * @param appraisedSalary the appraised salary of the employee.
+     * @param appraisedSalary the appraised salary of the employee; rounded to thousandths.
      */
     public Appraisal(int empId, String empName, int empReview, String empBand, double currentSalary, double appraisalPercentage, double appraisedSalary) {
         this.empId = empId;
         this.empName = empName;
         this.empReview = empReview;
         this.empBand = empBand;
-        this.currentSalary = currentSalary;
+        this.currentSalaryMillis = Money.fromDouble(currentSalary);
         this.appraisalPercentage = appraisalPercentage;
-        this.appraisedSalary = appraisedSalary;
+        this.appraisedSalaryMillis = Money.fromDouble(appraisedSalary);
+    }
+
+    /**
+     * Creates an Appraisal with salaries given in thousandths, as read from the database.
+     * @param empId the employee ID.
+     * @param empName the employee name.
+     * @param empReview the employee review.
+     * @param empBand the employee band.
+     * @param currentSalaryMillis the current salary in millis.
+     * @param appraisalPercentage the appraisal percentage.
+     * @param appraisedSalaryMillis the appraised salary in millis.
+     * @return the appraisal.
+     */
+    public static Appraisal ofMillis(int empId, String empName, int empReview, String empBand, long currentSalaryMillis,
+                                     double appraisalPercentage, long appraisedSalaryMillis) {
+        Appraisal appraisal = new Appraisal();
+        appraisal.empId = empId;
+        appraisal.empName = empName;
+        appraisal.empReview = empReview;
+        appraisal.empBand = empBand;
+        appraisal.currentSalaryMillis = currentSalaryMillis;
+        appraisal.appraisalPercentage = appraisalPercentage;
+        appraisal.appraisedSalaryMillis = appraisedSalaryMillis;
+        return appraisal;
     }
 
     /**
@@ -161,9 +224,9 @@ public class Appraisal {
                 ", empName='" + empName + '\'' +
                 ", empReview=" + empReview +
                 ", empBand='" + empBand + '\'' +
-                ", currentSalary=" + currentSalary +
+                ", currentSalary=" + Money.toDecimal(currentSalaryMillis) +
                 ", appraisalPercentage=" + appraisalPercentage +
-                ", appraisedSalary=" + appraisedSalary +
+                ", appraisedSalary=" + Money.toDecimal(appraisedSalaryMillis) +
                 '}';
     }
 }
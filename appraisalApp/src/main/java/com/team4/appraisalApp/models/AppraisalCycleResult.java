@@ -0,0 +1,75 @@
+package com.team4.appraisalApp.models;
+
+/**
+ * The AppraisalCycleResult class represents the outcome of a bulk appraisal cycle run.
+ * It includes the number of appraisal rows written and the elapsed time of the run.
+ */
+public class AppraisalCycleResult {
+    private int rowsProcessed;
+    private long elapsedMillis;
+
+    // Getters and Setters
+
+    /**
+     * Gets the number of appraisal rows inserted or updated.
+     * @return the number of rows processed.
+     */
+    public int getRowsProcessed() {
+        return rowsProcessed;
+    }
+
+    /**
+     * Sets the number of appraisal rows inserted or updated.
+     * @param rowsProcessed the number of rows processed.
+     */
+    public void setRowsProcessed(int rowsProcessed) {
+        this.rowsProcessed = rowsProcessed;
+    }
+
+    /**
+     * Gets the elapsed time of the run in milliseconds.
+     * @return the elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Sets the elapsed time of the run in milliseconds.
+     * @param elapsedMillis the elapsed time in milliseconds.
+     */
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Constructors
+
+    /**
+     * Constructs an AppraisalCycleResult with the specified details.
+     * @param rowsProcessed the number of rows processed.
+     * @param elapsedMillis the elapsed time in milliseconds.
+     */
+    public AppraisalCycleResult(int rowsProcessed, long elapsedMillis) {
+        this.rowsProcessed = rowsProcessed;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public AppraisalCycleResult() {}
+
+    // toString
+
+    /**
+     * Returns a string representation of the AppraisalCycleResult object.
+     * @return a string representation of the AppraisalCycleResult object.
+     */
+    @Override
+    public String toString() {
+        return "AppraisalCycleResult{" +
+                "rowsProcessed=" + rowsProcessed +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,135 @@
+package com.team4.appraisalApp.models;
+
+/**
+ * The AppraisalProjection class represents the payroll impact of appraising the whole employee population.
+ * It includes the number of employees appraised and skipped, the current and appraised payroll, and the compute time.
+ */
+public class AppraisalProjection {
+    private long headcount;
+    private long skipped;
+    private double currentPayroll;
+    private double appraisedPayroll;
+    private long elapsedMicros;
+
+    // Getters and Setters
+
+    /**
+     * Gets the number of employees appraised.
+     * @return the headcount.
+     */
+    public long getHeadcount() {
+        return headcount;
+    }
+
+    /**
+     * Sets the number of employees appraised.
+     * @param headcount the headcount.
+     */
+    public void setHeadcount(long headcount) {
+        this.headcount = headcount;
+    }
+
+    /**
+     * Gets the number of employees skipped because their band or review has no multiplier.
+     * @return the number of skipped employees.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Sets the number of employees skipped.
+     * @param skipped the number of skipped employees.
+     */
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    /**
+     * Gets the sum of current salaries of the appraised employees.
+     * @return the current payroll.
+     */
+    public double getCurrentPayroll() {
+        return currentPayroll;
+    }
+
+    /**
+     * Sets the sum of current salaries of the appraised employees.
+     * @param currentPayroll the current payroll.
+     */
+    public void setCurrentPayroll(double currentPayroll) {
+        this.currentPayroll = currentPayroll;
+    }
+
+    /**
+     * Gets the sum of appraised salaries.
+     * @return the appraised payroll.
+     */
+    public double getAppraisedPayroll() {
+        return appraisedPayroll;
+    }
+
+    /**
+     * Sets the sum of appraised salaries.
+     * @param appraisedPayroll the appraised payroll.
+     */
+    public void setAppraisedPayroll(double appraisedPayroll) {
+        this.appraisedPayroll = appraisedPayroll;
+    }
+
+    /**
+     * Gets the time spent computing, excluding any reload of the employee columns, in microseconds.
+     * @return the elapsed time in microseconds.
+     */
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+
+    /**
+     * Sets the time spent computing in microseconds.
+     * @param elapsedMicros the elapsed time in microseconds.
+     */
+    public void setElapsedMicros(long elapsedMicros) {
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    // Constructors
+
+    /**
+     * Constructs an AppraisalProjection with the specified details.
+     * @param headcount the number of employees appraised.
+     * @param skipped the number of employees skipped.
+     * @param currentPayroll the current payroll.
+     * @param appraisedPayroll the appraised payroll.
+     * @param elapsedMicros the compute time in microseconds.
+     */
+    public AppraisalProjection(long headcount, long skipped, double currentPayroll, double appraisedPayroll, long elapsedMicros) {
+        this.headcount = headcount;
+        this.skipped = skipped;
+        this.currentPayroll = currentPayroll;
+        this.appraisedPayroll = appraisedPayroll;
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public AppraisalProjection() {}
+
+    // toString
+
+    /**
+     * Returns a string representation of the AppraisalProjection object.
+     * @return a string representation of the AppraisalProjection object.
+     */
+    @Override
+    public String toString() {
+        return "AppraisalProjection{" +
+                "headcount=" + headcount +
+                ", skipped=" + skipped +
+                ", currentPayroll=" + currentPayroll +
+                ", appraisedPayroll=" + appraisedPayroll +
+                ", elapsedMicros=" + elapsedMicros +
+                '}';
+    }
+}
@@ -0,0 +1,174 @@
+package com.team4.appraisalApp.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * The BandPayrollSummary class represents the appraisal payroll totals for one band.
+ * It includes the band ID, the headcount, the current and appraised payroll, and the average appraisal percentage.
+ * Payroll totals are held in fixed-point thousandths (see {@link Money}) and written as decimal numbers in JSON.
+ */
+public class BandPayrollSummary {
+    private String bandId;
+    private long headcount;
+    private long currentPayrollMillis;
+    private long appraisedPayrollMillis;
+    private Double averagePercentage;
+
+    // Getters and Setters
+
+    /**
+     * Gets the band ID.
+     * @return the band ID.
+     */
+    public String getBandId() {
+        return bandId;
+    }
+
+    /**
+     * Sets the band ID.
+     * @param bandId the band ID.
+     */
+    public void setBandId(String bandId) {
+        this.bandId = bandId;
+    }
+
+    /**
+     * Gets the number of appraised employees in the band.
+     * @return the headcount.
+     */
+    public long getHeadcount() {
+        return headcount;
+    }
+
+    /**
+     * Sets the number of appraised employees in the band.
+     * @param headcount the headcount.
+     */
+    public void setHeadcount(long headcount) {
+        this.headcount = headcount;
+    }
+
+    /**
+     * Gets the sum of current salaries in the band.
+     * @return the current payroll.
+     */
+    public double getCurrentPayroll() {
+        return Money.toDouble(currentPayrollMillis);
+    }
+
+    /**
+     * Sets the sum of current salaries in the band, rounded to thousandths.
+     * @param currentPayroll the current payroll.
+     */
+    public void setCurrentPayroll(double currentPayroll) {
+        this.currentPayrollMillis = Money.fromDouble(currentPayroll);
+    }
+
+    /**
+     * Gets the sum of current salaries in the band in thousandths.
+     * @return the current payroll in millis.
+     */
+    @JsonIgnore
+    public long getCurrentPayrollMillis() {
+        return currentPayrollMillis;
+    }
+
+    /**
+     * Sets the sum of current salaries in the band in thousandths.
+     * @param currentPayrollMillis the current payroll in millis.
+     */
+    @JsonIgnore
+    public void setCurrentPayrollMillis(long currentPayrollMillis) {
+        this.currentPayrollMillis = currentPayrollMillis;
+    }
+
+    /**
+     * Gets the sum of appraised salaries in the band.
+     * @return the appraised payroll.
+     */
+    public double getAppraisedPayroll() {
+        return Money.toDouble(appraisedPayrollMillis);
+    }
+
+    /**
+     * Sets the sum of appraised salaries in the band, rounded to thousandths.
+     * @param appraisedPayroll the appraised payroll.
+     */
+    public void setAppraisedPayroll(double appraisedPayroll) {
+        this.appraisedPayrollMillis = Money.fromDouble(appraisedPayroll);
+    }
+
+    /**
+     * Gets the sum of appraised salaries in the band in thousandths.
+     * @return the appraised payroll in millis.
+     */
+    @JsonIgnore
+    public long getAppraisedPayrollMillis() {
+        return appraisedPayrollMillis;
+    }
+
+    /**
+     * Sets the sum of appraised salaries in the band in thousandths.
+     * @param appraisedPayrollMillis the appraised payroll in millis.
+     */
+    @JsonIgnore
+    public void setAppraisedPayrollMillis(long appraisedPayrollMillis) {
+        this.appraisedPayrollMillis = appraisedPayrollMillis;
+    }
+
+    /**
+     * Gets the average appraisal percentage in the band.
+     * @return the average percentage, or null if no appraisal in the band has a percentage.
+     */
+    public Double getAveragePercentage() {
+        return averagePercentage;
+    }
+
+    /**
+     * Sets the average appraisal percentage in the band.
+     * @param averagePercentage the average percentage, or null if no appraisal in the band has a percentage.
+     */
+    public void setAveragePercentage(Double averagePercentage) {
+        this.averagePercentage = averagePercentage;
+    }
+
+    // Constructors
+
+    /**
+     * Constructs a BandPayrollSummary with the specified details.
+     * @param bandId the band ID.
+     * @param headcount the headcount.
+     * @param currentPayrollMillis the current payroll in millis.
+     * @param appraisedPayrollMillis the appraised payroll in millis.
+     * @param averagePercentage the average percentage, or null if no appraisal in the band has a percentage.
+     */
+    public BandPayrollSummary(String bandId, long headcount, long currentPayrollMillis, long appraisedPayrollMillis, Double averagePercentage) {
+        this.bandId = bandId;
+        this.headcount = headcount;
+        this.currentPayrollMillis = currentPayrollMillis;
+        this.appraisedPayrollMillis = appraisedPayrollMillis;
+        this.averagePercentage = averagePercentage;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public BandPayrollSummary() {}
+
+    // toString
+
+    /**
+     * Returns a string representation of the BandPayrollSummary object.
+     * @return a string representation of the BandPayrollSummary object.
+     */
+    @Override
+    public String toString() {
+        return "BandPayrollSummary{" +
+                "bandId='" + bandId + '\'' +
+                ", headcount=" + headcount +
+                ", currentPayroll=" + getCurrentPayroll() +
+                ", appraisedPayroll=" + getAppraisedPayroll() +
+                ", averagePercentage=" + averagePercentage +
+                '}';
+    }
+}
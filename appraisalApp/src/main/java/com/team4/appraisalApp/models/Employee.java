@@ -1,8 +1,11 @@
 package com.team4.appraisalApp.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * The Employee class represents the details of an employee.
  * It includes the employee ID, name, review, band, and salary.
+ * The salary is held in fixed-point thousandths (see {@link Money}) and read and written as a decimal number in JSON.
  */
 public class Employee {
     // POJO data members
@@ -10,7 +13,7 @@ public class Employee {
     private String empName;
     private int review;
     private String band;
-    private double salary;
+    private long salaryMillis;
 
     // Getters and Setters
 
@@ -83,15 +86,33 @@ public class Employee {
      * @return the employee salary.
      */
     public double getSalary() {
-        return salary;
+        return Money.toDouble(salaryMillis);
     }
 
     /**
-     * Sets the employee salary.
+     * Sets the employee salary, rounded to thousandths.
      * @param salary the employee salary.
      */
     public void setSalary(double salary) {
-        this.salary = salary;
+        this.salaryMillis = Money.fromDouble(salary);
+    }
+
+    /**
+     * Gets the employee salary in thousandths.
+     * @return the employee salary in millis.
+     */
+    @JsonIgnore
+    public long getSalaryMillis() {
+        return salaryMillis;
+    }
+
+    /**
+     * Sets the employee salary in thousandths.
+     * @param salaryMillis the employee salary in millis.
+     */
+    @JsonIgnore
+    public void setSalaryMillis(long salaryMillis) {
+        this.salaryMillis = salaryMillis;
     }
 
     // Constructors
@@ -102,14 +123,33 @@ public class Employee {
      * @param empName the employee name.
      * @param review the employee review.
      * @param band the employee band.
-     * @param salary the employee salary.
+     * @param salary the employee salary; rounded to thousandths.
      */
     public Employee(int empId, String empName, int review, String band, double salary) {
         this.empId = empId;
         this.empName = empName;
         this.review = review;
         this.band = band;
-        this.salary = salary;
+        this.salaryMillis = Money.fromDouble(salary);
+    }
+
+    /**
+     * Creates an Employee with a salary given in thousandths, as read from the database.
+     * @param empId the employee ID.
+     * @param empName the employee name.
+     * @param review the employee review.
+     * @param band the employee band.
+     * @param salaryMillis the employee salary in millis.
+     * @return the employee.
+     */
+    public static Employee ofMillis(int empId, String empName, int review, String band, long salaryMillis) {
+        Employee employee = new Employee();
+        employee.empId = empId;
+        employee.empName = empName;
+        employee.review = review;
+        employee.band = band;
+        employee.salaryMillis = salaryMillis;
+        return employee;
     }
 
     /**
@@ -130,7 +170,7 @@ public class Employee {
                 ", empName='" + empName + '\'' +
                 ", review=" + review +
                 ", band='" + band + '\'' +
-                ", salary=" + salary +
+                ", salary=" + Money.toDecimal(salaryMillis) +
                 '}';
     }
 }
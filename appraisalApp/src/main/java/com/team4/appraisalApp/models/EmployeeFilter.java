@@ -0,0 +1,123 @@
+package com.team4.appraisalApp.models;
+
+/**
+ * The EmployeeFilter class represents optional server-side filters over employee-keyed tables.
+ * Every criterion is optional; a null value means the criterion is not applied.
+ */
+public class EmployeeFilter {
+    private String band;
+    private Integer review;
+    private Double minSalary;
+    private Double maxSalary;
+
+    // Getters and Setters
+
+    /**
+     * Gets the band ID to filter by.
+     * @return the band ID, or null if not filtered by band.
+     */
+    public String getBand() {
+        return band;
+    }
+
+    /**
+     * Sets the band ID to filter by.
+     * @param band the band ID, or null to not filter by band.
+     */
+    public void setBand(String band) {
+        this.band = band;
+    }
+
+    /**
+     * Gets the review ID to filter by.
+     * @return the review ID, or null if not filtered by review.
+     */
+    public Integer getReview() {
+        return review;
+    }
+
+    /**
+     * Sets the review ID to filter by.
+     * @param review the review ID, or null to not filter by review.
+     */
+    public void setReview(Integer review) {
+        this.review = review;
+    }
+
+    /**
+     * Gets the inclusive lower salary bound.
+     * @return the lower salary bound, or null if unbounded.
+     */
+    public Double getMinSalary() {
+        return minSalary;
+    }
+
+    /**
+     * Sets the inclusive lower salary bound.
+     * @param minSalary the lower salary bound, or null for unbounded.
+     */
+    public void setMinSalary(Double minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    /**
+     * Gets the inclusive upper salary bound.
+     * @return the upper salary bound, or null if unbounded.
+     */
+    public Double getMaxSalary() {
+        return maxSalary;
+    }
+
+    /**
+     * Sets the inclusive upper salary bound.
+     * @param maxSalary the upper salary bound, or null for unbounded.
+     */
+    public void setMaxSalary(Double maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    /**
+     * Checks whether no criterion is set.
+     * @return true if the filter matches every row.
+     */
+    public boolean isEmpty() {
+        return band == null && review == null && minSalary == null && maxSalary == null;
+    }
+
+    // Constructors
+
+    /**
+     * Constructs an EmployeeFilter with the specified criteria.
+     * @param band the band ID, or null.
+     * @param review the review ID, or null.
+     * @param minSalary the inclusive lower salary bound, or null.
+     * @param maxSalary the inclusive upper salary bound, or null.
+     */
+    public EmployeeFilter(String band, Integer review, Double minSalary, Double maxSalary) {
+        this.band = band;
+        this.review = review;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public EmployeeFilter() {}
+
+    // toString
+
+    /**
+     * Returns a string representation of the EmployeeFilter object.
+     * @return a string representation of the EmployeeFilter object.
+     */
+    @Override
+    public String toString() {
+        return "EmployeeFilter{" +
+                "band='" + band + '\'' +
+                ", review=" + review +
+                ", minSalary=" + minSalary +
+                ", maxSalary=" + maxSalary +
+                '}';
+    }
+}
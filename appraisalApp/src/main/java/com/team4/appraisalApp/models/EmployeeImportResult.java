@@ -0,0 +1,117 @@
+package com.team4.appraisalApp.models;
+
+import java.util.List;
+
+/**
+ * The EmployeeImportResult class represents the outcome of a bulk employee import.
+ * It includes the number of rows received and imported, the per-row rejections, and the elapsed time.
+ */
+public class EmployeeImportResult {
+    private long rowsReceived;
+    private long rowsImported;
+    private List<ImportRejection> rejections;
+    private long elapsedMillis;
+
+    // Getters and Setters
+
+    /**
+     * Gets the number of data rows read from the input.
+     * @return the number of rows received.
+     */
+    public long getRowsReceived() {
+        return rowsReceived;
+    }
+
+    /**
+     * Sets the number of data rows read from the input.
+     * @param rowsReceived the number of rows received.
+     */
+    public void setRowsReceived(long rowsReceived) {
+        this.rowsReceived = rowsReceived;
+    }
+
+    /**
+     * Gets the number of employees inserted.
+     * @return the number of rows imported.
+     */
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    /**
+     * Sets the number of employees inserted.
+     * @param rowsImported the number of rows imported.
+     */
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    /**
+     * Gets the rows that were not imported, in input order.
+     * @return the rejected rows.
+     */
+    public List<ImportRejection> getRejections() {
+        return rejections;
+    }
+
+    /**
+     * Sets the rows that were not imported.
+     * @param rejections the rejected rows.
+     */
+    public void setRejections(List<ImportRejection> rejections) {
+        this.rejections = rejections;
+    }
+
+    /**
+     * Gets the elapsed time of the import in milliseconds.
+     * @return the elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Sets the elapsed time of the import in milliseconds.
+     * @param elapsedMillis the elapsed time in milliseconds.
+     */
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Constructors
+
+    /**
+     * Constructs an EmployeeImportResult with the specified details.
+     * @param rowsReceived the number of rows received.
+     * @param rowsImported the number of rows imported.
+     * @param rejections the rejected rows.
+     * @param elapsedMillis the elapsed time in milliseconds.
+     */
+    public EmployeeImportResult(long rowsReceived, long rowsImported, List<ImportRejection> rejections, long elapsedMillis) {
+        this.rowsReceived = rowsReceived;
+        this.rowsImported = rowsImported;
+        this.rejections = rejections;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public EmployeeImportResult() {}
+
+    // toString
+
+    /**
+     * Returns a string representation of the EmployeeImportResult object.
+     * @return a string representation of the EmployeeImportResult object.
+     */
+    @Override
+    public String toString() {
+        return "EmployeeImportResult{" +
+                "rowsReceived=" + rowsReceived +
+                ", rowsImported=" + rowsImported +
+                ", rejections=" + rejections +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,95 @@
+package com.team4.appraisalApp.models;
+
+/**
+ * The ImportRejection class represents one input row that a bulk employee import did not load.
+ * It includes the row number within the input, the employee ID on that row, and the reason for the rejection.
+ */
+public class ImportRejection {
+    private long row;
+    private Integer empId;
+    private String reason;
+
+    // Getters and Setters
+
+    /**
+     * Gets the 1-based row number within the input, not counting a CSV header.
+     * @return the row number.
+     */
+    public long getRow() {
+        return row;
+    }
+
+    /**
+     * Sets the 1-based row number within the input.
+     * @param row the row number.
+     */
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    /**
+     * Gets the employee ID on the rejected row.
+     * @return the employee ID, or null if the row had none.
+     */
+    public Integer getEmpId() {
+        return empId;
+    }
+
+    /**
+     * Sets the employee ID on the rejected row.
+     * @param empId the employee ID, or null if the row had none.
+     */
+    public void setEmpId(Integer empId) {
+        this.empId = empId;
+    }
+
+    /**
+     * Gets the reason the row was rejected.
+     * @return the rejection reason.
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Sets the reason the row was rejected.
+     * @param reason the rejection reason.
+     */
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    // Constructors
+
+    /**
+     * Constructs an ImportRejection with the specified details.
+     * @param row the 1-based row number within the input.
+     * @param empId the employee ID on the row, or null.
+     * @param reason the rejection reason.
+     */
+    public ImportRejection(long row, Integer empId, String reason) {
+        this.row = row;
+        this.empId = empId;
+        this.reason = reason;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public ImportRejection() {}
+
+    // toString
+
+    /**
+     * Returns a string representation of the ImportRejection object.
+     * @return a string representation of the ImportRejection object.
+     */
+    @Override
+    public String toString() {
+        return "ImportRejection{" +
+                "row=" + row +
+                ", empId=" + empId +
+                ", reason='" + reason + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,79 @@
+package com.team4.appraisalApp.models;
+
+import java.util.List;
+
+/**
+ * The KeysetPage class represents one page of a keyset-paginated list.
+ * It includes the items on the page and the cursor token for the next page.
+ *
+ * @param <T> the type of the items on the page.
+ */
+public class KeysetPage<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    // Getters and Setters
+
+    /**
+     * Gets the items on this page.
+     * @return the items on this page.
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Sets the items on this page.
+     * @param items the items on this page.
+     */
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    /**
+     * Gets the cursor token for the next page.
+     * @return the cursor token, or null if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Sets the cursor token for the next page.
+     * @param nextCursor the cursor token, or null if this is the last page.
+     */
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    // Constructors
+
+    /**
+     * Constructs a KeysetPage with the specified details.
+     * @param items the items on this page.
+     * @param nextCursor the cursor token for the next page, or null if this is the last page.
+     */
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public KeysetPage() {}
+
+    // toString
+
+    /**
+     * Returns a string representation of the KeysetPage object.
+     * @return a string representation of the KeysetPage object.
+     */
+    @Override
+    public String toString() {
+        return "KeysetPage{" +
+                "items=" + items +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,116 @@
+package com.team4.appraisalApp.models;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The Money class converts between salary amounts and their fixed-point representation.
+ * <p>
+ * Salaries are stored as {@code NUMERIC(15,3)}, so in memory they are held as a {@code long} count of thousandths
+ * ("millis"): 1234.5 is 1234500. Sums of millis are exact and need no allocation. Amounts are rounded to thousandths
+ * half away from zero, as PostgreSQL rounds when it stores a value into a {@code NUMERIC(15,3)} column. Converting
+ * millis to a double is exact in the sense that the double's shortest decimal form is the stored amount, for any
+ * amount the column can hold, so JSON keeps showing salaries as plain numbers.
+ */
+public final class Money {
+
+    /** The number of millis in one unit. */
+    public static final long SCALE = 1000;
+
+    private static final int SCALE_DIGITS = 3;
+
+    private Money() {
+    }
+
+    /**
+     * Converts an amount to millis, rounding to thousandths half away from zero.
+     * Amounts that are already whole thousandths, such as every amount read from the database, take a fast path
+     * that does not allocate.
+     *
+     * @param amount the amount.
+     * @return the amount in millis.
+     * @throws IllegalArgumentException if the amount is not finite.
+     * @throws ArithmeticException      if the amount does not fit in a long count of millis.
+     */
+    public static long fromDouble(double amount) {
+        if (!Double.isFinite(amount)) {
+            throw new IllegalArgumentException("Amount is not finite: " + amount);
+        }
+        long millis = Math.round(amount * SCALE);
+        if (toDouble(millis) == amount) {
+            return millis;
+        }
+        // The decimal the double was written as, e.g. 0.0005 rather than its binary expansion, is what gets rounded
+        return BigDecimal.valueOf(amount).setScale(SCALE_DIGITS, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts a decimal amount, such as a {@code NUMERIC} column value, to millis.
+     *
+     * @param amount the amount; may be null.
+     * @return the amount in millis, or 0 if it is null, as {@code ResultSet.getDouble} reads SQL NULL.
+     * @throws ArithmeticException if the amount does not fit in a long count of millis.
+     */
+    public static long fromDecimal(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(SCALE_DIGITS, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts millis to a double.
+     *
+     * @param millis the amount in millis.
+     * @return the amount.
+     */
+    public static double toDouble(long millis) {
+        return millis / (double) SCALE;
+    }
+
+    /**
+     * Converts millis to a decimal with three fraction digits, for binding to a {@code NUMERIC} column.
+     *
+     * @param millis the amount in millis.
+     * @return the amount.
+     */
+    public static BigDecimal toDecimal(long millis) {
+        return BigDecimal.valueOf(millis, SCALE_DIGITS);
+    }
+
+    /**
+     * Appends millis as a plain decimal with three fraction digits, e.g. {@code -1234.500}, without allocating.
+     *
+     * @param buffer the buffer to append to.
+     * @param millis the amount in millis.
+     * @return {@code buffer}.
+     */
+    public static StringBuilder appendTo(StringBuilder buffer, long millis) {
+        if (millis < 0) {
+            buffer.append('-');
+        }
+        long units = Math.abs(millis / SCALE);
+        int fraction = (int) Math.abs(millis % SCALE);
+        buffer.append(units).append('.');
+        if (fraction < 100) {
+            buffer.append('0');
+        }
+        if (fraction < 10) {
+            buffer.append('0');
+        }
+        return buffer.append(fraction);
+    }
+
+    /**
+     * Rounds a number of millis computed in floating point to a whole number of millis, half away from zero.
+     * The result is exact for the double given: the fraction is split off without rounding and compared with
+     * one half.
+     *
+     * @param millis the amount in millis; must be finite and smaller in magnitude than 2^52.
+     * @return the rounded amount in millis.
+     */
+    public static long round(double millis) {
+        long whole = (long) millis;
+        return whole + (long) (2 * (millis - whole));
+    }
+}
@@ -0,0 +1,75 @@
+package com.team4.appraisalApp.models;
+
+/**
+ * The MultiplierUpdateResult class represents the outcome of a band or review multiplier change.
+ * It includes the number of appraisal rows recomputed with the new multiplier and the elapsed time of the update.
+ */
+public class MultiplierUpdateResult {
+    private int appraisalsRecomputed;
+    private long elapsedMillis;
+
+    // Getters and Setters
+
+    /**
+     * Gets the number of appraisal rows recomputed.
+     * @return the number of appraisals recomputed.
+     */
+    public int getAppraisalsRecomputed() {
+        return appraisalsRecomputed;
+    }
+
+    /**
+     * Sets the number of appraisal rows recomputed.
+     * @param appraisalsRecomputed the number of appraisals recomputed.
+     */
+    public void setAppraisalsRecomputed(int appraisalsRecomputed) {
+        this.appraisalsRecomputed = appraisalsRecomputed;
+    }
+
+    /**
+     * Gets the elapsed time of the update in milliseconds.
+     * @return the elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Sets the elapsed time of the update in milliseconds.
+     * @param elapsedMillis the elapsed time in milliseconds.
+     */
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Constructors
+
+    /**
+     * Constructs an MultiplierUpdateResult with the specified details.
+     * @param appraisalsRecomputed the number of appraisals recomputed.
+     * @param elapsedMillis the elapsed time in milliseconds.
+     */
+    public MultiplierUpdateResult(int appraisalsRecomputed, long elapsedMillis) {
+        this.appraisalsRecomputed = appraisalsRecomputed;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public MultiplierUpdateResult() {}
+
+    // toString
+
+    /**
+     * Returns a string representation of the MultiplierUpdateResult object.
+     * @return a string representation of the MultiplierUpdateResult object.
+     */
+    @Override
+    public String toString() {
+        return "MultiplierUpdateResult{" +
+                "appraisalsRecomputed=" + appraisalsRecomputed +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,137 @@
+package com.team4.appraisalApp.models;
+
+/**
+ * The PayrollGroup class represents simulated payroll totals for one band or one review.
+ * It includes the group key, the headcount, the current payroll, and the appraised payroll under the stored and
+ * the proposed multipliers.
+ */
+public class PayrollGroup {
+    private String key;
+    private long headcount;
+    private double currentPayroll;
+    private double baselineAppraisedPayroll;
+    private double simulatedAppraisedPayroll;
+
+    // Getters and Setters
+
+    /**
+     * Gets the band ID or review ID this group covers.
+     * @return the group key.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Sets the band ID or review ID this group covers.
+     * @param key the group key.
+     */
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Gets the number of employees in the group.
+     * @return the headcount.
+     */
+    public long getHeadcount() {
+        return headcount;
+    }
+
+    /**
+     * Sets the number of employees in the group.
+     * @param headcount the headcount.
+     */
+    public void setHeadcount(long headcount) {
+        this.headcount = headcount;
+    }
+
+    /**
+     * Gets the sum of current salaries in the group.
+     * @return the current payroll.
+     */
+    public double getCurrentPayroll() {
+        return currentPayroll;
+    }
+
+    /**
+     * Sets the sum of current salaries in the group.
+     * @param currentPayroll the current payroll.
+     */
+    public void setCurrentPayroll(double currentPayroll) {
+        this.currentPayroll = currentPayroll;
+    }
+
+    /**
+     * Gets the appraised payroll under the stored multipliers.
+     * @return the baseline appraised payroll.
+     */
+    public double getBaselineAppraisedPayroll() {
+        return baselineAppraisedPayroll;
+    }
+
+    /**
+     * Sets the appraised payroll under the stored multipliers.
+     * @param baselineAppraisedPayroll the baseline appraised payroll.
+     */
+    public void setBaselineAppraisedPayroll(double baselineAppraisedPayroll) {
+        this.baselineAppraisedPayroll = baselineAppraisedPayroll;
+    }
+
+    /**
+     * Gets the appraised payroll under the proposed multipliers.
+     * @return the simulated appraised payroll.
+     */
+    public double getSimulatedAppraisedPayroll() {
+        return simulatedAppraisedPayroll;
+    }
+
+    /**
+     * Sets the appraised payroll under the proposed multipliers.
+     * @param simulatedAppraisedPayroll the simulated appraised payroll.
+     */
+    public void setSimulatedAppraisedPayroll(double simulatedAppraisedPayroll) {
+        this.simulatedAppraisedPayroll = simulatedAppraisedPayroll;
+    }
+
+    // Constructors
+
+    /**
+     * Constructs a PayrollGroup with the specified details.
+     * @param key the band ID or review ID.
+     * @param headcount the number of employees.
+     * @param currentPayroll the current payroll.
+     * @param baselineAppraisedPayroll the appraised payroll under the stored multipliers.
+     * @param simulatedAppraisedPayroll the appraised payroll under the proposed multipliers.
+     */
+    public PayrollGroup(String key, long headcount, double currentPayroll, double baselineAppraisedPayroll,
+                        double simulatedAppraisedPayroll) {
+        this.key = key;
+        this.headcount = headcount;
+        this.currentPayroll = currentPayroll;
+        this.baselineAppraisedPayroll = baselineAppraisedPayroll;
+        this.simulatedAppraisedPayroll = simulatedAppraisedPayroll;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public PayrollGroup() {}
+
+    // toString
+
+    /**
+     * Returns a string representation of the PayrollGroup object.
+     * @return a string representation of the PayrollGroup object.
+     */
+    @Override
+    public String toString() {
+        return "PayrollGroup{" +
+                "key='" + key + '\'' +
+                ", headcount=" + headcount +
+                ", currentPayroll=" + currentPayroll +
+                ", baselineAppraisedPayroll=" + baselineAppraisedPayroll +
+                ", simulatedAppraisedPayroll=" + simulatedAppraisedPayroll +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+package com.team4.appraisalApp.models;
+
+import java.util.List;
+
+/**
+ * The PayrollSummaryRebuildResult class represents the outcome of rebuilding the per-band payroll summary.
+ * It includes the number of bands whose maintained totals differed from the rebuilt ones, the rebuilt totals,
+ * and the elapsed time of the rebuild.
+ */
+public class PayrollSummaryRebuildResult {
+    private int bandsCorrected;
+    private List<BandPayrollSummary> bands;
+    private long elapsedMillis;
+
+    // Getters and Setters
+
+    /**
+     * Gets the number of bands whose maintained totals differed from the recomputed ones.
+     * @return the number of bands corrected.
+     */
+    public int getBandsCorrected() {
+        return bandsCorrected;
+    }
+
+    /**
+     * Sets the number of bands whose maintained totals differed from the recomputed ones.
+     * @param bandsCorrected the number of bands corrected.
+     */
+    public void setBandsCorrected(int bandsCorrected) {
+        this.bandsCorrected = bandsCorrected;
+    }
+
+    /**
+     * Gets the rebuilt per-band totals.
+     * @return the rebuilt totals.
+     */
+    public List<BandPayrollSummary> getBands() {
+        return bands;
+    }
+
+    /**
+     * Sets the rebuilt per-band totals.
+     * @param bands the rebuilt totals.
+     */
+    public void setBands(List<BandPayrollSummary> bands) {
+        this.bands = bands;
+    }
+
+    /**
+     * Gets the elapsed time of the rebuild in milliseconds.
+     * @return the elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Sets the elapsed time of the rebuild in milliseconds.
+     * @param elapsedMillis the elapsed time in milliseconds.
+     */
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Constructors
+
+    /**
+     * Constructs a PayrollSummaryRebuildResult with the specified details.
+     * @param bandsCorrected the number of bands corrected.
+     * @param bands the rebuilt totals.
+     * @param elapsedMillis the elapsed time in milliseconds.
+     */
+    public PayrollSummaryRebuildResult(int bandsCorrected, List<BandPayrollSummary> bands, long elapsedMillis) {
+        this.bandsCorrected = bandsCorrected;
+        this.bands = bands;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public PayrollSummaryRebuildResult() {}
+
+    // toString
+
+    /**
+     * Returns a string representation of the PayrollSummaryRebuildResult object.
+     * @return a string representation of the PayrollSummaryRebuildResult object.
+     */
+    @Override
+    public String toString() {
+        return "PayrollSummaryRebuildResult{" +
+                "bandsCorrected=" + bandsCorrected +
+                ", bands=" + bands +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,78 @@
+package com.team4.appraisalApp.models;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The SimulationRequest class represents proposed band and review multipliers for a what-if appraisal simulation.
+ * Bands and reviews that are not listed keep their stored multiplier.
+ */
+public class SimulationRequest {
+    private Map<String, Double> bandMultipliers = new HashMap<>();
+    private Map<Integer, Double> reviewMultipliers = new HashMap<>();
+
+    // Getters and Setters
+
+    /**
+     * Gets the proposed band multipliers keyed by band ID.
+     * @return the proposed band multipliers.
+     */
+    public Map<String, Double> getBandMultipliers() {
+        return bandMultipliers;
+    }
+
+    /**
+     * Sets the proposed band multipliers keyed by band ID.
+     * @param bandMultipliers the proposed band multipliers.
+     */
+    public void setBandMultipliers(Map<String, Double> bandMultipliers) {
+        this.bandMultipliers = bandMultipliers == null ? new HashMap<>() : bandMultipliers;
+    }
+
+    /**
+     * Gets the proposed review multipliers keyed by review ID.
+     * @return the proposed review multipliers.
+     */
+    public Map<Integer, Double> getReviewMultipliers() {
+        return reviewMultipliers;
+    }
+
+    /**
+     * Sets the proposed review multipliers keyed by review ID.
+     * @param reviewMultipliers the proposed review multipliers.
+     */
+    public void setReviewMultipliers(Map<Integer, Double> reviewMultipliers) {
+        this.reviewMultipliers = reviewMultipliers == null ? new HashMap<>() : reviewMultipliers;
+    }
+
+    // Constructors
+
+    /**
+     * Constructs a SimulationRequest with the specified multipliers.
+     * @param bandMultipliers the proposed band multipliers.
+     * @param reviewMultipliers the proposed review multipliers.
+     */
+    public SimulationRequest(Map<String, Double> bandMultipliers, Map<Integer, Double> reviewMultipliers) {
+        setBandMultipliers(bandMultipliers);
+        setReviewMultipliers(reviewMultipliers);
+    }
+
+    /**
+     * Default constructor.
+     */
+    public SimulationRequest() {}
+
+    // toString
+
+    /**
+     * Returns a string representation of the SimulationRequest object.
+     * @return a string representation of the SimulationRequest object.
+     */
+    @Override
+    public String toString() {
+        return "SimulationRequest{" +
+                "bandMultipliers=" + bandMultipliers +
+                ", reviewMultipliers=" + reviewMultipliers +
+                '}';
+    }
+}
@@ -0,0 +1,139 @@
+package com.team4.appraisalApp.models;
+
+import java.util.List;
+
+/**
+ * The SimulationResult class represents the outcome of a what-if appraisal simulation.
+ * It includes the population totals under the stored and the proposed multipliers, the same totals grouped by
+ * band and by review, and the compute time.
+ */
+public class SimulationResult {
+    private PayrollGroup total;
+    private long skipped;
+    private List<PayrollGroup> byBand;
+    private List<PayrollGroup> byReview;
+    private long elapsedMicros;
+
+    // Getters and Setters
+
+    /**
+     * Gets the totals over the whole population; the key is "total".
+     * @return the population totals.
+     */
+    public PayrollGroup getTotal() {
+        return total;
+    }
+
+    /**
+     * Sets the totals over the whole population.
+     * @param total the population totals.
+     */
+    public void setTotal(PayrollGroup total) {
+        this.total = total;
+    }
+
+    /**
+     * Gets the number of employees skipped because their band or review has no multiplier.
+     * @return the number of skipped employees.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Sets the number of employees skipped.
+     * @param skipped the number of skipped employees.
+     */
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    /**
+     * Gets the totals grouped by band.
+     * @return one group per band.
+     */
+    public List<PayrollGroup> getByBand() {
+        return byBand;
+    }
+
+    /**
+     * Sets the totals grouped by band.
+     * @param byBand one group per band.
+     */
+    public void setByBand(List<PayrollGroup> byBand) {
+        this.byBand = byBand;
+    }
+
+    /**
+     * Gets the totals grouped by review.
+     * @return one group per review.
+     */
+    public List<PayrollGroup> getByReview() {
+        return byReview;
+    }
+
+    /**
+     * Sets the totals grouped by review.
+     * @param byReview one group per review.
+     */
+    public void setByReview(List<PayrollGroup> byReview) {
+        this.byReview = byReview;
+    }
+
+    /**
+     * Gets the time spent computing, excluding any reload of the employee columns, in microseconds.
+     * @return the elapsed time in microseconds.
+     */
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+
+    /**
+     * Sets the time spent computing in microseconds.
+     * @param elapsedMicros the elapsed time in microseconds.
+     */
+    public void setElapsedMicros(long elapsedMicros) {
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    // Constructors
+
+    /**
+     * Constructs a SimulationResult with the specified details.
+     * @param total the population totals.
+     * @param skipped the number of skipped employees.
+     * @param byBand the totals grouped by band.
+     * @param byReview the totals grouped by review.
+     * @param elapsedMicros the compute time in microseconds.
+     */
+    public SimulationResult(PayrollGroup total, long skipped, List<PayrollGroup> byBand, List<PayrollGroup> byReview,
+                            long elapsedMicros) {
+        this.total = total;
+        this.skipped = skipped;
+        this.byBand = byBand;
+        this.byReview = byReview;
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public SimulationResult() {}
+
+    // toString
+
+    /**
+     * Returns a string representation of the SimulationResult object.
+     * @return a string representation of the SimulationResult object.
+     */
+    @Override
+    public String toString() {
+        return "SimulationResult{" +
+                "total=" + total +
+                ", skipped=" + skipped +
+                ", byBand=" + byBand +
+                ", byReview=" + byReview +
+                ", elapsedMicros=" + elapsedMicros +
+                '}';
+    }
+}
@@ -1,10 +1,16 @@
 package com.team4.appraisalApp.repository;
 
 import com.team4.appraisalApp.models.Appraisal;
+import com.team4.appraisalApp.models.AppraisalCycleResult;
+import com.team4.appraisalApp.models.BandPayrollSummary;
 import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.EmployeeFilter;
+import com.team4.appraisalApp.models.PayrollSummaryRebuildResult;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * The IAppraisalRepo interface defines the methods for interacting with appraisals.
@@ -24,10 +30,26 @@ public interface IAppraisalRepo {
      */
     public List<Appraisal> getAllAppraisals();
 
+    /**
+     * Streams all appraisals to the given consumer, one row at a time, through a forward-only cursor.
+     * @param action the consumer invoked for each appraisal as soon as it is read.
+     */
+    public void streamAllAppraisals(Consumer<Appraisal> action);
+
+    /**
+     * Retrieves one page of appraisals matching the filter, ordered by employee ID.
+     * @param filter the filter to apply; may be null.
+     * @param afterEmpId the employee ID after which the page starts, or null for the first page.
+     * @param limit the maximum number of appraisals to return.
+     * @return the appraisals on the page.
+     */
+    public List<Appraisal> findAppraisals(EmployeeFilter filter, Integer afterEmpId, int limit);
+
     /**
      * Creates a new appraisal for an employee.
      * @param employee the employee for whom the appraisal is being created.
-     * @return the number of rows affected by the insert operation.
+     * @return the number of rows affected by the insert operation; 0 if the appraisal already exists.
+     * @throws IllegalArgumentException if the band ID or review ID does not exist.
      */
     public int createAppraisal(Employee employee);
 
@@ -35,6 +57,7 @@ public interface IAppraisalRepo {
      * Updates existing appraisal for an employee
      * @param employee the employee whose data got changed
      * @return the number of rows affected by the update operation
+     * @throws IllegalArgumentException if the band ID or review ID does not exist.
      */
     public int updateAppraisal(Employee employee);
 
@@ -44,4 +67,39 @@ public interface IAppraisalRepo {
      * @return
      */
     public int deleteAppraisal(int empId);
+
+    /**
+     * Computes and upserts appraisals for every employee matching the filter in a single set-based statement.
+     * @param filter the employees to include; an empty filter includes every employee.
+     * @return the number of appraisal rows written and the elapsed time.
+     */
+    public AppraisalCycleResult runAppraisalCycle(EmployeeFilter filter);
+
+    /**
+     * Recomputes the existing appraisals of the given employees from their current employee rows.
+     * @param empIds the employee IDs; employees without an appraisal are skipped.
+     * @return the number of appraisals recomputed.
+     */
+    public int recomputeAppraisals(List<Integer> empIds);
+
+    /**
+     * Retrieves the maintained payroll totals per band.
+     * @return one summary per band with at least one appraisal, in band ID order.
+     */
+    public List<BandPayrollSummary> getBandPayrollSummary();
+
+    /**
+     * Rebuilds the per-band payroll totals from the appraisal table.
+     * @return the number of bands whose maintained totals were wrong, and the rebuilt totals.
+     */
+    public PayrollSummaryRebuildResult rebuildBandPayrollSummary();
+
+    /**
+     * Writes the appraisals matching the filter to the output stream as CSV with a header row.
+     * @param filter the filter to apply; may be null.
+     * @param out the stream the CSV is written to.
+     * @return the number of rows written.
+     * @throws IllegalArgumentException if a filter value is invalid.
+     */
+    public long exportAppraisalsCsv(EmployeeFilter filter, OutputStream out);
 }
@@ -1,6 +1,7 @@
 package com.team4.appraisalApp.repository;
 
 import com.team4.appraisalApp.models.Band;
+import com.team4.appraisalApp.models.MultiplierUpdateResult;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,4 +23,12 @@ public interface IBandRepo {
      * @return a list of all bands.
      */
     public List<Band> getAllBands();
+
+    /**
+     * Changes a band's multiplier and recomputes the appraisals of employees in that band.
+     * @param bandId the band ID.
+     * @param bandMul the new band multiplier.
+     * @return an Optional containing the number of appraisals recomputed, or an empty Optional if the band does not exist.
+     */
+    public Optional<MultiplierUpdateResult> updateBandMultiplier(String bandId, double bandMul);
 }
@@ -1,9 +1,14 @@
 package com.team4.appraisalApp.repository;
 
 import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.EmployeeFilter;
+import com.team4.appraisalApp.models.EmployeeImportResult;
 
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * The IEmployeeRepo interface defines the methods for interacting with employees.
@@ -24,24 +29,65 @@ public interface IEmployeeRepo {
     public List<Employee> getAllEmployees();
 
     /**
-     * Deletes an employee by employee ID.
+     * Streams all employees to the given consumer, one row at a time, through a forward-only cursor.
+     * @param action the consumer invoked for each employee as soon as it is read.
+     */
+    public void streamAllEmployees(Consumer<Employee> action);
+
+    /**
+     * Retrieves one page of employees matching the filter, ordered by employee ID.
+     * @param filter the filter to apply; may be null.
+     * @param afterEmpId the employee ID after which the page starts, or null for the first page.
+     * @param limit the maximum number of employees to return.
+     * @return the employees on the page.
+     */
+    public List<Employee> findEmployees(EmployeeFilter filter, Integer afterEmpId, int limit);
+
+    /**
+     * Deletes an employee, together with their appraisal, by employee ID.
      * @param empId the employee ID.
-     * @return the number of rows affected by the delete operation.
+     * @return an Optional containing the deleted employee if found, otherwise an empty Optional.
      */
-    public int deleteEmployeeById(int empId);
+    public Optional<Employee> deleteEmployeeById(int empId);
+
+    /**
+     * Deletes several employees, together with their appraisals, by employee ID.
+     * @param empIds the employee IDs; IDs that do not exist are ignored.
+     * @return the deleted employees.
+     */
+    public List<Employee> deleteEmployeesByIds(List<Integer> empIds);
 
     /**
      * Updates an existing employee.
      * @param employee the employee to be updated.
-     * @return the number of rows affected by the update operation.
+     * @return an Optional containing the employee as stored if found, otherwise an empty Optional.
+     * @throws IllegalArgumentException if the band ID or review ID does not exist.
      */
-    public int updateEmployee(Employee employee);
+    public Optional<Employee> updateEmployee(Employee employee);
 
     /**
      * Adds a new employee.
      * @param employee the employee to be added.
-     * @return the number of rows affected by the insert operation.
+     * @return the number of rows affected by the insert operation; 0 if the employee already exists.
+     * @throws IllegalArgumentException if the band ID or review ID does not exist.
      */
     public int addEmployee(Employee employee);
 
+    /**
+     * Bulk imports employees from CSV with the columns emp_id, emp_name, emp_review, emp_band, emp_salary.
+     * @param csv the CSV input.
+     * @param header whether the first line is a header to skip.
+     * @return the number of rows received and imported, and the per-row rejections.
+     * @throws IllegalArgumentException if the input cannot be parsed.
+     */
+    public EmployeeImportResult importEmployeesCsv(InputStream csv, boolean header);
+
+    /**
+     * Bulk imports employees from an iterator, for example one reading NDJSON.
+     * @param employees the employees to import, in input order.
+     * @return the number of rows received and imported, and the per-row rejections.
+     * @throws IllegalArgumentException if the input cannot be parsed.
+     */
+    public EmployeeImportResult importEmployees(Iterator<Employee> employees);
+
 }
@@ -0,0 +1,42 @@
+package com.team4.appraisalApp.repository;
+
+import com.team4.appraisalApp.models.Appraisal;
+import com.team4.appraisalApp.models.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The IReactiveAppraisalRepo interface defines the non-blocking methods for interacting with appraisals, used by the
+ * reactive API variant.
+ */
+public interface IReactiveAppraisalRepo {
+
+    /**
+     * Retrieves an appraisal by employee ID.
+     * @param empId the employee ID.
+     * @return a Mono emitting the appraisal, or completing empty if the employee has no appraisal.
+     */
+    public Mono<Appraisal> getAppraisal(int empId);
+
+    /**
+     * Streams all appraisals, fetching further rows only as the subscriber requests them.
+     * @return a Flux of all appraisals.
+     */
+    public Flux<Appraisal> streamAllAppraisals();
+
+    /**
+     * Creates an appraisal for an employee.
+     * @param employee the employee for whom the appraisal is being created.
+     * @return a Mono emitting the number of rows inserted; 0 if the appraisal already exists. Signals an
+     * IllegalArgumentException if the band ID or review ID does not exist.
+     */
+    public Mono<Long> createAppraisal(Employee employee);
+
+    /**
+     * Updates an employee's appraisal.
+     * @param employee the employee's details.
+     * @return a Mono emitting the number of rows updated; 0 if the employee has no appraisal. Signals an
+     * IllegalArgumentException if the band ID or review ID does not exist.
+     */
+    public Mono<Long> updateAppraisal(Employee employee);
+}
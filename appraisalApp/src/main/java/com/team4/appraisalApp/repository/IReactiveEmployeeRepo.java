@@ -0,0 +1,48 @@
+package com.team4.appraisalApp.repository;
+
+import com.team4.appraisalApp.models.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The IReactiveEmployeeRepo interface defines the non-blocking methods for interacting with employees, used by the
+ * reactive API variant.
+ */
+public interface IReactiveEmployeeRepo {
+
+    /**
+     * Retrieves an employee by employee ID.
+     * @param empId the employee ID.
+     * @return a Mono emitting the employee, or completing empty if no employee has the ID.
+     */
+    public Mono<Employee> getEmployeeById(int empId);
+
+    /**
+     * Streams all employees, fetching further rows only as the subscriber requests them.
+     * @return a Flux of all employees.
+     */
+    public Flux<Employee> streamAllEmployees();
+
+    /**
+     * Updates an existing employee and recomputes their appraisal, if any.
+     * @param employee the employee with the updated details.
+     * @return a Mono emitting the employee as stored, or completing empty if no employee has the ID; signals an
+     * IllegalArgumentException if the band ID or review ID does not exist.
+     */
+    public Mono<Employee> updateEmployee(Employee employee);
+
+    /**
+     * Deletes an employee, together with their appraisal, by employee ID.
+     * @param empId the employee ID.
+     * @return a Mono emitting the deleted employee, or completing empty if no employee has the ID.
+     */
+    public Mono<Employee> deleteEmployeeById(int empId);
+
+    /**
+     * Adds a new employee.
+     * @param employee the employee to be added.
+     * @return a Mono emitting the number of rows inserted; 0 if an employee with the ID already exists. Signals an
+     * IllegalArgumentException if the band ID or review ID does not exist.
+     */
+    public Mono<Long> addEmployee(Employee employee);
+}
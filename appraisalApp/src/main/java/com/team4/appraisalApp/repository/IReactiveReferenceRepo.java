@@ -0,0 +1,24 @@
+package com.team4.appraisalApp.repository;
+
+import com.team4.appraisalApp.models.Band;
+import com.team4.appraisalApp.models.Review;
+import reactor.core.publisher.Flux;
+
+/**
+ * The IReactiveReferenceRepo interface defines the non-blocking methods for reading bands and reviews, used by the
+ * reactive API variant.
+ */
+public interface IReactiveReferenceRepo {
+
+    /**
+     * Streams all bands.
+     * @return a Flux of all bands.
+     */
+    public Flux<Band> streamAllBands();
+
+    /**
+     * Streams all reviews.
+     * @return a Flux of all reviews.
+     */
+    public Flux<Review> streamAllReviews();
+}
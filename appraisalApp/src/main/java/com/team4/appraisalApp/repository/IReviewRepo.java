@@ -1,5 +1,6 @@
 package com.team4.appraisalApp.repository;
 
+import com.team4.appraisalApp.models.MultiplierUpdateResult;
 import com.team4.appraisalApp.models.Review;
 
 import java.util.List;
@@ -22,4 +23,12 @@ public interface IReviewRepo {
      * @return a list of all reviews.
      */
     public List<Review> getAllReviews();
+
+    /**
+     * Changes a review's multiplier and recomputes the appraisals of employees with that review.
+     * @param revId the review ID.
+     * @param revMul the new review multiplier.
+     * @return an Optional containing the number of appraisals recomputed, or an empty Optional if the review does not exist.
+     */
+    public Optional<MultiplierUpdateResult> updateReviewMultiplier(int revId, double revMul);
 }
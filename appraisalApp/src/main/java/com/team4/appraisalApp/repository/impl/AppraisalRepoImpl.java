@@ -1,20 +1,38 @@
 package com.team4.appraisalApp.repository.impl;
 
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.cache.TableVersions.Table;
+import com.team4.appraisalApp.compute.AppraisalFormula;
+import com.team4.appraisalApp.datasource.ReplicaRead;
 import com.team4.appraisalApp.models.Appraisal;
-import com.team4.appraisalApp.models.Band;
+import com.team4.appraisalApp.models.AppraisalCycleResult;
+import com.team4.appraisalApp.models.BandPayrollSummary;
 import com.team4.appraisalApp.models.Employee;
-import com.team4.appraisalApp.models.Review;
+import com.team4.appraisalApp.models.EmployeeFilter;
+import com.team4.appraisalApp.models.Money;
+import com.team4.appraisalApp.models.PayrollSummaryRebuildResult;
 import com.team4.appraisalApp.repository.IAppraisalRepo;
-import com.team4.appraisalApp.repository.IBandRepo;
-import com.team4.appraisalApp.repository.IReviewRepo;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * The AppraisalRepoImpl class implements the IAppraisalRepo interface.
@@ -23,21 +41,51 @@ import java.util.Optional;
 @Repository
 public class AppraisalRepoImpl implements IAppraisalRepo {
 
+    // The multipliers are read FOR SHARE: the foreign key's KEY SHARE lock does not conflict with a multiplier
+    // update, so without it an appraisal written while a multiplier changes could commit with the old multiplier
+    // after the update's recompute had already passed over it, and stay stale
+    private static final String INPUTS_SQL =
+            "(SELECT ?::numeric AS salary, " +
+            "(SELECT rev_mul FROM public.review WHERE rev_id = ? FOR SHARE) * " +
+            "(SELECT band_mul FROM public.band WHERE band_id = ? FOR SHARE) AS pct) p";
+    private static final String SUMMARY_COLUMNS =
+            "emp_band, headcount, current_payroll, appraised_payroll, percentage_sum, percentage_count";
+    private static final String SUMMARY_FROM_APPRAISALS_SQL =
+            "SELECT emp_band, count(*) AS headcount, COALESCE(sum(current_salary), 0) AS current_payroll, " +
+            "COALESCE(sum(appraised_salary), 0) AS appraised_payroll, " +
+            "COALESCE(sum(appraisal_percentage::numeric), 0) AS percentage_sum, " +
+            "count(appraisal_percentage) AS percentage_count " +
+            "FROM public.appraisal WHERE emp_band IS NOT NULL GROUP BY emp_band";
+
     private final JdbcTemplate jdbcTemplate;
-    private final IBandRepo bandRepo;
-    private final IReviewRepo reviewRepo;
+    private final TableVersions tableVersions;
+    private final int streamFetchSize;
 
     /**
-     * Constructs an AppraisalRepoImpl with the specified JdbcTemplate, band repository, and review repository.
+     * Constructs an AppraisalRepoImpl with the specified JdbcTemplate.
      *
-     * @param jdbcTemplate the JdbcTemplate for database access.
-     * @param bandRepo     the band repository.
-     * @param reviewRepo   the review repository.
+     * @param jdbcTemplate    the JdbcTemplate for database access.
+     * @param tableVersions   the table version counters advanced by the write methods.
+     * @param streamFetchSize the number of rows fetched per cursor round trip when streaming.
      */
-    public AppraisalRepoImpl(JdbcTemplate jdbcTemplate, IBandRepo bandRepo, IReviewRepo reviewRepo) {
+    public AppraisalRepoImpl(JdbcTemplate jdbcTemplate, TableVersions tableVersions,
+                             @Value("${appraisal.stream.fetch-size:1000}") int streamFetchSize) {
         this.jdbcTemplate = jdbcTemplate;
-        this.bandRepo = bandRepo;
-        this.reviewRepo = reviewRepo;
+        this.tableVersions = tableVersions;
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    /**
+     * Advances the appraisal table's version if a write changed any rows.
+     *
+     * @param rows the number of rows written.
+     * @return {@code rows}.
+     */
+    private int versioned(int rows) {
+        if (rows > 0) {
+            tableVersions.bump(Table.APPRAISAL);
+        }
+        return rows;
     }
 
     /**
@@ -45,15 +93,15 @@ public class AppraisalRepoImpl implements IAppraisalRepo {
      *
      * @return a RowMapper for Appraisal objects.
      */
-    private RowMapper<Appraisal> getAppraisalRowMapper() {
-        return (rs, rowNum) -> new Appraisal(
+    RowMapper<Appraisal> getAppraisalRowMapper() {
+        return (rs, rowNum) -> Appraisal.ofMillis(
                 rs.getInt("emp_id"),
                 rs.getString("emp_name"),
                 rs.getInt("emp_review"),
                 rs.getString("emp_band"),
-                rs.getDouble("current_salary"),
+                Money.fromDecimal(rs.getBigDecimal("current_salary")),
                 rs.getDouble("appraisal_percentage"),
-                rs.getDouble("appraised_salary")
+                Money.fromDecimal(rs.getBigDecimal("appraised_salary"))
         );
     }
 
@@ -64,6 +112,7 @@ public class AppraisalRepoImpl implements IAppraisalRepo {
      * @return an Optional containing the appraisal if found, otherwise an empty Optional.
      */
     @Override
+    @ReplicaRead
     public Optional<Appraisal> getAppraisal(int empId) {
         String sql = "SELECT * FROM public.appraisal WHERE emp_id = ?";
         try {
@@ -82,6 +131,7 @@ public class AppraisalRepoImpl implements IAppraisalRepo {
      * @return a list of all appraisals.
      */
     @Override
+    @ReplicaRead
     public List<Appraisal> getAllAppraisals() {
         String sql = "SELECT * FROM public.appraisal";
         try {
@@ -92,86 +142,112 @@ public class AppraisalRepoImpl implements IAppraisalRepo {
     }
 
     /**
-     * Creates a new appraisal for an employee.
+     * Streams all appraisals through a forward-only cursor.
+     * The PostgreSQL driver only honours the fetch size inside a transaction, so the method runs in a read-only
+     * transaction and never holds more than one fetch of rows in memory.
+     *
+     * @param action the consumer invoked for each appraisal as soon as it is mapped.
+     */
+    @Override
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public void streamAllAppraisals(Consumer<Appraisal> action) {
+        String sql = "SELECT * FROM public.appraisal";
+        RowMapper<Appraisal> rowMapper = getAppraisalRowMapper();
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(streamFetchSize);
+                return ps;
+            }, (RowCallbackHandler) rs -> action.accept(rowMapper.mapRow(rs, rs.getRow())));
+        } catch (DataAccessException e) {
+            throw new RuntimeException("Database error while streaming appraisals", e);
+        }
+    }
+
+    /**
+     * Retrieves one page of appraisals using keyset pagination.
+     * The page starts strictly after {@code afterEmpId} and is read in employee ID order, so the cost of a page
+     * does not depend on how many pages precede it. Band and review filters are served by the
+     * {@code (emp_band, emp_id)} and {@code (emp_review, emp_id)} indexes.
+     *
+     * @param filter     the filter to apply; may be null.
+     * @param afterEmpId the employee ID after which the page starts, or null for the first page.
+     * @param limit      the maximum number of appraisals to return.
+     * @return the appraisals on the page.
+     */
+    @Override
+    @ReplicaRead
+    public List<Appraisal> findAppraisals(EmployeeFilter filter, Integer afterEmpId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM public.appraisal WHERE TRUE");
+        List<Object> args = new ArrayList<>();
+        if (afterEmpId != null) {
+            sql.append(" AND emp_id > ?");
+            args.add(afterEmpId);
+        }
+        FilterSql.appendPredicates(sql, args, filter, "emp_band", "emp_review", "current_salary");
+        sql.append(" ORDER BY emp_id LIMIT ?");
+        args.add(limit);
+        try {
+            return jdbcTemplate.query(sql.toString(), getAppraisalRowMapper(), args.toArray());
+        } catch (DataAccessException e) {
+            throw new RuntimeException("Database error while fetching appraisals", e);
+        }
+    }
+
+    /**
+     * Creates a new appraisal for an employee in a single statement.
+     * <p>
+     * The band and review multipliers are looked up by scalar subqueries in the INSERT itself, and the appraised
+     * salary is computed with {@link AppraisalFormula#appraisedSalarySql(String, String)}. The band and review rows
+     * are locked FOR SHARE, so the insert waits for a multiplier update in progress and uses the new multiplier,
+     * and a multiplier update waits for the insert and then recomputes it. An existing appraisal is
+     * left untouched by ON CONFLICT DO NOTHING, and an unknown band or review is rejected by the foreign keys on the
+     * appraisal table.
      *
      * @param employee the employee for whom the appraisal is being created.
-     * @return the number of rows affected by the insert operation.
+     * @return the number of rows affected by the insert operation; 0 if the appraisal already exists.
+     * @throws IllegalArgumentException if the band ID or review ID does not exist.
+     * @throws RuntimeException         if a database access error occurs while creating the appraisal.
      */
     @Override
     public int createAppraisal(Employee employee) {
-        double salary = employee.getSalary();
-        int reviewId = employee.getReview();
-        String bandId = employee.getBand();
-
+        String sql = "INSERT INTO public.appraisal(emp_id, emp_name, emp_review, emp_band, current_salary, appraisal_percentage, appraised_salary) " +
+                "SELECT ?, ?, ?, ?, p.salary, p.pct, " + AppraisalFormula.appraisedSalarySql("p.salary", "p.pct") +
+                " FROM " + INPUTS_SQL + " ON CONFLICT (emp_id) DO NOTHING";
         try {
-            double bandMultiplier = bandRepo.getBand(bandId)
-                    .map(Band::getBandMul)
-                    .orElseThrow(() -> new IllegalArgumentException("Invalid Band ID: " + bandId));
-
-            double reviewMultiplier = reviewRepo.getReview(reviewId)
-                    .map(Review::getRevMul)
-                    .orElseThrow(() -> new IllegalArgumentException("Invalid Review ID: " + reviewId));
-
-            double appraisalPercentage = reviewMultiplier * bandMultiplier;
-            double appraisedSalary = salary + (salary * appraisalPercentage);
-            String sql = "INSERT INTO public.appraisal(emp_id, emp_name, emp_review, emp_band, current_salary, appraisal_percentage, appraised_salary) VALUES (?, ?, ?, ?, ?, ?, ?)";
-            return jdbcTemplate.update(sql, employee.getEmpId(), employee.getEmpName(), reviewId, bandId, salary, appraisalPercentage, appraisedSalary);
-        } catch (IllegalArgumentException e) {
-            throw new RuntimeException("Validation error: " + e.getMessage(), e);
+            return versioned(jdbcTemplate.update(sql, employee.getEmpId(), employee.getEmpName(), employee.getReview(),
+                    employee.getBand(), Money.toDecimal(employee.getSalaryMillis()), employee.getReview(), employee.getBand()));
+        } catch (DataIntegrityViolationException e) {
+            throw ReferenceViolations.translate(e, "Database error while creating appraisal");
         } catch (DataAccessException e) {
             throw new RuntimeException("Database error while creating appraisal", e);
         }
     }
 
     /**
-     * Updates an employee's appraisal information in the database.
-     * This method calculates the appraisal percentage and appraised salary for an employee
-     * based on their salary, review multiplier, and band multiplier. It then updates the
-     * appraisal details in the database for the specified employee.
+     * Updates an employee's appraisal information in the database in a single statement.
+     * The appraisal percentage and appraised salary are computed from the band and review multipliers inside the
+     * UPDATE, as in {@link #createAppraisal(Employee)}, and an unknown band or review is rejected by the foreign keys
+     * on the appraisal table.
      *
      * @param employee the {@link Employee} object containing the employee's details,
      *                 including ID, name, review ID, band ID, and current salary.
      * @return the number of rows affected by the update operation.
-     * Typically, 1 if the update is successful and 0 if no matching employee was found.
+     * Typically, 1 if the update is successful and 0 if no matching appraisal was found.
      * @throws IllegalArgumentException if the provided band ID or review ID is invalid.
      * @throws RuntimeException         if a database access error occurs while performing the update.
      */
     @Override
     public int updateAppraisal(Employee employee) {
-        double salary = employee.getSalary();
-        int reviewId = employee.getReview();
-        String bandId = employee.getBand();
+        String sql = "UPDATE public.appraisal a SET emp_name=?, emp_review=?, emp_band=?, current_salary=p.salary, " +
+                "appraisal_percentage=p.pct, appraised_salary=" + AppraisalFormula.appraisedSalarySql("p.salary", "p.pct") +
+                " FROM " + INPUTS_SQL + " WHERE a.emp_id=?";
         try {
-            double bandMultiplier = bandRepo.getBand(bandId)
-                    .map(Band::getBandMul)
-                    .orElseThrow(() -> new IllegalArgumentException("Invalid Band ID: " + bandId));
-
-            double reviewMultiplier = reviewRepo.getReview(reviewId)
-                    .map(Review::getRevMul)
-                    .orElseThrow(() -> new IllegalArgumentException("Invalid Review ID: " + reviewId));
-
-            double appraisalPercentage = reviewMultiplier * bandMultiplier;
-            double appraisedSalary = salary + (salary * appraisalPercentage);
-            String sql = "UPDATE public.appraisal SET emp_id=?, emp_name=?, emp_review=?, emp_band=?, current_salary=?, appraisal_percentage=?, appraised_salary=? WHERE emp_id=?";
-            int id = employee.getEmpId();
-            Appraisal appraisal = new Appraisal(
-                    employee.getEmpId(),
-                    employee.getEmpName(),
-                    employee.getReview(),
-                    employee.getBand(),
-                    employee.getSalary(),
-                    appraisalPercentage,
-                    appraisedSalary
-            );
-            return jdbcTemplate.update(sql,
-                    appraisal.getEmpId(),
-                    appraisal.getEmpName(),
-                    appraisal.getEmpReview(),
-                    appraisal.getEmpBand(),
-                    appraisal.getCurrentSalary(),
-                    appraisal.getAppraisalPercentage(),
-                    appraisal.getAppraisedSalary(),
-                    id);
+            return versioned(jdbcTemplate.update(sql, employee.getEmpName(), employee.getReview(), employee.getBand(),
+                    Money.toDecimal(employee.getSalaryMillis()), employee.getReview(), employee.getBand(), employee.getEmpId()));
+        } catch (DataIntegrityViolationException e) {
+            throw ReferenceViolations.translate(e, "Database error while updating appraisal");
         } catch (DataAccessException e) {
             throw new RuntimeException("Database error while updating appraisal", e);
         }
@@ -192,11 +268,181 @@ public class AppraisalRepoImpl implements IAppraisalRepo {
     public int deleteAppraisal(int empId) {
         try {
             String sql = "DELETE FROM public.appraisal WHERE emp_id=?";
-            return jdbcTemplate.update(sql, empId);
+            return versioned(jdbcTemplate.update(sql, empId));
         } catch (DataAccessException e) {
             throw new RuntimeException("Database error while deleting appraisal", e);
         }
     }
 
+    /**
+     * Computes and upserts appraisals for every employee matching the filter.
+     * <p>
+     * The employee, band and review tables are joined in one INSERT ... SELECT ... ON CONFLICT statement, so the
+     * whole cycle costs a single round trip regardless of headcount. The percentage and appraised salary use the
+     * same arithmetic and rounding as {@link AppraisalFormula}: {@code reviewMul * bandMul}, and the salary plus
+     * the raise rounded to thousandths. Employees whose band or review does not exist are skipped.
+     *
+     * @param filter the employees to include; an empty or null filter includes every employee.
+     * @return the number of appraisal rows inserted or updated and the elapsed time in milliseconds.
+     * @throws RuntimeException if a database error occurs while running the cycle.
+     */
+    @Override
+    public AppraisalCycleResult runAppraisalCycle(EmployeeFilter filter) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO public.appraisal(emp_id, emp_name, emp_review, emp_band, current_salary, appraisal_percentage, appraised_salary) " +
+                "SELECT e.emp_id, e.emp_name, e.emp_review, e.emp_band, COALESCE(e.emp_salary, 0), " +
+                "r.rev_mul * b.band_mul, " +
+                AppraisalFormula.appraisedSalarySql("COALESCE(e.emp_salary, 0)", "r.rev_mul * b.band_mul") + " " +
+                "FROM public.employee e " +
+                "JOIN public.band b ON b.band_id = e.emp_band " +
+                "JOIN public.review r ON r.rev_id = e.emp_review " +
+                "WHERE TRUE");
+        List<Object> args = new ArrayList<>();
+        FilterSql.appendPredicates(sql, args, filter, "e.emp_band", "e.emp_review", "e.emp_salary");
+        sql.append(" ON CONFLICT (emp_id) DO UPDATE SET " +
+                "emp_name = EXCLUDED.emp_name, emp_review = EXCLUDED.emp_review, emp_band = EXCLUDED.emp_band, " +
+                "current_salary = EXCLUDED.current_salary, appraisal_percentage = EXCLUDED.appraisal_percentage, " +
+                "appraised_salary = EXCLUDED.appraised_salary");
+
+        long start = System.nanoTime();
+        try {
+            int rows = versioned(jdbcTemplate.update(sql.toString(), args.toArray()));
+            return new AppraisalCycleResult(rows, (System.nanoTime() - start) / 1_000_000);
+        } catch (DataAccessException e) {
+            throw new RuntimeException("Database error while running appraisal cycle", e);
+        }
+    }
 
+    /**
+     * Recomputes the existing appraisals of the given employees in a single statement.
+     * <p>
+     * The IDs are bound as one integer array, and each appraisal is rewritten from its employee row with the same
+     * joins and arithmetic as {@link #runAppraisalCycle(EmployeeFilter)}. Unlike the cycle, no
+     * appraisal is created: employees without one, or whose band or review does not exist, are skipped.
+     *
+     * @param empIds the employee IDs.
+     * @return the number of appraisals recomputed.
+     * @throws RuntimeException if a database error occurs while recomputing.
+     */
+    @Override
+    public int recomputeAppraisals(List<Integer> empIds) {
+        String sql = "UPDATE public.appraisal a SET emp_name = e.emp_name, emp_review = e.emp_review, " +
+                "emp_band = e.emp_band, current_salary = COALESCE(e.emp_salary, 0), " +
+                "appraisal_percentage = r.rev_mul * b.band_mul, " +
+                "appraised_salary = " + AppraisalFormula.appraisedSalarySql("COALESCE(e.emp_salary, 0)", "r.rev_mul * b.band_mul") + " " +
+                "FROM public.employee e " +
+                "JOIN public.band b ON b.band_id = e.emp_band " +
+                "JOIN public.review r ON r.rev_id = e.emp_review " +
+                "WHERE a.emp_id = ANY (?) AND e.emp_id = a.emp_id";
+        try {
+            return versioned(jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql);
+                ps.setArray(1, con.createArrayOf("integer", empIds.toArray()));
+                return ps;
+            }));
+        } catch (DataAccessException e) {
+            throw new RuntimeException("Database error while recomputing appraisals", e);
+        }
+    }
+
+    /**
+     * Retrieves the per-band payroll totals from the appraisal_band_summary table.
+     * <p>
+     * The table is maintained by statement-level triggers on the appraisal table, which add each write's delta
+     * in the same transaction, so this read costs one row per band regardless of headcount.
+     *
+     * @return one summary per band with at least one appraisal, in band ID order.
+     * @throws RuntimeException if a database error occurs while reading the summary.
+     */
+    @Override
+    @ReplicaRead
+    public List<BandPayrollSummary> getBandPayrollSummary() {
+        try {
+            return readBandPayrollSummary();
+        } catch (DataAccessException e) {
+            throw new RuntimeException("Database error while reading payroll summary", e);
+        }
+    }
+
+    /**
+     * Rebuilds the per-band payroll totals from the appraisal table.
+     * <p>
+     * The appraisal table is locked in SHARE mode for the rebuild, so appraisal writes wait while reads continue.
+     * The totals are recomputed with one GROUP BY, compared with the maintained ones to count the bands that had
+     * drifted, and then replace them.
+     *
+     * @return the number of bands whose maintained totals differed from the recomputed ones, and the rebuilt totals.
+     * @throws RuntimeException if a database error occurs while rebuilding the summary.
+     */
+    @Override
+    @Transactional
+    public PayrollSummaryRebuildResult rebuildBandPayrollSummary() {
+        String diffSql = "SELECT count(*) FROM (" + SUMMARY_FROM_APPRAISALS_SQL + ") f " +
+                "FULL JOIN public.appraisal_band_summary s USING (emp_band) " +
+                "WHERE (f.headcount, f.current_payroll, f.appraised_payroll, f.percentage_sum, f.percentage_count) " +
+                "IS DISTINCT FROM (s.headcount, s.current_payroll, s.appraised_payroll, s.percentage_sum, s.percentage_count)";
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.execute("LOCK TABLE public.appraisal IN SHARE MODE");
+            Integer corrected = jdbcTemplate.queryForObject(diffSql, Integer.class);
+            jdbcTemplate.update("DELETE FROM public.appraisal_band_summary");
+            jdbcTemplate.update("INSERT INTO public.appraisal_band_summary (" + SUMMARY_COLUMNS + ") " +
+                    SUMMARY_FROM_APPRAISALS_SQL);
+            return new PayrollSummaryRebuildResult(corrected == null ? 0 : corrected, readBandPayrollSummary(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (DataAccessException e) {
+            throw new RuntimeException("Database error while rebuilding payroll summary", e);
+        }
+    }
+
+    private List<BandPayrollSummary> readBandPayrollSummary() {
+        String sql = "SELECT emp_band, headcount, current_payroll, appraised_payroll, " +
+                "CASE WHEN percentage_count > 0 THEN percentage_sum / percentage_count END AS average_percentage " +
+                "FROM public.appraisal_band_summary ORDER BY emp_band";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            double averagePercentage = rs.getDouble("average_percentage");
+            boolean noPercentage = rs.wasNull();
+            return new BandPayrollSummary(
+                    rs.getString("emp_band"),
+                    rs.getLong("headcount"),
+                    Money.fromDecimal(rs.getBigDecimal("current_payroll")),
+                    Money.fromDecimal(rs.getBigDecimal("appraised_payroll")),
+                    noPercentage ? null : averagePercentage
+            );
+        });
+    }
+
+    /**
+     * Exports appraisals as CSV with {@code COPY ... TO STDOUT}.
+     * The database formats the rows and the driver copies them straight into the output stream, so no
+     * Appraisal objects are created. COPY cannot take bind parameters, so the filter is inlined as escaped literals.
+     *
+     * @param filter the filter to apply; may be null.
+     * @param out    the stream the CSV is written to.
+     * @return the number of rows written.
+     * @throws IllegalArgumentException if a filter value is invalid.
+     * @throws RuntimeException         if a database error occurs while exporting.
+     */
+    @Override
+    @ReplicaRead
+    public long exportAppraisalsCsv(EmployeeFilter filter, OutputStream out) {
+        StringBuilder query = new StringBuilder(
+                "SELECT emp_id, emp_name, emp_review, emp_band, current_salary, appraisal_percentage, appraised_salary " +
+                "FROM public.appraisal WHERE TRUE");
+        FilterSql.appendLiteralPredicates(query, filter, "emp_band", "emp_review", "current_salary");
+        query.append(" ORDER BY emp_id");
+        String sql = "COPY (" + query + ") TO STDOUT (FORMAT csv, HEADER true)";
+        try {
+            Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+                try {
+                    return con.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return rows == null ? 0 : rows;
+        } catch (DataAccessException e) {
+            throw new RuntimeException("Database error while exporting appraisals", e);
+        }
+    }
 }
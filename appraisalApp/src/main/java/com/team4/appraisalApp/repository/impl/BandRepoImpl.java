@@ -1,12 +1,18 @@
 package com.team4.appraisalApp.repository.impl;
 
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.cache.TableVersions.Table;
+import com.team4.appraisalApp.compute.AppraisalFormula;
+import com.team4.appraisalApp.datasource.ReplicaRead;
 import com.team4.appraisalApp.models.Band;
+import com.team4.appraisalApp.models.MultiplierUpdateResult;
 import com.team4.appraisalApp.repository.IBandRepo;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,14 +24,19 @@ import java.util.Optional;
 @Repository
 public class BandRepoImpl implements IBandRepo {
 
+    private static final String LOCK_SQL = "SELECT 1 FROM public.band WHERE band_id = ? FOR NO KEY UPDATE";
+
     private final JdbcTemplate jdbcTemplate;
+    private final TableVersions tableVersions;
 
     /**
      * Constructs a BandRepoImpl with the specified JdbcTemplate.
      * @param jdbcTemplate the JdbcTemplate for database access.
+     * @param tableVersions the table version counters advanced when appraisals are recomputed.
      */
-    public BandRepoImpl(JdbcTemplate jdbcTemplate) {
+    public BandRepoImpl(JdbcTemplate jdbcTemplate, TableVersions tableVersions) {
         this.jdbcTemplate = jdbcTemplate;
+        this.tableVersions = tableVersions;
     }
 
     /**
@@ -47,6 +58,7 @@ public class BandRepoImpl implements IBandRepo {
      * @return an Optional containing the band if found, otherwise an empty Optional.
      */
     @Override
+    @ReplicaRead
     public Optional<Band> getBand(String bandId) {
         String sql = "SELECT * FROM public.band WHERE band_id=?";
         try {
@@ -61,6 +73,7 @@ public class BandRepoImpl implements IBandRepo {
      * @return a list of all bands.
      */
     @Override
+    @ReplicaRead
     public List<Band> getAllBands() {
         String sql = "SELECT * FROM public.band";
         try {
@@ -69,4 +82,46 @@ public class BandRepoImpl implements IBandRepo {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Changes a band's multiplier and recomputes the affected appraisals in a single statement.
+     * The band UPDATE and the appraisal UPDATE run in one data-modifying CTE, so they commit together. Only
+     * appraisals with that emp_band are rewritten, found through the appraisal band index, using the same
+     * arithmetic as the appraisal cycle. The appraisal UPDATE takes the new multiplier from the band
+     * UPDATE's RETURNING, as both see the band table as it was before the statement.
+     * The band row is locked by an earlier statement in the same transaction. Appraisal writes read the multipliers
+     * FOR SHARE, so one that started first has committed by the time the CTE takes its snapshot and is recomputed,
+     * and one that starts later waits and reads the new multiplier.
+     * Callers must invalidate the reference data cache afterwards; {@link CachedBandRepo} does.
+     * @param bandId the band ID.
+     * @param bandMul the new band multiplier.
+     * @return an Optional containing the number of appraisals recomputed, or an empty Optional if the band does not exist.
+     */
+    @Override
+    @Transactional
+    public Optional<MultiplierUpdateResult> updateBandMultiplier(String bandId, double bandMul) {
+        String sql = "WITH b AS (UPDATE public.band SET band_mul = ? WHERE band_id = ? RETURNING band_id, band_mul), " +
+                "recomputed AS (UPDATE public.appraisal a SET appraisal_percentage = r.rev_mul * b.band_mul, " +
+                "appraised_salary = " + AppraisalFormula.appraisedSalarySql("COALESCE(a.current_salary, 0)", "r.rev_mul * b.band_mul") + " " +
+                "FROM b, public.review r WHERE a.emp_band = b.band_id AND r.rev_id = a.emp_review RETURNING 1) " +
+                "SELECT (SELECT count(*) FROM recomputed) FROM b";
+        long start = System.nanoTime();
+        try {
+            // Locked in a statement of its own, so that the recompute's snapshot is taken after any appraisal write
+            // holding the row FOR SHARE has committed
+            if (jdbcTemplate.queryForList(LOCK_SQL, Integer.class, bandId).isEmpty()) {
+                return Optional.empty();
+            }
+            Optional<Integer> recomputed = jdbcTemplate.query(sql, (rs, row) -> rs.getInt(1), bandMul, bandId)
+                    .stream().findFirst();
+            if (recomputed.orElse(0) > 0) {
+                tableVersions.bump(Table.BAND, Table.APPRAISAL);
+            } else if (recomputed.isPresent()) {
+                tableVersions.bump(Table.BAND);
+            }
+            return recomputed.map(rows -> new MultiplierUpdateResult(rows, (System.nanoTime() - start) / 1_000_000));
+        } catch (DataAccessException e) {
+            throw new RuntimeException("Database error while updating band multiplier", e);
+        }
+    }
 }
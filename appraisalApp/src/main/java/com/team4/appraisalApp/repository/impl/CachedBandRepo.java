@@ -0,0 +1,89 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.cache.ReferenceDataCache;
+import com.team4.appraisalApp.models.Band;
+import com.team4.appraisalApp.models.MultiplierUpdateResult;
+import com.team4.appraisalApp.repository.IBandRepo;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The CachedBandRepo class implements the IBandRepo interface on top of the {@link ReferenceDataCache}.
+ * It is the primary IBandRepo bean, so controllers and other repositories read bands from memory
+ * instead of querying the band table on every request. Writes go to {@link BandRepoImpl} and then discard the
+ * cached snapshot.
+ */
+@Repository
+@Primary
+public class CachedBandRepo implements IBandRepo {
+
+    private final ReferenceDataCache cache;
+    private final BandRepoImpl bandRepo;
+    private final ObjectProvider<ShardedAppraisalRepo> shardedAppraisals;
+
+    /**
+     * Constructs a CachedBandRepo with the specified cache.
+     * @param cache the reference data cache.
+     * @param bandRepo the JDBC band repository writes are sent to.
+     * @param shardedAppraisals the sharded appraisal repository, available when employees are sharded.
+     */
+    public CachedBandRepo(ReferenceDataCache cache, BandRepoImpl bandRepo,
+                          ObjectProvider<ShardedAppraisalRepo> shardedAppraisals) {
+        this.cache = cache;
+        this.bandRepo = bandRepo;
+        this.shardedAppraisals = shardedAppraisals;
+    }
+
+    /**
+     * Retrieves a band by band ID from the cache.
+     * @param bandId the band ID.
+     * @return an Optional containing the band if found, otherwise an empty Optional.
+     */
+    @Override
+    public Optional<Band> getBand(String bandId) {
+        return cache.getBand(bandId);
+    }
+
+    /**
+     * Retrieves all bands from the cache.
+     * @return a list of all bands.
+     */
+    @Override
+    public List<Band> getAllBands() {
+        return cache.getAllBands();
+    }
+
+    /**
+     * Changes a band's multiplier and recomputes the affected appraisals, then discards the cached snapshot so that
+     * the next lookup sees the new multiplier.
+     * When employees are sharded, the shards' copies of the band table and their appraisals are updated as well, and
+     * no shard commits unless the primary has; see {@link ShardedAppraisalRepo#updateBandMultiplier}. The update is
+     * idempotent, so a request that fails part-way can be repeated.
+     * @param bandId the band ID.
+     * @param bandMul the new band multiplier.
+     * @return an Optional containing the number of appraisals recomputed, or an empty Optional if the band does not exist.
+     */
+    @Override
+    public Optional<MultiplierUpdateResult> updateBandMultiplier(String bandId, double bandMul) {
+        ShardedAppraisalRepo sharded = shardedAppraisals.getIfAvailable();
+        Optional<MultiplierUpdateResult> result;
+        try {
+            result = sharded == null
+                    ? bandRepo.updateBandMultiplier(bandId, bandMul)
+                    : sharded.updateBandMultiplier(bandId, bandMul,
+                            () -> bandRepo.updateBandMultiplier(bandId, bandMul));
+        } catch (RuntimeException e) {
+            // The primary may have committed before a shard failed to
+            cache.invalidate();
+            throw e;
+        }
+        if (result.isPresent()) {
+            cache.invalidate();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,89 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.cache.ReferenceDataCache;
+import com.team4.appraisalApp.models.MultiplierUpdateResult;
+import com.team4.appraisalApp.models.Review;
+import com.team4.appraisalApp.repository.IReviewRepo;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The CachedReviewRepo class implements the IReviewRepo interface on top of the {@link ReferenceDataCache}.
+ * It is the primary IReviewRepo bean, so controllers and other repositories read reviews from memory
+ * instead of querying the review table on every request. Writes go to {@link ReviewRepoImpl} and then discard the
+ * cached snapshot.
+ */
+@Repository
+@Primary
+public class CachedReviewRepo implements IReviewRepo {
+
+    private final ReferenceDataCache cache;
+    private final ReviewRepoImpl reviewRepo;
+    private final ObjectProvider<ShardedAppraisalRepo> shardedAppraisals;
+
+    /**
+     * Constructs a CachedReviewRepo with the specified cache.
+     * @param cache the reference data cache.
+     * @param reviewRepo the JDBC review repository writes are sent to.
+     * @param shardedAppraisals the sharded appraisal repository, available when employees are sharded.
+     */
+    public CachedReviewRepo(ReferenceDataCache cache, ReviewRepoImpl reviewRepo,
+                            ObjectProvider<ShardedAppraisalRepo> shardedAppraisals) {
+        this.cache = cache;
+        this.reviewRepo = reviewRepo;
+        this.shardedAppraisals = shardedAppraisals;
+    }
+
+    /**
+     * Retrieves a review by review ID from the cache.
+     * @param revId the review ID.
+     * @return an Optional containing the review if found, otherwise an empty Optional.
+     */
+    @Override
+    public Optional<Review> getReview(int revId) {
+        return cache.getReview(revId);
+    }
+
+    /**
+     * Retrieves all reviews from the cache.
+     * @return a list of all reviews.
+     */
+    @Override
+    public List<Review> getAllReviews() {
+        return cache.getAllReviews();
+    }
+
+    /**
+     * Changes a review's multiplier and recomputes the affected appraisals, then discards the cached snapshot so that
+     * the next lookup sees the new multiplier.
+     * When employees are sharded, the shards' copies of the review table and their appraisals are updated as well, and
+     * no shard commits unless the primary has; see {@link ShardedAppraisalRepo#updateReviewMultiplier}. The update is
+     * idempotent, so a request that fails part-way can be repeated.
+     * @param revId the review ID.
+     * @param revMul the new review multiplier.
+     * @return an Optional containing the number of appraisals recomputed, or an empty Optional if the review does not exist.
+     */
+    @Override
+    public Optional<MultiplierUpdateResult> updateReviewMultiplier(int revId, double revMul) {
+        ShardedAppraisalRepo sharded = shardedAppraisals.getIfAvailable();
+        Optional<MultiplierUpdateResult> result;
+        try {
+            result = sharded == null
+                    ? reviewRepo.updateReviewMultiplier(revId, revMul)
+                    : sharded.updateReviewMultiplier(revId, revMul,
+                            () -> reviewRepo.updateReviewMultiplier(revId, revMul));
+        } catch (RuntimeException e) {
+            // The primary may have committed before a shard failed to
+            cache.invalidate();
+            throw e;
+        }
+        if (result.isPresent()) {
+            cache.invalidate();
+        }
+        return result;
+    }
+}
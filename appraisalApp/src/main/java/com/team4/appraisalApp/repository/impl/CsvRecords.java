@@ -0,0 +1,83 @@
+package com.team4.appraisalApp.repository.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The CsvRecords class splits CSV text into records without interpreting them, so they can be passed on to COPY
+ * unchanged.
+ * <p>
+ * A record ends at a line feed outside double quotes, so quoted values may span lines; the record text keeps its
+ * line terminator. Only the first field is decoded, as the employee ID that routes the record to its shard.
+ */
+final class CsvRecords {
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private final StringBuilder record = new StringBuilder();
+    private final StringBuilder firstField = new StringBuilder();
+
+    /**
+     * Constructs a CsvRecords reader.
+     *
+     * @param reader the CSV text; it is read in 8K blocks, so it need not be buffered.
+     */
+    CsvRecords(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return whether a record was read; false at the end of the input.
+     * @throws IOException if the input cannot be read.
+     */
+    boolean next() throws IOException {
+        record.setLength(0);
+        firstField.setLength(0);
+        boolean quoted = false;
+        boolean inFirstField = true;
+        while (position < limit || fill()) {
+            char c = buffer[position++];
+            record.append(c);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && c == '\n') {
+                return true;
+            } else if (!quoted && c == ',') {
+                inFirstField = false;
+            } else if (inFirstField && c != '\r') {
+                firstField.append(c);
+            }
+        }
+        return record.length() > 0;
+    }
+
+    private boolean fill() throws IOException {
+        limit = reader.read(buffer);
+        position = 0;
+        return limit > 0;
+    }
+
+    /**
+     * Gets the current record as read, including its line terminator.
+     * @return the record text.
+     */
+    CharSequence text() {
+        return record;
+    }
+
+    /**
+     * Gets the current record's first field as an employee ID.
+     * @return the ID, or null if the field is empty or not an integer.
+     */
+    Integer empId() {
+        try {
+            return Integer.valueOf(firstField.toString().strip());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
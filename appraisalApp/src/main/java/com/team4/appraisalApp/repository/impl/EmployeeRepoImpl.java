@@ -1,15 +1,41 @@
 package com.team4.appraisalApp.repository.impl;
 
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.cache.TableVersions.Table;
+import com.team4.appraisalApp.datasource.ReplicaRead;
 import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.EmployeeFilter;
+import com.team4.appraisalApp.models.EmployeeImportResult;
+import com.team4.appraisalApp.models.ImportRejection;
+import com.team4.appraisalApp.models.Money;
 import com.team4.appraisalApp.repository.IEmployeeRepo;
+import org.springframework.beans.factory.annotation.Value;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * The EmployeeRepoImpl class implements the IEmployeeRepo interface.
@@ -18,29 +44,65 @@ import java.util.Optional;
 @Repository
 public class EmployeeRepoImpl implements IEmployeeRepo {
 
+    private static final String IMPORT_STAGING_DDL =
+            "CREATE TEMP TABLE employee_import (line_no bigserial, emp_id integer, emp_name text, emp_review integer, " +
+            "emp_band text, emp_salary numeric(15,3), reject_reason text) ON COMMIT DROP";
+    private static final String IMPORT_COPY_SQL =
+            "COPY employee_import (emp_id, emp_name, emp_review, emp_band, emp_salary) FROM STDIN (FORMAT csv, HEADER %s)";
+    private static final String IMPORT_VALIDATE_SQL =
+            "UPDATE employee_import s SET reject_reason = c.reason FROM (" +
+            "SELECT d.line_no, CASE " +
+            "WHEN d.emp_id IS NULL THEN 'Missing employee ID' " +
+            "WHEN d.occurrence > 1 THEN 'Duplicate employee ID in import' " +
+            "WHEN NOT EXISTS (SELECT 1 FROM public.band b WHERE b.band_id = d.emp_band) THEN 'Invalid band ID' " +
+            "WHEN NOT EXISTS (SELECT 1 FROM public.review r WHERE r.rev_id = d.emp_review) THEN 'Invalid review ID' " +
+            "WHEN EXISTS (SELECT 1 FROM public.employee e WHERE e.emp_id = d.emp_id) THEN 'Employee already exists' " +
+            "END AS reason " +
+            "FROM (SELECT line_no, emp_id, emp_band, emp_review, " +
+            "row_number() OVER (PARTITION BY emp_id ORDER BY line_no) AS occurrence FROM employee_import) d" +
+            ") c WHERE c.line_no = s.line_no AND c.reason IS NOT NULL";
+    private static final String IMPORT_MERGE_SQL =
+            "WITH ins AS (" +
+            "INSERT INTO public.employee(emp_id, emp_name, emp_review, emp_band, emp_salary) " +
+            "SELECT emp_id, emp_name, emp_review, emp_band, emp_salary FROM employee_import " +
+            "WHERE reject_reason IS NULL ORDER BY emp_id " +
+            "ON CONFLICT (emp_id) DO NOTHING RETURNING emp_id) " +
+            "UPDATE employee_import s SET reject_reason = 'Employee already exists' " +
+            "WHERE s.reject_reason IS NULL AND NOT EXISTS (SELECT 1 FROM ins WHERE ins.emp_id = s.emp_id)";
+    private static final String IMPORT_REJECTIONS_SQL =
+            "SELECT line_no, emp_id, reject_reason FROM employee_import WHERE reject_reason IS NOT NULL ORDER BY line_no";
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
     private final JdbcTemplate jdbcTemplate;
+    private final TableVersions tableVersions;
+    private final int streamFetchSize;
 
     /**
      * Constructs an EmployeeRepoImpl with the specified JdbcTemplate.
      * @param jdbcTemplate the JdbcTemplate for database access.
+     * @param tableVersions the table version counters advanced by the write methods.
+     * @param streamFetchSize the number of rows fetched per cursor round trip when streaming.
      */
-    public EmployeeRepoImpl(JdbcTemplate jdbcTemplate) {
+    public EmployeeRepoImpl(JdbcTemplate jdbcTemplate, TableVersions tableVersions,
+                            @Value("${appraisal.stream.fetch-size:1000}") int streamFetchSize) {
         this.jdbcTemplate = jdbcTemplate;
+        this.tableVersions = tableVersions;
+        this.streamFetchSize = streamFetchSize;
     }
 
     /**
      * Creates a RowMapper for mapping database rows to Employee objects.
      * @return a RowMapper for Employee objects.
      */
-    private RowMapper<Employee> getEmployeeRowMapper() {
+    RowMapper<Employee> getEmployeeRowMapper() {
         try {
             return (rs, row) -> {
-                return new Employee(
+                return Employee.ofMillis(
                         rs.getInt("emp_id"),
                         rs.getString("emp_name"),
                         rs.getInt("emp_review"),
                         rs.getString("emp_band"),
-                        rs.getDouble("emp_salary")
+                        Money.fromDecimal(rs.getBigDecimal("emp_salary"))
                 );
             };
         } catch (Exception e) {
@@ -54,6 +116,7 @@ public class EmployeeRepoImpl implements IEmployeeRepo {
      * @return an Optional containing the employee if found, otherwise an empty Optional.
      */
     @Override
+    @ReplicaRead
     public Optional<Employee> getEmployeeById(int empId) {
         String sql = "SELECT * FROM public.employee WHERE emp_id = ?";
         try {
@@ -68,6 +131,7 @@ public class EmployeeRepoImpl implements IEmployeeRepo {
      * @return a list of all employees.
      */
     @Override
+    @ReplicaRead
     public List<Employee> getAllEmployees() {
         String sql = "SELECT * FROM public.employee";
         try {
@@ -78,15 +142,101 @@ public class EmployeeRepoImpl implements IEmployeeRepo {
     }
 
     /**
-     * Deletes an employee by employee ID.
+     * Streams all employees through a forward-only cursor.
+     * The PostgreSQL driver only honours the fetch size inside a transaction, so the method runs in a read-only
+     * transaction and never holds more than one fetch of rows in memory.
+     * @param action the consumer invoked for each employee as soon as it is mapped.
+     */
+    @Override
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<Employee> action) {
+        String sql = "SELECT * FROM public.employee";
+        RowMapper<Employee> rowMapper = getEmployeeRowMapper();
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(streamFetchSize);
+                return ps;
+            }, (RowCallbackHandler) rs -> action.accept(rowMapper.mapRow(rs, rs.getRow())));
+        } catch (DataAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Retrieves one page of employees using keyset pagination.
+     * The page starts strictly after {@code afterEmpId} and is read in employee ID order, so the cost of a page
+     * does not depend on how many pages precede it. Band and review filters are served by the
+     * {@code (emp_band, emp_id)} and {@code (emp_review, emp_id)} indexes.
+     * @param filter the filter to apply; may be null.
+     * @param afterEmpId the employee ID after which the page starts, or null for the first page.
+     * @param limit the maximum number of employees to return.
+     * @return the employees on the page.
+     */
+    @Override
+    @ReplicaRead
+    public List<Employee> findEmployees(EmployeeFilter filter, Integer afterEmpId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM public.employee WHERE TRUE");
+        List<Object> args = new ArrayList<>();
+        if (afterEmpId != null) {
+            sql.append(" AND emp_id > ?");
+            args.add(afterEmpId);
+        }
+        FilterSql.appendPredicates(sql, args, filter, "emp_band", "emp_review", "emp_salary");
+        sql.append(" ORDER BY emp_id LIMIT ?");
+        args.add(limit);
+        try {
+            return jdbcTemplate.query(sql.toString(), getEmployeeRowMapper(), args.toArray());
+        } catch (DataAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Deletes an employee and their appraisal, if any, in a single statement.
+     * Both deletes run in one data-modifying CTE, so the employee and appraisal can never be left half deleted.
      * @param empId the employee ID.
-     * @return the number of rows affected by the delete operation.
+     * @return an Optional containing the deleted employee, or an empty Optional if no employee has the ID.
+     */
+    @Override
+    public Optional<Employee> deleteEmployeeById(int empId) {
+        String sql = "WITH deleted AS (DELETE FROM public.employee WHERE emp_id = ? RETURNING *), " +
+                "deleted_appraisal AS (DELETE FROM public.appraisal WHERE emp_id IN (SELECT emp_id FROM deleted)) " +
+                "SELECT * FROM deleted";
+        try {
+            Optional<Employee> deleted = jdbcTemplate.query(sql, getEmployeeRowMapper(), empId).stream().findFirst();
+            if (deleted.isPresent()) {
+                tableVersions.bump(Table.EMPLOYEE, Table.APPRAISAL);
+            }
+            return deleted;
+        } catch (DataAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Deletes several employees and their appraisals in a single statement.
+     * The IDs are bound as one integer array, so the statement and its cost per round trip do not depend on the
+     * number of IDs, and the whole batch is deleted atomically.
+     * @param empIds the employee IDs; IDs that do not exist are ignored.
+     * @return the deleted employees, in employee ID order.
      */
     @Override
-    public int deleteEmployeeById(int empId) {
-        String sql = "DELETE FROM public.employee WHERE emp_id = ?";
+    public List<Employee> deleteEmployeesByIds(List<Integer> empIds) {
+        String sql = "WITH deleted AS (DELETE FROM public.employee WHERE emp_id = ANY (?) RETURNING *), " +
+                "deleted_appraisal AS (DELETE FROM public.appraisal WHERE emp_id IN (SELECT emp_id FROM deleted)) " +
+                "SELECT * FROM deleted ORDER BY emp_id";
         try {
-            return jdbcTemplate.update(sql, empId);
+            List<Employee> deleted = jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql);
+                ps.setArray(1, con.createArrayOf("integer", empIds.toArray()));
+                return ps;
+            }, getEmployeeRowMapper());
+            if (!deleted.isEmpty()) {
+                tableVersions.bump(Table.EMPLOYEE, Table.APPRAISAL);
+            }
+            return deleted;
         } catch (DataAccessException e) {
             throw new RuntimeException(e);
         }
@@ -94,21 +244,27 @@ public class EmployeeRepoImpl implements IEmployeeRepo {
 
     /**
      * Updates an existing employee in the database.
-     * This method updates the details of an employee, such as name, review, band,
-     * and salary, based on the provided employee object. The update is performed
-     * using the employee's ID as the identifier.
+     * This method updates the name, review, band and salary of the employee with the provided employee's ID
+     * in a single UPDATE ... RETURNING statement. The band and review are checked by the foreign keys on the
+     * employee table rather than by a lookup beforehand.
      *
      * @param employee the {@link Employee} object containing the updated employee details.
-     * @return the number of rows affected by the update operation.
-     *         Typically, 1 if the update is successful and 0 if no matching employee was found.
+     * @return an Optional containing the employee as stored, or an empty Optional if no employee has the ID.
+     * @throws IllegalArgumentException if the band ID or review ID does not exist.
      * @throws RuntimeException if a database access error occurs.
      */
     @Override
-    public int updateEmployee(Employee employee) {
-        int empId = employee.getEmpId();
-        String sql = "UPDATE public.employee SET emp_id=?, emp_name=?, emp_review=?, emp_band=?, emp_salary=? WHERE emp_id=?";
+    public Optional<Employee> updateEmployee(Employee employee) {
+        String sql = "UPDATE public.employee SET emp_name=?, emp_review=?, emp_band=?, emp_salary=? WHERE emp_id=? RETURNING *";
         try {
-            return jdbcTemplate.update(sql, employee.getEmpId(), employee.getEmpName(), employee.getReview(), employee.getBand(), employee.getSalary(), empId);
+            Optional<Employee> updated = jdbcTemplate.query(sql, getEmployeeRowMapper(), employee.getEmpName(),
+                    employee.getReview(), employee.getBand(), Money.toDecimal(employee.getSalaryMillis()), employee.getEmpId()).stream().findFirst();
+            if (updated.isPresent()) {
+                tableVersions.bump(Table.EMPLOYEE);
+            }
+            return updated;
+        } catch (DataIntegrityViolationException e) {
+            throw ReferenceViolations.translate(e, "Database error while updating employee");
         } catch (DataAccessException e) {
             throw new RuntimeException(e);
         }
@@ -117,15 +273,170 @@ public class EmployeeRepoImpl implements IEmployeeRepo {
 
     /**
      * Adds a new employee.
+     * The INSERT skips an existing employee ID with ON CONFLICT DO NOTHING, and the band and review are checked by
+     * the foreign keys on the employee table, so the whole write is a single round trip.
      * @param employee the employee to be added.
-     * @return the number of rows affected by the insert operation.
+     * @return the number of rows inserted; 0 if an employee with the ID already exists.
+     * @throws IllegalArgumentException if the band ID or review ID does not exist.
      */
     public int addEmployee(Employee employee) {
-        String sql = "INSERT INTO public.employee(emp_id, emp_name, emp_review, emp_band, emp_salary) VALUES (?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO public.employee(emp_id, emp_name, emp_review, emp_band, emp_salary) VALUES (?, ?, ?, ?, ?) " +
+                "ON CONFLICT (emp_id) DO NOTHING";
+        try {
+            int rows = jdbcTemplate.update(sql, employee.getEmpId(), employee.getEmpName(), employee.getReview(), employee.getBand(), Money.toDecimal(employee.getSalaryMillis()));
+            if (rows > 0) {
+                tableVersions.bump(Table.EMPLOYEE);
+            }
+            return rows;
+        } catch (DataIntegrityViolationException e) {
+            throw ReferenceViolations.translate(e, "Database error while adding employee");
+        } catch (DataAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Bulk imports employees from CSV.
+     * The input is streamed into a temporary staging table with the PostgreSQL COPY protocol, so the body is never
+     * held in memory and rows are not sent one INSERT at a time. Validation and merging are then done set-based;
+     * see {@link #importEmployees(CopyLoader)}.
+     * @param csv the CSV input with the columns emp_id, emp_name, emp_review, emp_band, emp_salary.
+     * @param header whether the first line is a header to skip.
+     * @return the number of rows received and imported, and the per-row rejections.
+     * @throws IllegalArgumentException if the input is not valid CSV for the staging table.
+     */
+    @Override
+    @Transactional
+    public EmployeeImportResult importEmployeesCsv(InputStream csv, boolean header) {
+        return importEmployees(copyManager -> copyManager.copyIn(String.format(IMPORT_COPY_SQL, header), csv));
+    }
+
+    /**
+     * Bulk imports employees from an iterator.
+     * Each employee is encoded as a CSV line and written to the COPY stream in 64K chunks while the iterator is
+     * consumed, so a streaming iterator such as a Jackson MappingIterator keeps memory flat.
+     * @param employees the employees to import, in input order.
+     * @return the number of rows received and imported, and the per-row rejections.
+     * @throws IllegalArgumentException if the staging table rejects a value.
+     */
+    @Override
+    @Transactional
+    public EmployeeImportResult importEmployees(Iterator<Employee> employees) {
+        return importEmployees(copyManager -> {
+            CopyIn copyIn = copyManager.copyIn(String.format(IMPORT_COPY_SQL, false));
+            try {
+                StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 256);
+                while (employees.hasNext()) {
+                    appendCsvLine(buffer, employees.next());
+                    if (buffer.length() >= COPY_BUFFER_CHARS) {
+                        writeToCopy(copyIn, buffer);
+                    }
+                }
+                writeToCopy(copyIn, buffer);
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+    }
+
+    /**
+     * Loads rows into the employee_import staging table through the COPY API.
+     */
+    @FunctionalInterface
+    private interface CopyLoader {
+        /**
+         * Runs the COPY into the staging table.
+         * @param copyManager the COPY API of the current connection.
+         * @return the number of rows copied.
+         */
+        long load(CopyManager copyManager) throws SQLException, IOException;
+    }
+
+    /**
+     * Runs a bulk import on the current transaction's connection.
+     * <ol>
+     *     <li>Creates the employee_import staging table, dropped on commit.</li>
+     *     <li>Loads it through COPY.</li>
+     *     <li>Marks every rejected row in one UPDATE: missing ID, duplicate ID within the input (the first
+     *     occurrence wins), unknown band, unknown review, or an employee that already exists.</li>
+     *     <li>Inserts the remaining rows into public.employee in one INSERT ... SELECT. Rows that lose a race with a
+     *     concurrent insert are marked as already existing.</li>
+     *     <li>Reads back the rejections in input order.</li>
+     * </ol>
+     * @param loader the COPY step.
+     * @return the import result.
+     */
+    private EmployeeImportResult importEmployees(CopyLoader loader) {
+        long start = System.nanoTime();
         try {
-            return jdbcTemplate.update(sql, employee.getEmpId(), employee.getEmpName(), employee.getReview(), employee.getBand(), employee.getSalary());
+            return jdbcTemplate.execute((ConnectionCallback<EmployeeImportResult>) con -> {
+                long received;
+                try (Statement statement = con.createStatement()) {
+                    statement.execute(IMPORT_STAGING_DDL);
+                    received = loader.load(con.unwrap(PGConnection.class).getCopyAPI());
+                    statement.execute("ANALYZE employee_import");
+                    statement.executeUpdate(IMPORT_VALIDATE_SQL);
+                    statement.executeUpdate(IMPORT_MERGE_SQL);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                List<ImportRejection> rejections = new ArrayList<>();
+                try (Statement statement = con.createStatement();
+                     ResultSet rs = statement.executeQuery(IMPORT_REJECTIONS_SQL)) {
+                    while (rs.next()) {
+                        rejections.add(new ImportRejection(
+                                rs.getLong("line_no"),
+                                rs.getObject("emp_id", Integer.class),
+                                rs.getString("reject_reason")
+                        ));
+                    }
+                }
+                long imported = received - rejections.size();
+                if (imported > 0) {
+                    tableVersions.bump(Table.EMPLOYEE);
+                }
+                return new EmployeeImportResult(received, imported, rejections,
+                        (System.nanoTime() - start) / 1_000_000);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Malformed import data: " + e.getMostSpecificCause().getMessage(), e);
         } catch (DataAccessException e) {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Appends an employee as one line of COPY CSV, in the column order of the staging table.
+     */
+    static void appendCsvLine(StringBuilder buffer, Employee employee) {
+        buffer.append(employee.getEmpId()).append(',');
+        appendCsvText(buffer, employee.getEmpName());
+        buffer.append(',').append(employee.getReview()).append(',');
+        appendCsvText(buffer, employee.getBand());
+        buffer.append(',');
+        Money.appendTo(buffer, employee.getSalaryMillis()).append('\n');
+    }
+
+    /**
+     * Appends a text value in COPY CSV form: null stays unquoted so that COPY reads it as NULL,
+     * anything else is quoted with embedded quotes doubled.
+     */
+    private static void appendCsvText(StringBuilder buffer, String value) {
+        if (value == null) {
+            return;
+        }
+        buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
 }
@@ -0,0 +1,96 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.models.EmployeeFilter;
+import org.postgresql.core.Utils;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Renders an {@link EmployeeFilter} as SQL predicates.
+ * Column names differ between the employee and appraisal tables, so each caller passes its own.
+ */
+final class FilterSql {
+
+    private FilterSql() {
+    }
+
+    /**
+     * Appends one {@code AND <predicate>} per criterion set on the filter and collects the bind values.
+     * Salary bounds are bound as numeric so that they compare against the NUMERIC column without a cast.
+     *
+     * @param sql          the statement being built; must already contain a WHERE clause.
+     * @param args         the bind values, in order.
+     * @param filter       the filter to render; may be null.
+     * @param bandColumn   the qualified band column name.
+     * @param reviewColumn the qualified review column name.
+     * @param salaryColumn the qualified salary column name.
+     */
+    static void appendPredicates(StringBuilder sql, List<Object> args, EmployeeFilter filter,
+                                 String bandColumn, String reviewColumn, String salaryColumn) {
+        if (filter == null) {
+            return;
+        }
+        if (filter.getBand() != null) {
+            sql.append(" AND ").append(bandColumn).append(" = ?");
+            args.add(filter.getBand());
+        }
+        if (filter.getReview() != null) {
+            sql.append(" AND ").append(reviewColumn).append(" = ?");
+            args.add(filter.getReview());
+        }
+        if (filter.getMinSalary() != null) {
+            sql.append(" AND ").append(salaryColumn).append(" >= ?");
+            args.add(BigDecimal.valueOf(filter.getMinSalary()));
+        }
+        if (filter.getMaxSalary() != null) {
+            sql.append(" AND ").append(salaryColumn).append(" <= ?");
+            args.add(BigDecimal.valueOf(filter.getMaxSalary()));
+        }
+    }
+
+    /**
+     * Appends one {@code AND <predicate>} per criterion set on the filter with the values inlined as literals.
+     * Only for statements that cannot take bind parameters, such as COPY. Text is rendered as an escaped
+     * {@code E'...'} literal, which does not depend on the server's standard_conforming_strings setting.
+     *
+     * @param sql          the statement being built; must already contain a WHERE clause.
+     * @param filter       the filter to render; may be null.
+     * @param bandColumn   the qualified band column name.
+     * @param reviewColumn the qualified review column name.
+     * @param salaryColumn the qualified salary column name.
+     * @throws IllegalArgumentException if a value cannot be rendered safely.
+     */
+    static void appendLiteralPredicates(StringBuilder sql, EmployeeFilter filter,
+                                        String bandColumn, String reviewColumn, String salaryColumn) {
+        if (filter == null) {
+            return;
+        }
+        if (filter.getBand() != null) {
+            sql.append(" AND ").append(bandColumn).append(" = E'");
+            try {
+                Utils.escapeLiteral(sql, filter.getBand(), false);
+            } catch (SQLException e) {
+                throw new IllegalArgumentException("Invalid band ID", e);
+            }
+            sql.append('\'');
+        }
+        if (filter.getReview() != null) {
+            sql.append(" AND ").append(reviewColumn).append(" = ").append(filter.getReview().intValue());
+        }
+        if (filter.getMinSalary() != null) {
+            sql.append(" AND ").append(salaryColumn).append(" >= ").append(numericLiteral(filter.getMinSalary()));
+        }
+        if (filter.getMaxSalary() != null) {
+            sql.append(" AND ").append(salaryColumn).append(" <= ").append(numericLiteral(filter.getMaxSalary()));
+        }
+    }
+
+    private static String numericLiteral(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Invalid salary bound");
+        }
+        return BigDecimal.valueOf(value).toPlainString();
+    }
+}
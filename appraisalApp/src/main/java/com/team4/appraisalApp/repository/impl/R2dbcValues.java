@@ -0,0 +1,65 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.models.Money;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+import java.math.BigDecimal;
+
+/**
+ * Reads and binds values for the R2DBC repositories the way the JDBC repositories do: a numeric SQL NULL is read as
+ * 0, as by {@code ResultSet.getInt} and {@code getDouble}, and a null Java value is bound as SQL NULL.
+ */
+final class R2dbcValues {
+
+    private R2dbcValues() {
+    }
+
+    /**
+     * Reads an integer column.
+     *
+     * @param row    the row.
+     * @param column the column name.
+     * @return the value, or 0 if it is NULL.
+     */
+    static int intValue(Readable row, String column) {
+        Integer value = row.get(column, Integer.class);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Reads a numeric or floating-point column as a double.
+     *
+     * @param row    the row.
+     * @param column the column name.
+     * @return the value, or 0 if it is NULL.
+     */
+    static double doubleValue(Readable row, String column) {
+        Double value = row.get(column, Double.class);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Reads a numeric column as a count of millis.
+     *
+     * @param row    the row.
+     * @param column the column name.
+     * @return the value in millis, or 0 if it is NULL.
+     */
+    static long millisValue(Readable row, String column) {
+        return Money.fromDecimal(row.get(column, BigDecimal.class));
+    }
+
+    /**
+     * Binds a value that may be null to a named parameter.
+     *
+     * @param spec  the statement.
+     * @param name  the parameter name.
+     * @param value the value; may be null.
+     * @param type  the parameter type, used when the value is null.
+     * @return the statement with the parameter bound.
+     */
+    static GenericExecuteSpec bindNullable(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+}
@@ -0,0 +1,165 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.cache.TableVersions.Table;
+import com.team4.appraisalApp.compute.AppraisalFormula;
+import com.team4.appraisalApp.models.Appraisal;
+import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.Money;
+import com.team4.appraisalApp.repository.IReactiveAppraisalRepo;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The ReactiveAppraisalRepoImpl class implements the IReactiveAppraisalRepo interface over R2DBC.
+ * It runs the same single-statement reads and writes as {@link AppraisalRepoImpl} without blocking a thread while
+ * the database works; only active with the {@code reactive} profile. Each write runs as one auto-committed statement,
+ * so the appraisal table version is advanced as soon as it reports a changed row.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveAppraisalRepoImpl implements IReactiveAppraisalRepo {
+
+    // Multipliers read FOR SHARE, as in AppraisalRepoImpl, so a write does not race a multiplier update
+    private static final String INPUTS_SQL =
+            "(SELECT CAST(:salary AS numeric) AS salary, " +
+            "(SELECT rev_mul FROM public.review WHERE rev_id = :review FOR SHARE) * " +
+            "(SELECT band_mul FROM public.band WHERE band_id = :band FOR SHARE) AS pct) p";
+
+    private final DatabaseClient databaseClient;
+    private final TableVersions tableVersions;
+    private final int streamFetchSize;
+
+    /**
+     * Constructs a ReactiveAppraisalRepoImpl with the specified DatabaseClient.
+     *
+     * @param databaseClient  the DatabaseClient for database access.
+     * @param tableVersions   the table version counters advanced by the write methods.
+     * @param streamFetchSize the number of rows fetched per round trip when streaming.
+     */
+    public ReactiveAppraisalRepoImpl(DatabaseClient databaseClient, TableVersions tableVersions,
+                                     @Value("${appraisal.stream.fetch-size:1000}") int streamFetchSize) {
+        this.databaseClient = databaseClient;
+        this.tableVersions = tableVersions;
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    /**
+     * Maps a row to an Appraisal.
+     *
+     * @param row the row.
+     * @return the appraisal.
+     */
+    static Appraisal mapAppraisal(Readable row) {
+        return Appraisal.ofMillis(
+                R2dbcValues.intValue(row, "emp_id"),
+                row.get("emp_name", String.class),
+                R2dbcValues.intValue(row, "emp_review"),
+                row.get("emp_band", String.class),
+                R2dbcValues.millisValue(row, "current_salary"),
+                R2dbcValues.doubleValue(row, "appraisal_percentage"),
+                R2dbcValues.millisValue(row, "appraised_salary")
+        );
+    }
+
+    /**
+     * Binds the employee's details to a create or update statement.
+     *
+     * @param spec     the statement.
+     * @param employee the employee.
+     * @return the statement with every parameter bound.
+     */
+    private static GenericExecuteSpec bindEmployee(GenericExecuteSpec spec, Employee employee) {
+        return R2dbcValues.bindNullable(spec, "name", employee.getEmpName(), String.class)
+                .bind("empId", employee.getEmpId())
+                .bind("review", employee.getReview())
+                .bind("band", employee.getBand())
+                .bind("salary", Money.toDecimal(employee.getSalaryMillis()));
+    }
+
+    /**
+     * Retrieves an appraisal by employee ID.
+     *
+     * @param empId the employee ID.
+     * @return a Mono emitting the appraisal, or completing empty if the employee has no appraisal.
+     */
+    @Override
+    public Mono<Appraisal> getAppraisal(int empId) {
+        return databaseClient.sql("SELECT * FROM public.appraisal WHERE emp_id = :empId")
+                .bind("empId", empId)
+                .map(ReactiveAppraisalRepoImpl::mapAppraisal)
+                .one();
+    }
+
+    /**
+     * Streams all appraisals.
+     * Rows are fetched {@code appraisal.stream.fetch-size} at a time, and the next fetch is only made when the
+     * subscriber has requested more rows.
+     *
+     * @return a Flux of all appraisals.
+     */
+    @Override
+    public Flux<Appraisal> streamAllAppraisals() {
+        return databaseClient.sql("SELECT * FROM public.appraisal")
+                .filter((statement, next) -> next.execute(statement.fetchSize(streamFetchSize)))
+                .map(ReactiveAppraisalRepoImpl::mapAppraisal)
+                .all();
+    }
+
+    /**
+     * Creates an appraisal for an employee with a single INSERT ... ON CONFLICT DO NOTHING statement.
+     * The multipliers are looked up by scalar subqueries in the INSERT itself, as in
+     * {@link AppraisalRepoImpl#createAppraisal(Employee)}.
+     *
+     * @param employee the employee for whom the appraisal is being created.
+     * @return a Mono emitting the number of rows inserted; 0 if the appraisal already exists. Signals an
+     * IllegalArgumentException if the band ID or review ID does not exist.
+     */
+    @Override
+    public Mono<Long> createAppraisal(Employee employee) {
+        String sql = "INSERT INTO public.appraisal(emp_id, emp_name, emp_review, emp_band, current_salary, appraisal_percentage, appraised_salary) " +
+                "SELECT :empId, :name, :review, :band, p.salary, p.pct, " + AppraisalFormula.appraisedSalarySql("p.salary", "p.pct") +
+                " FROM " + INPUTS_SQL + " ON CONFLICT (emp_id) DO NOTHING";
+        return bindEmployee(databaseClient.sql(sql), employee)
+                .fetch()
+                .rowsUpdated()
+                .doOnNext(this::appraisalsWritten)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> ReferenceViolations.translate(e, "Database error while creating appraisal"));
+    }
+
+    /**
+     * Updates an employee's appraisal in a single statement, computing the percentage as
+     * {@link AppraisalRepoImpl#updateAppraisal(Employee)} does.
+     *
+     * @param employee the employee's details.
+     * @return a Mono emitting the number of rows updated; 0 if the employee has no appraisal. Signals an
+     * IllegalArgumentException if the band ID or review ID does not exist.
+     */
+    @Override
+    public Mono<Long> updateAppraisal(Employee employee) {
+        String sql = "UPDATE public.appraisal a SET emp_name = :name, emp_review = :review, emp_band = :band, " +
+                "current_salary = p.salary, appraisal_percentage = p.pct, " +
+                "appraised_salary = " + AppraisalFormula.appraisedSalarySql("p.salary", "p.pct") + " " +
+                "FROM " + INPUTS_SQL + " WHERE a.emp_id = :empId";
+        return bindEmployee(databaseClient.sql(sql), employee)
+                .fetch()
+                .rowsUpdated()
+                .doOnNext(this::appraisalsWritten)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> ReferenceViolations.translate(e, "Database error while updating appraisal"));
+    }
+
+    private void appraisalsWritten(long rows) {
+        if (rows > 0) {
+            tableVersions.bump(Table.APPRAISAL);
+        }
+    }
+}
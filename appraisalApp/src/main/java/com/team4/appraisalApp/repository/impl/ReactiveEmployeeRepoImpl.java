@@ -0,0 +1,163 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.cache.TableVersions.Table;
+import com.team4.appraisalApp.compute.AppraisalFormula;
+import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.Money;
+import com.team4.appraisalApp.repository.IReactiveEmployeeRepo;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The ReactiveEmployeeRepoImpl class implements the IReactiveEmployeeRepo interface over R2DBC.
+ * It runs the same single-statement reads and writes as {@link EmployeeRepoImpl} without blocking a thread while the
+ * database works; only active with the {@code reactive} profile. Each write runs as one auto-committed statement, so
+ * the table versions are advanced as soon as it reports a changed row.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeRepoImpl implements IReactiveEmployeeRepo {
+
+    private final DatabaseClient databaseClient;
+    private final TableVersions tableVersions;
+    private final int streamFetchSize;
+
+    /**
+     * Constructs a ReactiveEmployeeRepoImpl with the specified DatabaseClient.
+     * @param databaseClient the DatabaseClient for database access.
+     * @param tableVersions the table version counters advanced by the write methods.
+     * @param streamFetchSize the number of rows fetched per round trip when streaming.
+     */
+    public ReactiveEmployeeRepoImpl(DatabaseClient databaseClient, TableVersions tableVersions,
+                                    @Value("${appraisal.stream.fetch-size:1000}") int streamFetchSize) {
+        this.databaseClient = databaseClient;
+        this.tableVersions = tableVersions;
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    /**
+     * Maps a row to an Employee.
+     * @param row the row.
+     * @return the employee.
+     */
+    static Employee mapEmployee(Readable row) {
+        return Employee.ofMillis(
+                R2dbcValues.intValue(row, "emp_id"),
+                row.get("emp_name", String.class),
+                R2dbcValues.intValue(row, "emp_review"),
+                row.get("emp_band", String.class),
+                R2dbcValues.millisValue(row, "emp_salary")
+        );
+    }
+
+    /**
+     * Retrieves an employee by employee ID.
+     * @param empId the employee ID.
+     * @return a Mono emitting the employee, or completing empty if no employee has the ID.
+     */
+    @Override
+    public Mono<Employee> getEmployeeById(int empId) {
+        return databaseClient.sql("SELECT * FROM public.employee WHERE emp_id = :empId")
+                .bind("empId", empId)
+                .map(ReactiveEmployeeRepoImpl::mapEmployee)
+                .one();
+    }
+
+    /**
+     * Streams all employees.
+     * Rows are fetched {@code appraisal.stream.fetch-size} at a time, and the next fetch is only made when the
+     * subscriber has requested more rows, so a slow client holds back the query instead of filling memory.
+     * @return a Flux of all employees.
+     */
+    @Override
+    public Flux<Employee> streamAllEmployees() {
+        return databaseClient.sql("SELECT * FROM public.employee")
+                .filter((statement, next) -> next.execute(statement.fetchSize(streamFetchSize)))
+                .map(ReactiveEmployeeRepoImpl::mapEmployee)
+                .all();
+    }
+
+    /**
+     * Updates an existing employee and their appraisal, if any, in a single statement.
+     * The employee UPDATE ... RETURNING and the appraisal recompute run in one data-modifying CTE, so the appraisal
+     * is current as soon as the employee is; the band and review are checked by the foreign keys on the employee
+     * table.
+     * @param employee the employee with the updated details.
+     * @return a Mono emitting the employee as stored, or completing empty if no employee has the ID; signals an
+     * IllegalArgumentException if the band ID or review ID does not exist.
+     */
+    @Override
+    public Mono<Employee> updateEmployee(Employee employee) {
+        String sql = "WITH updated AS (UPDATE public.employee SET emp_name = :name, emp_review = :review, " +
+                "emp_band = :band, emp_salary = :salary WHERE emp_id = :empId RETURNING *), " +
+                "recomputed AS (UPDATE public.appraisal a SET emp_name = u.emp_name, emp_review = u.emp_review, " +
+                "emp_band = u.emp_band, current_salary = COALESCE(u.emp_salary, 0), " +
+                "appraisal_percentage = r.rev_mul * b.band_mul, " +
+                "appraised_salary = " + AppraisalFormula.appraisedSalarySql("COALESCE(u.emp_salary, 0)", "r.rev_mul * b.band_mul") + " " +
+                "FROM updated u " +
+                "JOIN public.band b ON b.band_id = u.emp_band " +
+                "JOIN public.review r ON r.rev_id = u.emp_review " +
+                "WHERE a.emp_id = u.emp_id) " +
+                "SELECT * FROM updated";
+        return R2dbcValues.bindNullable(databaseClient.sql(sql), "name", employee.getEmpName(), String.class)
+                .bind("review", employee.getReview())
+                .bind("band", employee.getBand())
+                .bind("salary", Money.toDecimal(employee.getSalaryMillis()))
+                .bind("empId", employee.getEmpId())
+                .map(ReactiveEmployeeRepoImpl::mapEmployee)
+                .one()
+                .doOnNext(updated -> tableVersions.bump(Table.EMPLOYEE, Table.APPRAISAL))
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> ReferenceViolations.translate(e, "Database error while updating employee"));
+    }
+
+    /**
+     * Deletes an employee and their appraisal, if any, in a single statement.
+     * @param empId the employee ID.
+     * @return a Mono emitting the deleted employee, or completing empty if no employee has the ID.
+     */
+    @Override
+    public Mono<Employee> deleteEmployeeById(int empId) {
+        String sql = "WITH deleted AS (DELETE FROM public.employee WHERE emp_id = :empId RETURNING *), " +
+                "deleted_appraisal AS (DELETE FROM public.appraisal WHERE emp_id IN (SELECT emp_id FROM deleted)) " +
+                "SELECT * FROM deleted";
+        return databaseClient.sql(sql)
+                .bind("empId", empId)
+                .map(ReactiveEmployeeRepoImpl::mapEmployee)
+                .one()
+                .doOnNext(deleted -> tableVersions.bump(Table.EMPLOYEE, Table.APPRAISAL));
+    }
+
+    /**
+     * Adds a new employee with a single INSERT ... ON CONFLICT DO NOTHING statement.
+     * @param employee the employee to be added.
+     * @return a Mono emitting the number of rows inserted; 0 if an employee with the ID already exists. Signals an
+     * IllegalArgumentException if the band ID or review ID does not exist.
+     */
+    @Override
+    public Mono<Long> addEmployee(Employee employee) {
+        String sql = "INSERT INTO public.employee(emp_id, emp_name, emp_review, emp_band, emp_salary) " +
+                "VALUES (:empId, :name, :review, :band, :salary) ON CONFLICT (emp_id) DO NOTHING";
+        return R2dbcValues.bindNullable(databaseClient.sql(sql), "name", employee.getEmpName(), String.class)
+                .bind("empId", employee.getEmpId())
+                .bind("review", employee.getReview())
+                .bind("band", employee.getBand())
+                .bind("salary", Money.toDecimal(employee.getSalaryMillis()))
+                .fetch()
+                .rowsUpdated()
+                .doOnNext(rows -> {
+                    if (rows > 0) {
+                        tableVersions.bump(Table.EMPLOYEE);
+                    }
+                })
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> ReferenceViolations.translate(e, "Database error while adding employee"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.models.Band;
+import com.team4.appraisalApp.models.Review;
+import com.team4.appraisalApp.repository.IReactiveReferenceRepo;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * The ReactiveReferenceRepoImpl class implements the IReactiveReferenceRepo interface over R2DBC.
+ * Only active with the {@code reactive} profile.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveReferenceRepoImpl implements IReactiveReferenceRepo {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Constructs a ReactiveReferenceRepoImpl with the specified DatabaseClient.
+     * @param databaseClient the DatabaseClient for database access.
+     */
+    public ReactiveReferenceRepoImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Streams all bands.
+     * @return a Flux of all bands.
+     */
+    @Override
+    public Flux<Band> streamAllBands() {
+        return databaseClient.sql("SELECT * FROM public.band")
+                .map(row -> new Band(row.get("band_id", String.class), R2dbcValues.doubleValue(row, "band_mul")))
+                .all();
+    }
+
+    /**
+     * Streams all reviews.
+     * @return a Flux of all reviews.
+     */
+    @Override
+    public Flux<Review> streamAllReviews() {
+        return databaseClient.sql("SELECT * FROM public.review")
+                .map(row -> new Review(R2dbcValues.intValue(row, "rev_id"), R2dbcValues.doubleValue(row, "rev_mul")))
+                .all();
+    }
+}
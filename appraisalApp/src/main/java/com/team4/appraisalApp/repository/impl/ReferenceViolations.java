@@ -0,0 +1,53 @@
+package com.team4.appraisalApp.repository.impl;
+
+import io.r2dbc.postgresql.api.ErrorDetails;
+import io.r2dbc.postgresql.api.PostgresqlException;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Maps violations of the band and review foreign keys declared in {@code schema.sql} to the validation errors the
+ * API reports for an unknown band or review. Violations reported by the JDBC driver and by the R2DBC driver of the
+ * reactive variant are both recognised.
+ */
+final class ReferenceViolations {
+
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    private ReferenceViolations() {
+    }
+
+    /**
+     * Translates a failed write into the exception the repository throws.
+     *
+     * @param e       the exception thrown by the write.
+     * @param message the message of the wrapping exception if the violation is not a band or review reference.
+     * @return an {@link IllegalArgumentException} with the message "Invalid band ID" or "Invalid review ID" if a
+     * band or review foreign key was violated, otherwise a RuntimeException wrapping {@code e}.
+     */
+    static RuntimeException translate(DataIntegrityViolationException e, String message) {
+        String constraint = violatedForeignKey(e.getMostSpecificCause());
+        if (constraint != null && constraint.endsWith("_band_fkey")) {
+            return new IllegalArgumentException("Invalid band ID", e);
+        }
+        if (constraint != null && constraint.endsWith("_review_fkey")) {
+            return new IllegalArgumentException("Invalid review ID", e);
+        }
+        return new RuntimeException(message, e);
+    }
+
+    private static String violatedForeignKey(Throwable cause) {
+        if (cause instanceof PSQLException psql && FOREIGN_KEY_VIOLATION.equals(psql.getSQLState())) {
+            ServerErrorMessage serverError = psql.getServerErrorMessage();
+            return serverError == null ? null : serverError.getConstraint();
+        }
+        if (cause instanceof PostgresqlException postgres) {
+            ErrorDetails details = postgres.getErrorDetails();
+            if (FOREIGN_KEY_VIOLATION.equals(details.getCode())) {
+                return details.getConstraintName().orElse(null);
+            }
+        }
+        return null;
+    }
+}
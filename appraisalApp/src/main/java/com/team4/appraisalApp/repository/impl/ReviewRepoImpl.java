@@ -1,5 +1,10 @@
 package com.team4.appraisalApp.repository.impl;
 
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.cache.TableVersions.Table;
+import com.team4.appraisalApp.compute.AppraisalFormula;
+import com.team4.appraisalApp.datasource.ReplicaRead;
+import com.team4.appraisalApp.models.MultiplierUpdateResult;
 import com.team4.appraisalApp.models.Review;
 import com.team4.appraisalApp.repository.IReviewRepo;
 import org.springframework.dao.DataAccessException;
@@ -7,6 +12,7 @@ import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,14 +22,20 @@ import java.util.Optional;
  */
 @Repository
 public class ReviewRepoImpl implements IReviewRepo {
+
+    private static final String LOCK_SQL = "SELECT 1 FROM public.review WHERE rev_id = ? FOR NO KEY UPDATE";
+
     private final JdbcTemplate jdbcTemplate;
+    private final TableVersions tableVersions;
 
     /**
      * Constructs a ReviewRepoImpl with the specified JdbcTemplate.
      * @param jdbcTemplate the JdbcTemplate for database access.
+     * @param tableVersions the table version counters advanced when appraisals are recomputed.
      */
-    public ReviewRepoImpl(JdbcTemplate jdbcTemplate) {
+    public ReviewRepoImpl(JdbcTemplate jdbcTemplate, TableVersions tableVersions) {
         this.jdbcTemplate = jdbcTemplate;
+        this.tableVersions = tableVersions;
     }
 
     /**
@@ -45,6 +57,7 @@ public class ReviewRepoImpl implements IReviewRepo {
      * @return an Optional containing the review if found, otherwise an empty Optional.
      */
     @Override
+    @ReplicaRead
     public Optional<Review> getReview(int revId) {
         String sql = "SELECT * FROM public.review WHERE rev_id = ?";
         try {
@@ -59,6 +72,7 @@ public class ReviewRepoImpl implements IReviewRepo {
      * @return a list of all reviews.
      */
     @Override
+    @ReplicaRead
     public List<Review> getAllReviews() {
         String sql = "SELECT * FROM public.review";
         try {
@@ -67,4 +81,42 @@ public class ReviewRepoImpl implements IReviewRepo {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Changes a review's multiplier and recomputes the affected appraisals in a single statement.
+     * As in {@link BandRepoImpl#updateBandMultiplier(String, double)}, the review row is locked first, the review
+     * UPDATE and the appraisal UPDATE run in one data-modifying CTE and only appraisals with that emp_review are
+     * rewritten.
+     * Callers must invalidate the reference data cache afterwards; {@link CachedReviewRepo} does.
+     * @param revId the review ID.
+     * @param revMul the new review multiplier.
+     * @return an Optional containing the number of appraisals recomputed, or an empty Optional if the review does not exist.
+     */
+    @Override
+    @Transactional
+    public Optional<MultiplierUpdateResult> updateReviewMultiplier(int revId, double revMul) {
+        String sql = "WITH r AS (UPDATE public.review SET rev_mul = ? WHERE rev_id = ? RETURNING rev_id, rev_mul), " +
+                "recomputed AS (UPDATE public.appraisal a SET appraisal_percentage = r.rev_mul * b.band_mul, " +
+                "appraised_salary = " + AppraisalFormula.appraisedSalarySql("COALESCE(a.current_salary, 0)", "r.rev_mul * b.band_mul") + " " +
+                "FROM r, public.band b WHERE a.emp_review = r.rev_id AND b.band_id = a.emp_band RETURNING 1) " +
+                "SELECT (SELECT count(*) FROM recomputed) FROM r";
+        long start = System.nanoTime();
+        try {
+            // Locked in a statement of its own, so that the recompute's snapshot is taken after any appraisal write
+            // holding the row FOR SHARE has committed
+            if (jdbcTemplate.queryForList(LOCK_SQL, Integer.class, revId).isEmpty()) {
+                return Optional.empty();
+            }
+            Optional<Integer> recomputed = jdbcTemplate.query(sql, (rs, row) -> rs.getInt(1), revMul, revId)
+                    .stream().findFirst();
+            if (recomputed.orElse(0) > 0) {
+                tableVersions.bump(Table.REVIEW, Table.APPRAISAL);
+            } else if (recomputed.isPresent()) {
+                tableVersions.bump(Table.REVIEW);
+            }
+            return recomputed.map(rows -> new MultiplierUpdateResult(rows, (System.nanoTime() - start) / 1_000_000));
+        } catch (DataAccessException e) {
+            throw new RuntimeException("Database error while updating review multiplier", e);
+        }
+    }
 }
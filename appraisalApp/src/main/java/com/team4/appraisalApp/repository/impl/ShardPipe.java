@@ -0,0 +1,72 @@
+package com.team4.appraisalApp.repository.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * The ShardPipe class connects a thread writing COPY data with a thread reading it, for imports and exports that
+ * are routed between shards.
+ * <p>
+ * Writes are collected into 64K blocks, and each block wakes the reader at once; a plain {@link PipedInputStream}
+ * only notices new data when it next polls, up to a second later. Either side may close its end early: the other
+ * side then fails with an IOException instead of blocking.
+ */
+final class ShardPipe {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final PipedInputStream input = new PipedInputStream(BUFFER_BYTES);
+    private final OutputStream output;
+
+    ShardPipe() {
+        PipedOutputStream sink;
+        try {
+            sink = new PipedOutputStream(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.output = new BufferedOutputStream(new FilterOutputStream(sink) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+                out.flush();
+            }
+        }, BUFFER_BYTES);
+    }
+
+    InputStream input() {
+        return input;
+    }
+
+    OutputStream output() {
+        return output;
+    }
+
+    /**
+     * Closes the reading end; a writer blocked on a full pipe fails.
+     */
+    void closeInput() {
+        closeQuietly(input);
+    }
+
+    /**
+     * Flushes and closes the writing end; the reader sees the end of the data.
+     */
+    void closeOutput() {
+        closeQuietly(output);
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // The other end has already gone away and reports its own failure
+        }
+    }
+}
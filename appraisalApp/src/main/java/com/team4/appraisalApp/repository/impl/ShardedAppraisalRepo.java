@@ -0,0 +1,451 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.datasource.ShardDataSources;
+import com.team4.appraisalApp.models.Appraisal;
+import com.team4.appraisalApp.models.AppraisalCycleResult;
+import com.team4.appraisalApp.models.BandPayrollSummary;
+import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.EmployeeFilter;
+import com.team4.appraisalApp.models.MultiplierUpdateResult;
+import com.team4.appraisalApp.models.PayrollSummaryRebuildResult;
+import com.team4.appraisalApp.repository.IAppraisalRepo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The ShardedAppraisalRepo class implements the IAppraisalRepo interface over several shard databases.
+ * <p>
+ * It is the primary IAppraisalRepo bean when {@code appraisal.sharding.shards[0].url} is set. An appraisal lives on
+ * the same shard as its employee, where an {@link AppraisalRepoImpl} per shard runs the same statements as the
+ * unsharded application. Calls for one employee go to that employee's shard only; list reads and bulk writes run on
+ * every shard in parallel and combine the results.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "appraisal.sharding.shards[0].url")
+public class ShardedAppraisalRepo implements IAppraisalRepo {
+
+    private static final Comparator<Appraisal> BY_EMP_ID = Comparator.comparingInt(Appraisal::getEmpId);
+
+    private final Shards<AppraisalRepoImpl> shards;
+    private final Shards<BandRepoImpl> bandShards;
+    private final Shards<ReviewRepoImpl> reviewShards;
+
+    /**
+     * Constructs a ShardedAppraisalRepo over the given shards.
+     *
+     * @param dataSources     the shard pools.
+     * @param tableVersions   the table version counters advanced by the write methods.
+     * @param streamFetchSize the number of rows fetched per cursor round trip when streaming.
+     */
+    public ShardedAppraisalRepo(ShardDataSources dataSources, TableVersions tableVersions,
+                                @Value("${appraisal.stream.fetch-size:1000}") int streamFetchSize) {
+        this(dataSources, tableVersions,
+                jdbcTemplate -> new AppraisalRepoImpl(jdbcTemplate, tableVersions, streamFetchSize));
+    }
+
+    /**
+     * Constructs a ShardedAppraisalRepo over the given shards with the given per-shard appraisal repositories.
+     *
+     * @param dataSources   the shard pools.
+     * @param tableVersions the table version counters advanced by the band and review updates.
+     * @param factory       creates the appraisal repository of a shard from its JdbcTemplate.
+     */
+    ShardedAppraisalRepo(ShardDataSources dataSources, TableVersions tableVersions,
+                         Function<JdbcTemplate, AppraisalRepoImpl> factory) {
+        this.shards = new Shards<>(dataSources, factory);
+        this.bandShards = new Shards<>(dataSources, jdbcTemplate -> new BandRepoImpl(jdbcTemplate, tableVersions));
+        this.reviewShards = new Shards<>(dataSources, jdbcTemplate -> new ReviewRepoImpl(jdbcTemplate, tableVersions));
+    }
+
+    /**
+     * Retrieves an appraisal by employee ID from the employee's shard.
+     * @param empId the employee ID.
+     * @return an Optional containing the appraisal if found, otherwise an empty Optional.
+     */
+    @Override
+    public Optional<Appraisal> getAppraisal(int empId) {
+        return shards.forEmpId(empId).getAppraisal(empId);
+    }
+
+    /**
+     * Retrieves all appraisals.
+     * Every shard is read in parallel and sorts its own rows; the sorted lists are then merged.
+     * @return all appraisals, in employee ID order.
+     */
+    @Override
+    public List<Appraisal> getAllAppraisals() {
+        List<List<Appraisal>> perShard = shards.scatter(shard -> {
+            List<Appraisal> appraisals = shards.get(shard).getAllAppraisals();
+            appraisals.sort(BY_EMP_ID);
+            return appraisals;
+        });
+        return Shards.mergeByEmpId(perShard, Appraisal::getEmpId, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Streams all appraisals, one shard after another, each through a forward-only cursor in a read-only
+     * transaction. The consumer is only called on the calling thread.
+     * @param action the consumer invoked for each appraisal as soon as it is mapped.
+     */
+    @Override
+    public void streamAllAppraisals(Consumer<Appraisal> action) {
+        for (int shard = 0; shard < shards.size(); shard++) {
+            AppraisalRepoImpl repo = shards.get(shard);
+            shards.inTransaction(shard, true, status -> {
+                repo.streamAllAppraisals(action);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Retrieves one page of appraisals.
+     * Every shard returns up to {@code limit} appraisals after {@code afterEmpId} in parallel, and the first
+     * {@code limit} of their merged order form the page.
+     * @param filter the filter to apply; may be null.
+     * @param afterEmpId the employee ID after which the page starts, or null for the first page.
+     * @param limit the maximum number of appraisals to return.
+     * @return the appraisals on the page.
+     */
+    @Override
+    public List<Appraisal> findAppraisals(EmployeeFilter filter, Integer afterEmpId, int limit) {
+        List<List<Appraisal>> perShard = shards.scatter(shard -> shards.get(shard).findAppraisals(filter, afterEmpId, limit));
+        return Shards.mergeByEmpId(perShard, Appraisal::getEmpId, limit);
+    }
+
+    /**
+     * Creates a new appraisal on the employee's shard.
+     * @param employee the employee for whom the appraisal is being created.
+     * @return the number of rows inserted; 0 if the appraisal already exists.
+     * @throws IllegalArgumentException if the band ID or review ID does not exist.
+     */
+    @Override
+    public int createAppraisal(Employee employee) {
+        return shards.forEmpId(employee.getEmpId()).createAppraisal(employee);
+    }
+
+    /**
+     * Updates an employee's appraisal on their shard.
+     * @param employee the employee whose appraisal is being updated.
+     * @return the number of rows updated.
+     * @throws IllegalArgumentException if the band ID or review ID does not exist.
+     */
+    @Override
+    public int updateAppraisal(Employee employee) {
+        return shards.forEmpId(employee.getEmpId()).updateAppraisal(employee);
+    }
+
+    /**
+     * Deletes an employee's appraisal on their shard.
+     * @param empId the employee ID.
+     * @return the number of rows deleted.
+     */
+    @Override
+    public int deleteAppraisal(int empId) {
+        return shards.forEmpId(empId).deleteAppraisal(empId);
+    }
+
+    /**
+     * Recomputes the appraisals of the matching employees on every shard in parallel.
+     * Each shard's cycle is atomic; the shards are not updated atomically together.
+     * @param filter the filter to apply; may be null.
+     * @return the total number of appraisals written and the elapsed time of the whole cycle.
+     */
+    @Override
+    public AppraisalCycleResult runAppraisalCycle(EmployeeFilter filter) {
+        long start = System.nanoTime();
+        int rows = 0;
+        for (AppraisalCycleResult result : shards.scatter(shard -> shards.get(shard).runAppraisalCycle(filter))) {
+            rows += result.getRowsProcessed();
+        }
+        return new AppraisalCycleResult(rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Recomputes the appraisals of the given employees, with one statement per shard that holds any of them.
+     * @param empIds the employee IDs.
+     * @return the total number of appraisals written.
+     */
+    @Override
+    public int recomputeAppraisals(List<Integer> empIds) {
+        List<List<Integer>> partitions = shards.partition(empIds);
+        int rows = 0;
+        for (int shardRows : shards.scatter(shard -> partitions.get(shard).isEmpty()
+                ? 0
+                : shards.get(shard).recomputeAppraisals(partitions.get(shard)))) {
+            rows += shardRows;
+        }
+        return rows;
+    }
+
+    /**
+     * Retrieves the per-band payroll totals, adding up the maintained totals of every shard.
+     * The average percentage of a band is the average of the shards' averages weighted by their headcounts.
+     * @return one summary per band with at least one appraisal, in band ID order.
+     */
+    @Override
+    public List<BandPayrollSummary> getBandPayrollSummary() {
+        return mergeBands(shards.scatter(shard -> shards.get(shard).getBandPayrollSummary()));
+    }
+
+    /**
+     * Rebuilds the per-band payroll totals on every shard in parallel, each in its own transaction.
+     * @return the total number of corrected shard rows, the combined rebuilt totals and the elapsed time.
+     */
+    @Override
+    public PayrollSummaryRebuildResult rebuildBandPayrollSummary() {
+        long start = System.nanoTime();
+        List<PayrollSummaryRebuildResult> perShard = shards.scatter(shard ->
+                shards.inTransaction(shard, false, status -> shards.get(shard).rebuildBandPayrollSummary()));
+        int corrected = 0;
+        List<List<BandPayrollSummary>> bands = new ArrayList<>(perShard.size());
+        for (PayrollSummaryRebuildResult result : perShard) {
+            corrected += result.getBandsCorrected();
+            bands.add(result.getBands());
+        }
+        return new PayrollSummaryRebuildResult(corrected, mergeBands(bands), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static List<BandPayrollSummary> mergeBands(List<List<BandPayrollSummary>> perShard) {
+        Map<String, long[]> totals = new TreeMap<>();
+        Map<String, double[]> percentages = new TreeMap<>();
+        for (List<BandPayrollSummary> bands : perShard) {
+            for (BandPayrollSummary band : bands) {
+                long[] sums = totals.computeIfAbsent(band.getBandId(), id -> new long[3]);
+                sums[0] += band.getHeadcount();
+                sums[1] += band.getCurrentPayrollMillis();
+                sums[2] += band.getAppraisedPayrollMillis();
+                if (band.getAveragePercentage() != null) {
+                    double[] weighted = percentages.computeIfAbsent(band.getBandId(), id -> new double[2]);
+                    weighted[0] += band.getAveragePercentage() * band.getHeadcount();
+                    weighted[1] += band.getHeadcount();
+                }
+            }
+        }
+        List<BandPayrollSummary> merged = new ArrayList<>(totals.size());
+        totals.forEach((bandId, sums) -> {
+            double[] weighted = percentages.get(bandId);
+            merged.add(new BandPayrollSummary(bandId, sums[0], sums[1], sums[2],
+                    weighted == null || weighted[1] == 0 ? null : weighted[0] / weighted[1]));
+        });
+        return merged;
+    }
+
+    /**
+     * Exports appraisals as CSV.
+     * Every shard runs its COPY export in parallel into a {@link ShardPipe}, and the calling thread merges the
+     * records in employee ID order into the output with a single header, so the shards' rows are never held in
+     * memory together.
+     * @param filter the filter to apply; may be null.
+     * @param out the stream the CSV is written to; it is flushed but not closed.
+     * @return the total number of rows written.
+     * @throws IllegalArgumentException if a filter value is invalid.
+     * @throws UncheckedIOException if the output cannot be written.
+     */
+    @Override
+    public long exportAppraisalsCsv(EmployeeFilter filter, OutputStream out) {
+        int shardCount = shards.size();
+        ShardPipe[] pipes = new ShardPipe[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            pipes[shard] = new ShardPipe();
+        }
+        List<Future<Long>> results = shards.submit(shard -> {
+            try {
+                return shards.get(shard).exportAppraisalsCsv(filter, pipes[shard].output());
+            } finally {
+                pipes[shard].closeOutput();
+            }
+        });
+
+        IOException outputFailure = null;
+        try {
+            mergeRecords(pipes, new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            outputFailure = e;
+        } finally {
+            for (ShardPipe pipe : pipes) {
+                pipe.closeInput();
+            }
+        }
+        if (outputFailure != null) {
+            // The shards fail once their pipes close; the output failure is the cause
+            try {
+                Shards.await(results);
+            } catch (RuntimeException e) {
+                outputFailure.addSuppressed(e);
+            }
+            throw new UncheckedIOException(outputFailure);
+        }
+        long rows = 0;
+        for (long shardRows : Shards.await(results)) {
+            rows += shardRows;
+        }
+        return rows;
+    }
+
+    private static void mergeRecords(ShardPipe[] pipes, Writer writer) throws IOException {
+        CsvRecords[] records = new CsvRecords[pipes.length];
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, pipes.length),
+                Comparator.comparingInt((int[] head) -> head[0]));
+        boolean headerWritten = false;
+        for (int shard = 0; shard < pipes.length; shard++) {
+            records[shard] = new CsvRecords(new InputStreamReader(pipes[shard].input(), StandardCharsets.UTF_8));
+            if (!records[shard].next()) {
+                continue;
+            }
+            if (!headerWritten) {
+                writer.append(records[shard].text());
+                headerWritten = true;
+            }
+            if (records[shard].next()) {
+                heads.add(new int[]{empIdOf(records[shard]), shard});
+            }
+        }
+        while (!heads.isEmpty()) {
+            int shard = heads.poll()[1];
+            writer.append(records[shard].text());
+            if (records[shard].next()) {
+                heads.add(new int[]{empIdOf(records[shard]), shard});
+            }
+        }
+        writer.flush();
+    }
+
+    private static int empIdOf(CsvRecords records) {
+        Integer empId = records.empId();
+        return empId == null ? Integer.MIN_VALUE : empId;
+    }
+
+    /**
+     * Changes a band's multiplier on the primary and in every shard's copy of the band table, and recomputes the
+     * affected appraisals; see {@link #updateEverywhere}.
+     * @param bandId the band ID.
+     * @param bandMul the new band multiplier.
+     * @param primary the update of the primary's band table.
+     * @return an Optional containing the total number of appraisals recomputed, or an empty Optional if the band
+     * does not exist on the primary.
+     */
+    public Optional<MultiplierUpdateResult> updateBandMultiplier(String bandId, double bandMul,
+                                                                 Supplier<Optional<MultiplierUpdateResult>> primary) {
+        return updateEverywhere(bandShards, repo -> repo.updateBandMultiplier(bandId, bandMul), primary);
+    }
+
+    /**
+     * Changes a review's multiplier on the primary and in every shard's copy of the review table, and recomputes the
+     * affected appraisals; see {@link #updateEverywhere}.
+     * @param revId the review ID.
+     * @param revMul the new review multiplier.
+     * @param primary the update of the primary's review table.
+     * @return an Optional containing the total number of appraisals recomputed, or an empty Optional if the review
+     * does not exist on the primary.
+     */
+    public Optional<MultiplierUpdateResult> updateReviewMultiplier(int revId, double revMul,
+                                                                   Supplier<Optional<MultiplierUpdateResult>> primary) {
+        return updateEverywhere(reviewShards, repo -> repo.updateReviewMultiplier(revId, revMul), primary);
+    }
+
+    /**
+     * Runs a multiplier update on every shard and on the primary.
+     * <p>
+     * Each shard updates in its own transaction, in parallel, and then waits. The primary is updated only once every
+     * shard has succeeded, and the shards commit only once the primary has committed; if any shard fails, or the
+     * primary fails or does not have the row, every shard rolls back. A failure while the shards commit can still
+     * leave some shards on the old multiplier. The update sets an absolute value and recomputes from it, so
+     * repeating the same request brings every database to the same state.
+     *
+     * @param repos   the shard repositories.
+     * @param update  the update of one shard.
+     * @param primary the update of the primary.
+     * @param <R>     the repository type.
+     * @return the primary's result with the shards' recomputed appraisals added, or an empty Optional if the
+     * primary does not have the row.
+     */
+    static <R> Optional<MultiplierUpdateResult> updateEverywhere(Shards<R> repos,
+                                                                 Function<R, Optional<MultiplierUpdateResult>> update,
+                                                                 Supplier<Optional<MultiplierUpdateResult>> primary) {
+        long start = System.nanoTime();
+        CountDownLatch updated = new CountDownLatch(repos.size());
+        CountDownLatch decided = new CountDownLatch(1);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<Optional<MultiplierUpdateResult>>> results = repos.submit(shard ->
+                repos.inTransaction(shard, false, status -> {
+                    Optional<MultiplierUpdateResult> result;
+                    try {
+                        result = update.apply(repos.get(shard));
+                    } catch (RuntimeException e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        updated.countDown();
+                    }
+                    try {
+                        decided.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failed.set(true);
+                    }
+                    if (failed.get()) {
+                        status.setRollbackOnly();
+                    }
+                    return result;
+                }));
+
+        Optional<MultiplierUpdateResult> result = Optional.empty();
+        RuntimeException primaryFailure = null;
+        try {
+            updated.await();
+            if (!failed.get()) {
+                result = primary.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primaryFailure = new IllegalStateException("Interrupted while updating the shards", e);
+        } catch (RuntimeException e) {
+            primaryFailure = e;
+        } finally {
+            if (result.isEmpty()) {
+                failed.set(true);
+            }
+            decided.countDown();
+        }
+        // A shard failure means the primary was not updated; report it once every shard has rolled back
+        List<Optional<MultiplierUpdateResult>> perShard = Shards.await(results);
+        if (primaryFailure != null) {
+            throw primaryFailure;
+        }
+        if (result.isEmpty()) {
+            return result;
+        }
+        int recomputed = result.get().getAppraisalsRecomputed();
+        for (Optional<MultiplierUpdateResult> shardResult : perShard) {
+            recomputed += shardResult.map(MultiplierUpdateResult::getAppraisalsRecomputed).orElse(0);
+        }
+        return Optional.of(new MultiplierUpdateResult(recomputed, (System.nanoTime() - start) / 1_000_000));
+    }
+}
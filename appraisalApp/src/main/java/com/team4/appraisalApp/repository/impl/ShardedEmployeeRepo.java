@@ -0,0 +1,357 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.datasource.ShardDataSources;
+import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.EmployeeFilter;
+import com.team4.appraisalApp.models.EmployeeImportResult;
+import com.team4.appraisalApp.models.ImportRejection;
+import com.team4.appraisalApp.repository.IEmployeeRepo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The ShardedEmployeeRepo class implements the IEmployeeRepo interface over several shard databases.
+ * <p>
+ * It is the primary IEmployeeRepo bean when {@code appraisal.sharding.shards[0].url} is set. Each employee lives
+ * on the shard chosen by {@link ShardDataSources#shardOf(int)}, where an {@link EmployeeRepoImpl} per shard runs the
+ * same statements as the unsharded application. Calls for one employee go to that employee's shard only; list
+ * reads query every shard in parallel and merge the results in employee ID order.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "appraisal.sharding.shards[0].url")
+public class ShardedEmployeeRepo implements IEmployeeRepo {
+
+    private static final Comparator<Employee> BY_EMP_ID = Comparator.comparingInt(Employee::getEmpId);
+
+    private final Shards<EmployeeRepoImpl> shards;
+
+    /**
+     * Constructs a ShardedEmployeeRepo over the given shards.
+     *
+     * @param dataSources     the shard pools.
+     * @param tableVersions   the table version counters advanced by the write methods.
+     * @param streamFetchSize the number of rows fetched per cursor round trip when streaming.
+     */
+    public ShardedEmployeeRepo(ShardDataSources dataSources, TableVersions tableVersions,
+                               @Value("${appraisal.stream.fetch-size:1000}") int streamFetchSize) {
+        this(dataSources, jdbcTemplate -> new EmployeeRepoImpl(jdbcTemplate, tableVersions, streamFetchSize));
+    }
+
+    /**
+     * Constructs a ShardedEmployeeRepo over the given shards with the given per-shard repositories.
+     *
+     * @param dataSources the shard pools.
+     * @param factory     creates the repository of a shard from its JdbcTemplate.
+     */
+    ShardedEmployeeRepo(ShardDataSources dataSources, Function<JdbcTemplate, EmployeeRepoImpl> factory) {
+        this.shards = new Shards<>(dataSources, factory);
+    }
+
+    /**
+     * Retrieves an employee by employee ID from their shard.
+     * @param empId the employee ID.
+     * @return an Optional containing the employee if found, otherwise an empty Optional.
+     */
+    @Override
+    public Optional<Employee> getEmployeeById(int empId) {
+        return shards.forEmpId(empId).getEmployeeById(empId);
+    }
+
+    /**
+     * Retrieves all employees.
+     * Every shard is read in parallel and sorts its own rows; the sorted lists are then merged.
+     * @return all employees, in employee ID order.
+     */
+    @Override
+    public List<Employee> getAllEmployees() {
+        List<List<Employee>> perShard = shards.scatter(shard -> {
+            List<Employee> employees = shards.get(shard).getAllEmployees();
+            employees.sort(BY_EMP_ID);
+            return employees;
+        });
+        return Shards.mergeByEmpId(perShard, Employee::getEmpId, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Streams all employees, one shard after another, each through a forward-only cursor in a read-only transaction.
+     * The consumer is only called on the calling thread, and memory use stays at one fetch of rows.
+     * @param action the consumer invoked for each employee as soon as it is mapped.
+     */
+    @Override
+    public void streamAllEmployees(Consumer<Employee> action) {
+        for (int shard = 0; shard < shards.size(); shard++) {
+            EmployeeRepoImpl repo = shards.get(shard);
+            shards.inTransaction(shard, true, status -> {
+                repo.streamAllEmployees(action);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Retrieves one page of employees.
+     * Every shard returns up to {@code limit} employees after {@code afterEmpId} in parallel, and the first
+     * {@code limit} of their merged order form the page.
+     * @param filter the filter to apply; may be null.
+     * @param afterEmpId the employee ID after which the page starts, or null for the first page.
+     * @param limit the maximum number of employees to return.
+     * @return the employees on the page.
+     */
+    @Override
+    public List<Employee> findEmployees(EmployeeFilter filter, Integer afterEmpId, int limit) {
+        List<List<Employee>> perShard = shards.scatter(shard -> shards.get(shard).findEmployees(filter, afterEmpId, limit));
+        return Shards.mergeByEmpId(perShard, Employee::getEmpId, limit);
+    }
+
+    /**
+     * Deletes an employee and their appraisal on their shard.
+     * @param empId the employee ID.
+     * @return an Optional containing the deleted employee, or an empty Optional if no employee has the ID.
+     */
+    @Override
+    public Optional<Employee> deleteEmployeeById(int empId) {
+        return shards.forEmpId(empId).deleteEmployeeById(empId);
+    }
+
+    /**
+     * Deletes several employees and their appraisals, with one statement per shard that holds any of them.
+     * Each shard's delete is atomic; the shards are not deleted from atomically together.
+     * @param empIds the employee IDs; IDs that do not exist are ignored.
+     * @return the deleted employees, in employee ID order.
+     */
+    @Override
+    public List<Employee> deleteEmployeesByIds(List<Integer> empIds) {
+        List<List<Integer>> partitions = shards.partition(empIds);
+        List<List<Employee>> perShard = shards.scatter(shard -> partitions.get(shard).isEmpty()
+                ? List.of()
+                : shards.get(shard).deleteEmployeesByIds(partitions.get(shard)));
+        return Shards.mergeByEmpId(perShard, Employee::getEmpId, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Updates an existing employee on their shard.
+     * @param employee the employee to be updated.
+     * @return an Optional containing the employee as stored if found, otherwise an empty Optional.
+     * @throws IllegalArgumentException if the band ID or review ID does not exist.
+     */
+    @Override
+    public Optional<Employee> updateEmployee(Employee employee) {
+        return shards.forEmpId(employee.getEmpId()).updateEmployee(employee);
+    }
+
+    /**
+     * Adds a new employee on the shard their ID maps to.
+     * @param employee the employee to be added.
+     * @return the number of rows inserted; 0 if an employee with the ID already exists.
+     * @throws IllegalArgumentException if the band ID or review ID does not exist.
+     */
+    @Override
+    public int addEmployee(Employee employee) {
+        return shards.forEmpId(employee.getEmpId()).addEmployee(employee);
+    }
+
+    /**
+     * Bulk imports employees from CSV.
+     * Records are split off the input as it is read and passed unchanged to the COPY of their shard; see
+     * {@link #importRouted(RecordSource)}. A record without a readable employee ID goes to the first shard, where
+     * it is rejected or fails the import exactly as without sharding.
+     * @param csv the CSV input with the columns emp_id, emp_name, emp_review, emp_band, emp_salary.
+     * @param header whether the first line is a header to skip.
+     * @return the number of rows received and imported, and the per-row rejections.
+     * @throws IllegalArgumentException if the input is not valid CSV for the staging table.
+     */
+    @Override
+    public EmployeeImportResult importEmployeesCsv(InputStream csv, boolean header) {
+        return importRouted(feed -> {
+            CsvRecords records = new CsvRecords(new InputStreamReader(csv, StandardCharsets.UTF_8));
+            if (header) {
+                records.next();
+            }
+            while (records.next()) {
+                Integer empId = records.empId();
+                feed.write(empId == null ? 0 : shards.shardOf(empId), records.text());
+            }
+        });
+    }
+
+    /**
+     * Bulk imports employees from an iterator.
+     * Each employee is encoded as a CSV line and passed to the COPY of their shard while the iterator is consumed;
+     * see {@link #importRouted(RecordSource)}.
+     * @param employees the employees to import, in input order.
+     * @return the number of rows received and imported, and the per-row rejections.
+     * @throws IllegalArgumentException if the staging table rejects a value.
+     */
+    @Override
+    public EmployeeImportResult importEmployees(Iterator<Employee> employees) {
+        return importRouted(feed -> {
+            StringBuilder line = new StringBuilder();
+            while (employees.hasNext()) {
+                Employee employee = employees.next();
+                line.setLength(0);
+                EmployeeRepoImpl.appendCsvLine(line, employee);
+                feed.write(shards.shardOf(employee.getEmpId()), line);
+            }
+        });
+    }
+
+    /**
+     * Produces the CSV records of an import and hands each one to the shard it belongs to.
+     */
+    @FunctionalInterface
+    private interface RecordSource {
+        /**
+         * Writes every record of the input to the feed.
+         * @param feed the per-shard COPY streams.
+         */
+        void writeTo(ShardFeed feed) throws IOException;
+    }
+
+    /**
+     * Accepts CSV records for the COPY of one shard.
+     */
+    @FunctionalInterface
+    private interface ShardFeed {
+        /**
+         * Writes one record.
+         * @param shard the shard index.
+         * @param record the record, including its line terminator.
+         */
+        void write(int shard, CharSequence record) throws IOException;
+    }
+
+    /**
+     * Runs a bulk import on every shard at once.
+     * <p>
+     * Each shard runs the import of {@link EmployeeRepoImpl} in its own transaction, reading its records through a
+     * {@link ShardPipe} while the input is consumed on the calling thread, so the body is still never held in
+     * memory. An employee ID always maps to the same shard, so duplicates within the input are still found. Row
+     * numbers in the rejections are the record numbers in the whole input, so the calling thread keeps one long
+     * per record to translate them.
+     * <p>
+     * No shard commits until every shard has loaded and merged its records; if any shard fails, or the input cannot
+     * be read, all of them roll back. A failure while the shards commit can still leave some shards imported.
+     *
+     * @param source the input.
+     * @return the combined import result.
+     */
+    private EmployeeImportResult importRouted(RecordSource source) {
+        long start = System.nanoTime();
+        int shardCount = shards.size();
+        ShardPipe[] pipes = new ShardPipe[shardCount];
+        Writer[] writers = new Writer[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            pipes[shard] = new ShardPipe();
+            writers[shard] = new OutputStreamWriter(pipes[shard].output(), StandardCharsets.UTF_8);
+        }
+        CountDownLatch loaded = new CountDownLatch(shardCount);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<EmployeeImportResult>> results = shards.submit(shard -> shards.inTransaction(shard, false, status -> {
+            EmployeeImportResult result;
+            try {
+                result = shards.get(shard).importEmployeesCsv(pipes[shard].input(), false);
+            } catch (RuntimeException e) {
+                failed.set(true);
+                throw e;
+            } finally {
+                pipes[shard].closeInput();
+                loaded.countDown();
+            }
+            try {
+                loaded.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.set(true);
+            }
+            if (failed.get()) {
+                status.setRollbackOnly();
+            }
+            return result;
+        }));
+
+        long[][] recordNumbers = new long[shardCount][1024];
+        int[] recordCounts = new int[shardCount];
+        long[] records = new long[1];
+        RuntimeException inputFailure = null;
+        try {
+            source.writeTo((shard, record) -> {
+                if (recordCounts[shard] == recordNumbers[shard].length) {
+                    recordNumbers[shard] = Arrays.copyOf(recordNumbers[shard], recordCounts[shard] * 2);
+                }
+                recordNumbers[shard][recordCounts[shard]++] = ++records[0];
+                writers[shard].append(record);
+            });
+        } catch (IOException e) {
+            failed.set(true);
+            inputFailure = new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            failed.set(true);
+            inputFailure = e;
+        } finally {
+            for (int shard = 0; shard < shardCount; shard++) {
+                try {
+                    writers[shard].close();
+                } catch (IOException e) {
+                    // The shard has stopped reading and reports its own failure
+                }
+            }
+        }
+        // A failed shard closes its pipe, which the input loop sees as an IOException; report the shard's failure
+        List<EmployeeImportResult> perShard = Shards.await(results);
+        if (inputFailure != null) {
+            throw inputFailure;
+        }
+
+        return combine(perShard, recordNumbers, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds up the import results of the shards and translates the row numbers of their rejections, which count the
+     * records of one shard, into record numbers in the whole input.
+     *
+     * @param perShard      the result of each shard, in shard order.
+     * @param recordNumbers for each shard, the input record number of each of its records, in order.
+     * @param elapsedMillis    the duration of the whole import.
+     * @return the combined result, with the rejections in input order.
+     */
+    static EmployeeImportResult combine(List<EmployeeImportResult> perShard, long[][] recordNumbers, long elapsedMillis) {
+        long received = 0;
+        long imported = 0;
+        List<ImportRejection> rejections = new ArrayList<>();
+        for (int shard = 0; shard < perShard.size(); shard++) {
+            EmployeeImportResult result = perShard.get(shard);
+            received += result.getRowsReceived();
+            imported += result.getRowsImported();
+            for (ImportRejection rejection : result.getRejections()) {
+                rejections.add(new ImportRejection(recordNumbers[shard][(int) rejection.getRow() - 1],
+                        rejection.getEmpId(), rejection.getReason()));
+            }
+        }
+        rejections.sort(Comparator.comparingLong(ImportRejection::getRow));
+        return new EmployeeImportResult(received, imported, rejections, elapsedMillis);
+    }
+}
@@ -0,0 +1,229 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.datasource.ShardDataSources;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * The Shards class holds one JDBC repository per employee shard and runs calls on one shard or on all of them.
+ * <p>
+ * The per-shard repositories are plain instances rather than Spring beans, so their {@code @Transactional} methods
+ * are not proxied; callers that need a transaction wrap the call in {@link #inTransaction}.
+ *
+ * @param <R> the repository type.
+ */
+final class Shards<R> {
+
+    private final ShardDataSources dataSources;
+    private final List<R> repos = new ArrayList<>();
+    private final List<TransactionTemplate> transactions = new ArrayList<>();
+    private final List<TransactionTemplate> readOnlyTransactions = new ArrayList<>();
+
+    /**
+     * Constructs a Shards instance with one repository per shard.
+     *
+     * @param dataSources the shard pools.
+     * @param factory     creates the repository of a shard from its JdbcTemplate.
+     */
+    Shards(ShardDataSources dataSources, Function<JdbcTemplate, R> factory) {
+        this.dataSources = dataSources;
+        for (int shard = 0; shard < dataSources.size(); shard++) {
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSources.get(shard));
+            repos.add(factory.apply(new JdbcTemplate(dataSources.get(shard))));
+            transactions.add(new TransactionTemplate(transactionManager));
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnlyTransactions.add(readOnly);
+        }
+    }
+
+    int size() {
+        return repos.size();
+    }
+
+    R get(int shard) {
+        return repos.get(shard);
+    }
+
+    int shardOf(int empId) {
+        return dataSources.shardOf(empId);
+    }
+
+    R forEmpId(int empId) {
+        return repos.get(dataSources.shardOf(empId));
+    }
+
+    /**
+     * Runs a call in a transaction on one shard.
+     *
+     * @param shard    the shard index.
+     * @param readOnly whether the transaction is read-only.
+     * @param work     the call; it may mark the transaction rollback-only.
+     * @param <T>      the result type.
+     * @return the call's result.
+     */
+    <T> T inTransaction(int shard, boolean readOnly, Function<TransactionStatus, T> work) {
+        return (readOnly ? readOnlyTransactions : transactions).get(shard).execute(work::apply);
+    }
+
+    /**
+     * Starts a call on every shard on the shard executor.
+     *
+     * @param call the call, given the shard index.
+     * @param <T>  the result type.
+     * @return the pending results, in shard order.
+     */
+    <T> List<Future<T>> submit(IntFunction<T> call) {
+        List<Future<T>> futures = new ArrayList<>(repos.size());
+        for (int shard = 0; shard < repos.size(); shard++) {
+            int index = shard;
+            futures.add(dataSources.executor().submit(() -> call.apply(index)));
+        }
+        return futures;
+    }
+
+    /**
+     * Runs a call on every shard in parallel and waits for all of them.
+     *
+     * @param call the call, given the shard index.
+     * @param <T>  the result type.
+     * @return the results, in shard order.
+     * @throws RuntimeException the first failure, in shard order, as thrown by the call.
+     */
+    <T> List<T> scatter(IntFunction<T> call) {
+        return await(submit(call));
+    }
+
+    /**
+     * Waits for every pending result, even after one has failed, so that no shard call outlives the caller.
+     *
+     * @param futures the pending results.
+     * @param <T>     the result type.
+     * @return the results, in order.
+     * @throws RuntimeException the first failure, in order, as thrown by the call.
+     */
+    static <T> List<T> await(List<Future<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        RuntimeException failure = null;
+        boolean interrupted = false;
+        for (Future<T> future : futures) {
+            while (true) {
+                try {
+                    results.add(future.get());
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | CancellationException e) {
+                    RuntimeException cause = unwrap(e);
+                    if (failure == null) {
+                        failure = cause;
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                    results.add(null);
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    private static RuntimeException unwrap(Exception e) {
+        Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeException(cause);
+    }
+
+    /**
+     * Splits employee IDs by shard.
+     *
+     * @param empIds the employee IDs.
+     * @return one list per shard, in shard order, keeping the input order within each shard.
+     */
+    List<List<Integer>> partition(List<Integer> empIds) {
+        List<List<Integer>> partitions = new ArrayList<>(repos.size());
+        for (int shard = 0; shard < repos.size(); shard++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (Integer empId : empIds) {
+            partitions.get(dataSources.shardOf(empId)).add(empId);
+        }
+        return partitions;
+    }
+
+    /**
+     * Merges lists that are each sorted by employee ID into one sorted list.
+     *
+     * @param sorted the lists, each in employee ID order.
+     * @param empId  extracts the employee ID of a row.
+     * @param limit  the maximum number of rows to return.
+     * @param <T>    the row type.
+     * @return the first {@code limit} rows of the merged order.
+     */
+    static <T> List<T> mergeByEmpId(List<List<T>> sorted, ToIntFunction<T> empId, int limit) {
+        int total = 0;
+        for (List<T> rows : sorted) {
+            total += rows.size();
+        }
+        List<T> merged = new ArrayList<>(Math.min(total, limit));
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, sorted.size()));
+        for (List<T> rows : sorted) {
+            Iterator<T> it = rows.iterator();
+            if (it.hasNext()) {
+                heads.add(new Head<>(it.next(), it, empId));
+            }
+        }
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head<T> head = heads.poll();
+            merged.add(head.row);
+            if (head.rest.hasNext()) {
+                heads.add(new Head<>(head.rest.next(), head.rest, empId));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * The next row of one sorted list, ordered by employee ID.
+     */
+    private static final class Head<T> implements Comparable<Head<T>> {
+        private final T row;
+        private final Iterator<T> rest;
+        private final int empId;
+
+        Head(T row, Iterator<T> rest, ToIntFunction<T> empId) {
+            this.row = row;
+            this.rest = rest;
+            this.empId = empId.applyAsInt(row);
+        }
+
+        @Override
+        public int compareTo(Head<T> other) {
+            return Integer.compare(empId, other.empId);
+        }
+    }
+}
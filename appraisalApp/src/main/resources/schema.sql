@@ -0,0 +1,184 @@
+-- Schema for the appraisal service. Executed on every startup (spring.sql.init.mode=always),
+-- so every statement must be idempotent.
+
+CREATE TABLE IF NOT EXISTS public.band (
+    band_id TEXT COLLATE pg_catalog."default" NOT NULL,
+    band_mul DOUBLE PRECISION,
+    CONSTRAINT band_pkey PRIMARY KEY (band_id)
+);
+
+CREATE TABLE IF NOT EXISTS public.review (
+    rev_id INTEGER NOT NULL,
+    rev_mul DOUBLE PRECISION,
+    CONSTRAINT review_pkey PRIMARY KEY (rev_id)
+);
+
+CREATE TABLE IF NOT EXISTS public.employee (
+    emp_id INTEGER NOT NULL,
+    emp_name TEXT COLLATE pg_catalog."default",
+    emp_review INTEGER,
+    emp_band TEXT COLLATE pg_catalog."default",
+    emp_salary NUMERIC(15,3),
+    CONSTRAINT employee_pkey PRIMARY KEY (emp_id)
+);
+
+CREATE TABLE IF NOT EXISTS public.appraisal (
+    emp_id integer NOT NULL,
+    emp_name text COLLATE pg_catalog."default",
+    emp_review integer,
+    emp_band text COLLATE pg_catalog."default",
+    current_salary numeric(15,3),
+    appraisal_percentage double precision,
+    appraised_salary numeric(15,3),
+    CONSTRAINT "Appraisal_pkey" PRIMARY KEY (emp_id)
+);
+
+-- Filter indexes for the paged list endpoints. Band and review filters are equality predicates
+-- combined with the emp_id keyset, so emp_id is the trailing column and pages are read in index order.
+CREATE INDEX IF NOT EXISTS employee_band_emp_id_idx ON public.employee (emp_band, emp_id);
+CREATE INDEX IF NOT EXISTS employee_review_emp_id_idx ON public.employee (emp_review, emp_id);
+CREATE INDEX IF NOT EXISTS employee_salary_idx ON public.employee (emp_salary);
+
+CREATE INDEX IF NOT EXISTS appraisal_band_emp_id_idx ON public.appraisal (emp_band, emp_id);
+CREATE INDEX IF NOT EXISTS appraisal_review_emp_id_idx ON public.appraisal (emp_review, emp_id);
+CREATE INDEX IF NOT EXISTS appraisal_salary_idx ON public.appraisal (current_salary);
+
+-- Foreign keys from employee and appraisal to band and review, so writes are validated by the database in the
+-- same statement instead of by a lookup beforehand. PostgreSQL has no ADD CONSTRAINT IF NOT EXISTS, so each
+-- constraint is added by a DO block only if pg_constraint does not have it yet: a startup with the constraints in
+-- place takes no table lock and never leaves a window without them. They are added NOT VALID, a catalog-only change
+-- that checks every new INSERT and UPDATE without scanning existing rows. Like the trigger function below, the
+-- blocks are single-quoted because the script runner does not understand dollar quoting.
+DO '
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN SELECT * FROM (VALUES
+            (''employee'', ''employee_band_fkey'', ''emp_band'', ''band'', ''band_id''),
+            (''employee'', ''employee_review_fkey'', ''emp_review'', ''review'', ''rev_id''),
+            (''appraisal'', ''appraisal_band_fkey'', ''emp_band'', ''band'', ''band_id''),
+            (''appraisal'', ''appraisal_review_fkey'', ''emp_review'', ''review'', ''rev_id'')
+        ) AS f (table_name, constraint_name, column_name, referenced_table, referenced_column) LOOP
+        IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                       WHERE conrelid = (''public.'' || fk.table_name)::regclass
+                         AND conname = fk.constraint_name) THEN
+            EXECUTE format(''ALTER TABLE public.%I ADD CONSTRAINT %I FOREIGN KEY (%I) REFERENCES public.%I (%I) NOT VALID'',
+                fk.table_name, fk.constraint_name, fk.column_name, fk.referenced_table, fk.referenced_column);
+        END IF;
+    END LOOP;
+END';
+
+-- Validates the constraints in a transaction of its own, so the scan of existing rows only takes SHARE UPDATE
+-- EXCLUSIVE and does not block writes. Constraints that are already valid are skipped without a scan. Rows written
+-- before the constraints existed may violate them; such a constraint is left NOT VALID with a warning (it still
+-- checks new writes) rather than failing startup.
+DO '
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN SELECT conrelid::regclass AS table_name, conname AS constraint_name FROM pg_constraint
+              WHERE conname IN (''employee_band_fkey'', ''employee_review_fkey'',
+                                ''appraisal_band_fkey'', ''appraisal_review_fkey'')
+                AND conrelid IN (''public.employee''::regclass, ''public.appraisal''::regclass)
+                AND NOT convalidated LOOP
+        BEGIN
+            EXECUTE format(''ALTER TABLE %s VALIDATE CONSTRAINT %I'', fk.table_name, fk.constraint_name);
+        EXCEPTION WHEN foreign_key_violation THEN
+            RAISE WARNING ''% has existing rows that violate it and stays NOT VALID'', fk.constraint_name;
+        END;
+    END LOOP;
+END';
+
+-- Per-band payroll totals over the appraisal table, kept up to date by statement-level triggers so that every
+-- write path (single-row writes, the appraisal cycle, cascading employee deletes and multiplier recomputes) applies
+-- its delta in the same transaction. Appraisals without a band are not counted. percentage_sum is numeric so that
+-- adding and subtracting the same percentages cancels exactly. The delta is an upsert of the band's summary row,
+-- which stays locked until the writing transaction commits, so all appraisal writes to one band are serialized.
+CREATE TABLE IF NOT EXISTS public.appraisal_band_summary (
+    emp_band TEXT COLLATE pg_catalog."default" NOT NULL,
+    headcount BIGINT NOT NULL,
+    current_payroll NUMERIC NOT NULL,
+    appraised_payroll NUMERIC NOT NULL,
+    percentage_sum NUMERIC NOT NULL,
+    percentage_count BIGINT NOT NULL,
+    CONSTRAINT appraisal_band_summary_pkey PRIMARY KEY (emp_band)
+);
+
+-- Spring's script runner splits on every semicolon outside quotes and does not understand dollar quoting, so the
+-- function body is single-quoted. The delta query is run with EXECUTE because the transition tables it reads
+-- depend on the event: new_rows for INSERT, old_rows for DELETE and both for UPDATE.
+-- Bands are upserted in band order so that concurrent statements lock summary rows in the same order.
+CREATE OR REPLACE FUNCTION public.appraisal_band_summary_trigger() RETURNS trigger LANGUAGE plpgsql AS '
+DECLARE
+    added text := ''SELECT emp_band, 1 AS n, COALESCE(current_salary, 0) AS cur, COALESCE(appraised_salary, 0) AS appr, '' ||
+        ''COALESCE(appraisal_percentage::numeric, 0) AS pct, (appraisal_percentage IS NOT NULL)::int AS pct_n FROM new_rows'';
+    removed text := ''SELECT emp_band, -1, -COALESCE(current_salary, 0), -COALESCE(appraised_salary, 0), '' ||
+        ''-COALESCE(appraisal_percentage::numeric, 0), -(appraisal_percentage IS NOT NULL)::int FROM old_rows'';
+    delta text;
+BEGIN
+    IF TG_OP = ''INSERT'' THEN
+        delta := added;
+    ELSIF TG_OP = ''DELETE'' THEN
+        delta := removed;
+    ELSE
+        delta := added || '' UNION ALL '' || removed;
+    END IF;
+    EXECUTE ''INSERT INTO public.appraisal_band_summary AS s '' ||
+        ''(emp_band, headcount, current_payroll, appraised_payroll, percentage_sum, percentage_count) '' ||
+        ''SELECT emp_band, sum(n), sum(cur), sum(appr), sum(pct), sum(pct_n) FROM ('' || delta || '') d '' ||
+        ''WHERE emp_band IS NOT NULL GROUP BY emp_band ORDER BY emp_band '' ||
+        ''ON CONFLICT (emp_band) DO UPDATE SET headcount = s.headcount + EXCLUDED.headcount, '' ||
+        ''current_payroll = s.current_payroll + EXCLUDED.current_payroll, '' ||
+        ''appraised_payroll = s.appraised_payroll + EXCLUDED.appraised_payroll, '' ||
+        ''percentage_sum = s.percentage_sum + EXCLUDED.percentage_sum, '' ||
+        ''percentage_count = s.percentage_count + EXCLUDED.percentage_count'';
+    DELETE FROM public.appraisal_band_summary WHERE headcount = 0;
+    RETURN NULL;
+END';
+
+-- Transition tables allow one event per trigger, so there is a trigger per event. Each trigger is created only if
+-- pg_trigger does not have it yet, rather than dropped and re-created on every startup: between a DROP and a CREATE
+-- run as separate statements, writes from other running instances would skip their deltas and the totals would
+-- drift. CREATE OR REPLACE TRIGGER would need PostgreSQL 14. The function above is replaced in place, which
+-- running triggers pick up without a gap.
+--
+-- Creating the triggers and seeding the totals from the existing appraisals happen in one block, after a SHARE ROW
+-- EXCLUSIVE lock on the appraisal table. The lock waits for in-flight writes and blocks new ones until the block
+-- commits, so no write falls between the seed and the triggers, and it conflicts with itself, so a second instance
+-- starting at the same time waits and then finds the triggers in place. The totals are rebuilt whenever a trigger
+-- had to be created, since without it the summary table cannot be trusted. Once all three triggers exist the block
+-- returns before locking, so an ordinary restart does not stall writers.
+DO '
+DECLARE
+    t record;
+    created boolean := false;
+BEGIN
+    IF (SELECT count(*) FROM pg_trigger WHERE tgrelid = ''public.appraisal''::regclass AND tgname IN
+            (''appraisal_band_summary_insert'', ''appraisal_band_summary_update'', ''appraisal_band_summary_delete'')) = 3 THEN
+        RETURN;
+    END IF;
+    LOCK TABLE public.appraisal IN SHARE ROW EXCLUSIVE MODE;
+    FOR t IN SELECT * FROM (VALUES
+            (''appraisal_band_summary_insert'', ''INSERT'', ''NEW TABLE AS new_rows''),
+            (''appraisal_band_summary_update'', ''UPDATE'', ''OLD TABLE AS old_rows NEW TABLE AS new_rows''),
+            (''appraisal_band_summary_delete'', ''DELETE'', ''OLD TABLE AS old_rows'')
+        ) AS v (trigger_name, event, transition_tables) LOOP
+        IF NOT EXISTS (SELECT 1 FROM pg_trigger
+                       WHERE tgrelid = ''public.appraisal''::regclass AND tgname = t.trigger_name) THEN
+            EXECUTE format(''CREATE TRIGGER %I AFTER %s ON public.appraisal REFERENCING %s '' ||
+                           ''FOR EACH STATEMENT EXECUTE FUNCTION public.appraisal_band_summary_trigger()'',
+                t.trigger_name, t.event, t.transition_tables);
+            created := true;
+        END IF;
+    END LOOP;
+    IF created THEN
+        DELETE FROM public.appraisal_band_summary;
+        INSERT INTO public.appraisal_band_summary
+            (emp_band, headcount, current_payroll, appraised_payroll, percentage_sum, percentage_count)
+        SELECT emp_band, count(*), COALESCE(sum(current_salary), 0), COALESCE(sum(appraised_salary), 0),
+               COALESCE(sum(appraisal_percentage::numeric), 0), count(appraisal_percentage)
+        FROM public.appraisal
+        WHERE emp_band IS NOT NULL
+        GROUP BY emp_band;
+    END IF;
+END';
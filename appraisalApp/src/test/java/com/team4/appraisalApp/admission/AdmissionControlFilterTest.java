@@ -0,0 +1,87 @@
+package com.team4.appraisalApp.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests which bulkhead {@link AdmissionControlFilter} runs a request in, and which requests adapt its limit.
+ */
+class AdmissionControlFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdmissionControlFilter filter = new AdmissionConfiguration()
+            .admissionControlFilter(new AdmissionProperties(), meterRegistry);
+
+    @Test
+    void pagedListReadsUseThePageBulkhead() throws Exception {
+        run(get("/team4/employee"), HttpStatus.OK, 0);
+        MockHttpServletRequest paged = get("/team4/employee");
+        paged.setParameter("limit", "10");
+        run(paged, HttpStatus.OK, 0);
+        MockHttpServletRequest filtered = get("/team4/appraisal");
+        filtered.setParameter("band", "B1");
+        run(filtered, HttpStatus.OK, 0);
+        MockHttpServletRequest stream = get("/team4/appraisal");
+        stream.setParameter("cursor", "x");
+        stream.addHeader("Accept", "application/x-ndjson");
+        run(stream, HttpStatus.OK, 0);
+
+        assertEquals(2, admitted("scan"));
+        assertEquals(2, admitted("page"));
+    }
+
+    @Test
+    void notModifiedAnswersDoNotLowerTheScanLimit() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            run(get("/team4/employee"), HttpStatus.NOT_MODIFIED, 0);
+        }
+        run(get("/team4/employee"), HttpStatus.OK, 20);
+
+        assertEquals(new AdmissionProperties().getScan().getInitial(), limit("scan"));
+    }
+
+    @Test
+    void cheapSamplesWouldLowerTheLimit() {
+        Bulkhead bulkhead = new Bulkhead("test", new AdmissionProperties.Limit(4, 1, 16), meterRegistry);
+        for (int i = 0; i < 50; i++) {
+            bulkhead.tryAcquire();
+            bulkhead.release(10_000);
+        }
+        bulkhead.tryAcquire();
+        bulkhead.release(20_000_000);
+
+        assertEquals(3, bulkhead.getLimit());
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private void run(MockHttpServletRequest request, HttpStatus status, long sleepMillis) throws Exception {
+        FilterChain chain = (req, res) -> {
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ((MockHttpServletResponse) res).setStatus(status.value());
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    private double admitted(String bulkhead) {
+        return meterRegistry.get("appraisal.admission.requests")
+                .tag("bulkhead", bulkhead).tag("result", "admitted").counter().count();
+    }
+
+    private int limit(String bulkhead) {
+        return (int) meterRegistry.get("appraisal.admission.limit").tag("bulkhead", bulkhead).gauge().value();
+    }
+}
@@ -0,0 +1,121 @@
+package com.team4.appraisalApp.cache;
+
+import com.team4.appraisalApp.models.Appraisal;
+import com.team4.appraisalApp.models.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that an {@link EmployeeSnapshot} written from unsorted rows reads back the same rows by ID.
+ */
+class EmployeeSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<Employee> employees = List.of(
+            Employee.ofMillis(42, "Zoë Ångström", 3, "B2", 1_234_567_891L),
+            Employee.ofMillis(-7, null, 1, null, 0),
+            Employee.ofMillis(5, "Ann", 2, "B1", 50_000_000L),
+            Employee.ofMillis(Integer.MAX_VALUE, "", 4, "B2", 1));
+    private final List<Appraisal> appraisals = List.of(
+            Appraisal.ofMillis(5, "Ann", 2, "B1", 50_000_000L, 12.5, 56_250_000L),
+            Appraisal.ofMillis(-7, null, 1, null, 0, 0.0, 0));
+
+    @Test
+    void lookupsReturnTheWrittenRows() throws IOException {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.open(write(employees, appraisals));
+        try {
+            assertEquals(1_700_000_000_000L, snapshot.builtAt());
+            assertEquals(4, snapshot.employeeCount());
+            assertEquals(2, snapshot.appraisalCount());
+            for (Employee expected : employees) {
+                Employee actual = snapshot.employee(expected.getEmpId()).orElseThrow();
+                assertEquals(expected.getEmpName(), actual.getEmpName());
+                assertEquals(expected.getReview(), actual.getReview());
+                assertEquals(expected.getBand(), actual.getBand());
+                assertEquals(expected.getSalaryMillis(), actual.getSalaryMillis());
+            }
+            for (Appraisal expected : appraisals) {
+                Appraisal actual = snapshot.appraisal(expected.getEmpId()).orElseThrow();
+                assertEquals(expected.getEmpName(), actual.getEmpName());
+                assertEquals(expected.getEmpReview(), actual.getEmpReview());
+                assertEquals(expected.getEmpBand(), actual.getEmpBand());
+                assertEquals(expected.getCurrentSalaryMillis(), actual.getCurrentSalaryMillis());
+                assertEquals(expected.getAppraisalPercentage(), actual.getAppraisalPercentage());
+                assertEquals(expected.getAppraisedSalaryMillis(), actual.getAppraisedSalaryMillis());
+            }
+            Employee nulls = snapshot.employee(-7).orElseThrow();
+            assertNull(nulls.getEmpName());
+            assertNull(nulls.getBand());
+        } finally {
+            snapshot.release();
+        }
+    }
+
+    @Test
+    void missingIdsAreEmpty() throws IOException {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.open(write(employees, appraisals));
+        try {
+            assertTrue(snapshot.employee(6).isEmpty());
+            assertTrue(snapshot.employee(Integer.MIN_VALUE).isEmpty());
+            assertTrue(snapshot.appraisal(42).isEmpty());
+        } finally {
+            snapshot.release();
+        }
+        EmployeeSnapshot empty = EmployeeSnapshot.open(write(List.of(), List.of()));
+        try {
+            assertEquals(0, empty.employeeCount());
+            assertTrue(empty.employee(5).isEmpty());
+            assertTrue(empty.appraisal(5).isEmpty());
+        } finally {
+            empty.release();
+        }
+    }
+
+    @Test
+    void corruptFilesAreRejected() throws IOException {
+        Path file = write(employees, appraisals);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 1_000_000), 16);
+        }
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> EmployeeSnapshot.open(file));
+        assertEquals("Corrupt employee snapshot header", e.getMessage());
+
+        Path notSnapshot = Files.write(directory.resolve("other.snap"), new byte[64]);
+        assertThrows(IllegalStateException.class, () -> EmployeeSnapshot.open(notSnapshot));
+        Path truncated = Files.write(directory.resolve("truncated.snap"), new byte[10]);
+        assertThrows(IllegalStateException.class, () -> EmployeeSnapshot.open(truncated));
+    }
+
+    @Test
+    void releasingTheLastReferenceEndsRetains() throws IOException {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.open(write(employees, appraisals));
+        assertTrue(snapshot.retain());
+        snapshot.release();
+        assertTrue(snapshot.employee(5).isPresent());
+        snapshot.release();
+        assertFalse(snapshot.retain());
+        assertThrows(IllegalStateException.class, snapshot::release);
+    }
+
+    private Path write(List<Employee> employeeRows, List<Appraisal> appraisalRows) throws IOException {
+        Path file = Files.createTempFile(directory, "snapshot", ".snap");
+        EmployeeSnapshot.write(file, employeeRows::forEach, appraisalRows::forEach, 1_700_000_000_000L);
+        return file;
+    }
+}
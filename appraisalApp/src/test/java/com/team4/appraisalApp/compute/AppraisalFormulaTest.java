@@ -0,0 +1,67 @@
+package com.team4.appraisalApp.compute;
+
+import com.team4.appraisalApp.models.Money;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that {@link AppraisalFormula#appraisedSalary(long, double)} rounds raises half away from zero and that
+ * {@link AppraisalFormula#appraisedSalarySql(String, String)} agrees with it to the thousandth. The SQL is evaluated
+ * by H2 in PostgreSQL mode, as in the benchmarks.
+ */
+class AppraisalFormulaTest {
+
+    private static final long[] SALARIES = {1, 3, 5, 1001, 1003, 12345678, 99999999, 999999999999L, -1001};
+    private static final double[] PERCENTAGES = {0.5, -0.5, 0.1, 0.165, 0.225, 1.0 / 3, 0.0005, 0};
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void connect() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:formula;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+    }
+
+    @AfterAll
+    static void disconnect() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void appraisedSalaryRoundsRaiseHalfAwayFromZero() {
+        assertEquals(1502, AppraisalFormula.appraisedSalary(1001, 0.5));
+        assertEquals(500, AppraisalFormula.appraisedSalary(1001, -0.5));
+        assertEquals(5, AppraisalFormula.appraisedSalary(3, 0.5));
+        assertEquals(8, AppraisalFormula.appraisedSalary(5, 0.5));
+        assertEquals(-1502, AppraisalFormula.appraisedSalary(-1001, 0.5));
+        assertEquals(1101, AppraisalFormula.appraisedSalary(1001, 0.1));
+    }
+
+    @Test
+    void appraisedSalarySqlMatchesJava() throws SQLException {
+        for (long salary : SALARIES) {
+            for (double percentage : PERCENTAGES) {
+                assertEquals(AppraisalFormula.appraisedSalary(salary, percentage), appraisedSalaryInSql(salary, percentage),
+                        () -> "salary " + Money.toDecimal(salary) + ", percentage " + percentage);
+            }
+        }
+    }
+
+    private static long appraisedSalaryInSql(long salaryMillis, double percentage) throws SQLException {
+        String salary = "CAST(" + Money.toDecimal(salaryMillis).toPlainString() + " AS NUMERIC(15,3))";
+        String factor = "CAST(" + percentage + " AS DOUBLE PRECISION)";
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT " + AppraisalFormula.appraisedSalarySql(salary, factor))) {
+            rs.next();
+            return Money.fromDecimal(rs.getBigDecimal(1));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.team4.appraisalApp.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the routing of {@link ReplicaRoutingDataSource} and {@link ReadRouting} over H2 in-memory databases standing
+ * in for a primary and two replicas. Each database holds a one-row table with its own name, so a query tells which
+ * pool served it.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private HikariDataSource primary;
+    private HikariDataSource replica1;
+    private HikariDataSource replica2;
+
+    @AfterEach
+    void close() {
+        ReadRouting.endRequest();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void replicaReadGoesToReplica() {
+        Reader reader = reader(ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+        assertEquals("replica1", reader.replicaNode());
+        assertEquals("primary", reader.primaryNode());
+    }
+
+    @Test
+    void writesGoToPrimary() {
+        Reader reader = reader(ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+        reader.write();
+        assertEquals(1, count(primary));
+        assertEquals(0, count(replica1));
+        assertEquals(0, count(replica2));
+    }
+
+    @Test
+    void readAfterWriteInRequestStaysOnPrimary() {
+        Reader reader = reader(ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+        ReadRouting.beginRequest();
+        assertEquals("replica1", reader.replicaNode());
+        reader.write();
+        assertEquals("primary", reader.replicaNode());
+        ReadRouting.endRequest();
+        // A new request is not pinned
+        ReadRouting.beginRequest();
+        assertEquals("replica2", reader.replicaNode());
+    }
+
+    @Test
+    void writeOutsideRequestDoesNotPin() {
+        Reader reader = reader(ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+        reader.write();
+        assertEquals("replica1", reader.replicaNode());
+    }
+
+    @Test
+    void onPrimaryReadsFromPrimaryWithoutPinning() {
+        Reader reader = reader(ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+        ReadRouting.beginRequest();
+        assertEquals("primary", ReadRouting.onPrimary(reader::replicaNode));
+        assertEquals("replica1", reader.replicaNode());
+    }
+
+    @Test
+    void roundRobinAlternatesReplicas() {
+        Reader reader = reader(ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(reader.replicaNode());
+        }
+        assertEquals(List.of("replica1", "replica2", "replica1", "replica2"), nodes);
+    }
+
+    @Test
+    void leastBusyPicksReplicaWithFewestActiveConnections() throws Exception {
+        Reader reader = reader(ReplicaRoutingDataSource.Selection.LEAST_BUSY);
+        // Ties go to the first replica
+        assertEquals("replica1", reader.replicaNode());
+        assertEquals("replica1", reader.replicaNode());
+        try (Connection busy = replica1.getConnection()) {
+            assertEquals("replica2", reader.replicaNode());
+        }
+        assertEquals("replica1", reader.replicaNode());
+    }
+
+    private Reader reader(ReplicaRoutingDataSource.Selection selection) {
+        primary = pool("primary");
+        replica1 = pool("replica1");
+        replica2 = pool("replica2");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), selection);
+        return (Reader) new ReplicaReadPostProcessor().postProcessAfterInitialization(new Reader(routing), "reader");
+    }
+
+    private HikariDataSource pool(String name) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(4);
+        config.setPoolName(name);
+        HikariDataSource pool = new HikariDataSource(config);
+        pools.add(pool);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(pool);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS node");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS written");
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.execute("CREATE TABLE written (id INT)");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return pool;
+    }
+
+    private static int count(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT count(*) FROM written", Integer.class);
+    }
+
+    /**
+     * A repository-like bean whose replica reads are marked with {@link ReplicaRead}.
+     */
+    public static class Reader {
+        private final JdbcTemplate jdbcTemplate;
+
+        public Reader(DataSource dataSource) {
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+
+        @ReplicaRead
+        public String replicaNode() {
+            return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+        }
+
+        public String primaryNode() {
+            return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+        }
+
+        public void write() {
+            jdbcTemplate.update("INSERT INTO written VALUES (1)");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.team4.appraisalApp.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the fixed-point conversions and half-away-from-zero rounding in {@link Money}.
+ */
+class MoneyTest {
+
+    @Test
+    void fromDoubleKeepsWholeThousandths() {
+        assertEquals(1234500, Money.fromDouble(1234.5));
+        assertEquals(-1234567, Money.fromDouble(-1234.567));
+        assertEquals(999999999999999L, Money.fromDouble(999999999999.999));
+    }
+
+    @Test
+    void fromDoubleRoundsHalfAwayFromZero() {
+        assertEquals(1, Money.fromDouble(0.0005));
+        assertEquals(-1, Money.fromDouble(-0.0005));
+        assertEquals(0, Money.fromDouble(0.0004));
+        assertEquals(0, Money.fromDouble(-0.0004));
+        // The written decimal is rounded, not the binary expansion 1.00149999...
+        assertEquals(1002, Money.fromDouble(1.0015));
+        assertEquals(-1002, Money.fromDouble(-1.0015));
+        assertEquals(2500, Money.fromDouble(2.4995));
+    }
+
+    @Test
+    void fromDoubleRejectsNonFiniteAmounts() {
+        assertThrows(IllegalArgumentException.class, () -> Money.fromDouble(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Money.fromDouble(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void fromDecimalRoundsHalfAwayFromZero() {
+        assertEquals(1, Money.fromDecimal(new BigDecimal("0.0005")));
+        assertEquals(-1, Money.fromDecimal(new BigDecimal("-0.0005")));
+        assertEquals(0, Money.fromDecimal(new BigDecimal("0.00049")));
+        assertEquals(1234500, Money.fromDecimal(new BigDecimal("1234.500")));
+        assertEquals(0, Money.fromDecimal(null));
+    }
+
+    @Test
+    void roundBreaksTiesAwayFromZero() {
+        assertEquals(1, Money.round(0.5));
+        assertEquals(-1, Money.round(-0.5));
+        assertEquals(2, Money.round(1.5));
+        assertEquals(3, Money.round(2.5));
+        assertEquals(-3, Money.round(-2.5));
+        assertEquals(500501, Money.round(500500.5));
+    }
+
+    @Test
+    void roundKeepsValuesJustBelowHalf() {
+        assertEquals(0, Money.round(0.49999999999999994));
+        assertEquals(0, Money.round(-0.49999999999999994));
+        assertEquals(100, Money.round(100.10000000000001));
+        assertEquals(1000000, Money.round(1000000.4999999));
+    }
+
+    @Test
+    void toDecimalAndAppendToKeepThreeFractionDigits() {
+        assertEquals(new BigDecimal("-1234.005"), Money.toDecimal(-1234005));
+        assertEquals("-0.050", Money.appendTo(new StringBuilder(), -50).toString());
+        assertEquals("12.300", Money.appendTo(new StringBuilder(), 12300).toString());
+    }
+}
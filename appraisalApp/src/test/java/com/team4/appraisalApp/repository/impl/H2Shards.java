@@ -0,0 +1,70 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.datasource.ShardDataSources;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * H2 in-memory databases in PostgreSQL mode standing in for the employee shards, each with the band, review,
+ * employee and appraisal tables and the same bands and reviews.
+ */
+final class H2Shards implements AutoCloseable {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final ShardDataSources dataSources;
+
+    H2Shards(String name, int count) {
+        for (int shard = 0; shard < count; shard++) {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl("jdbc:h2:mem:" + name + "-" + shard
+                    + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+            config.setUsername("sa");
+            config.setMaximumPoolSize(4);
+            config.setPoolName(name + "-" + shard);
+            HikariDataSource pool = new HikariDataSource(config);
+            pools.add(pool);
+            createTables(new JdbcTemplate(pool));
+        }
+        this.dataSources = new ShardDataSources(pools);
+    }
+
+    static void createTables(JdbcTemplate jdbc) {
+        jdbc.execute("CREATE TABLE public.band (band_id TEXT PRIMARY KEY, band_mul DOUBLE PRECISION)");
+        jdbc.execute("CREATE TABLE public.review (rev_id INTEGER PRIMARY KEY, rev_mul DOUBLE PRECISION)");
+        jdbc.execute("CREATE TABLE public.employee (emp_id INTEGER PRIMARY KEY, emp_name TEXT, emp_review INTEGER, "
+                + "emp_band TEXT, emp_salary NUMERIC(15,3))");
+        jdbc.execute("CREATE TABLE public.appraisal (emp_id INTEGER PRIMARY KEY, emp_name TEXT, emp_review INTEGER, "
+                + "emp_band TEXT, current_salary NUMERIC(15,3), appraisal_percentage DOUBLE PRECISION, "
+                + "appraised_salary NUMERIC(15,3))");
+        jdbc.update("INSERT INTO public.band VALUES ('B1', 0.1), ('B2', 0.2)");
+        jdbc.update("INSERT INTO public.review VALUES (1, 1.0), (2, 1.5)");
+    }
+
+    ShardDataSources dataSources() {
+        return dataSources;
+    }
+
+    JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(pools.get(shard));
+    }
+
+    int size() {
+        return pools.size();
+    }
+
+    /**
+     * Counts the rows of a table on one shard, outside any transaction of the code under test.
+     */
+    int count(int shard, String table) {
+        return jdbc(shard).queryForObject("SELECT count(*) FROM public." + table, Integer.class);
+    }
+
+    @Override
+    public void close() throws Exception {
+        dataSources.close();
+    }
+}
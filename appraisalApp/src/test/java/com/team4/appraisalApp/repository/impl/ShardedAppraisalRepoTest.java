@@ -0,0 +1,175 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.models.Appraisal;
+import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.MultiplierUpdateResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link ShardedAppraisalRepo} over three H2 shards and an H2 primary: that an appraisal lives on its
+ * employee's shard, and that a multiplier update commits on the shards only after the primary has.
+ */
+class ShardedAppraisalRepoTest {
+
+    private final TableVersions tableVersions = new TableVersions(Duration.ofMinutes(1));
+    private H2Shards shards;
+    private H2Shards primary;
+
+    @AfterEach
+    void close() throws Exception {
+        if (shards != null) {
+            shards.close();
+        }
+        if (primary != null) {
+            primary.close();
+        }
+    }
+
+    @Test
+    void appraisalLivesOnItsEmployeesShard() {
+        shards = new H2Shards("appraisal-routing", 3);
+        ShardedEmployeeRepo employees = new ShardedEmployeeRepo(shards.dataSources(),
+                jdbc -> new ShardedEmployeeRepoTest.H2EmployeeRepo(jdbc, tableVersions));
+        ShardedAppraisalRepo appraisals = new ShardedAppraisalRepo(shards.dataSources(), tableVersions,
+                jdbc -> new H2AppraisalRepo(jdbc, tableVersions));
+        for (int empId = -20; empId <= 20; empId++) {
+            Employee employee = Employee.ofMillis(empId, "Employee " + empId, 1, "B1", 1_000_000L);
+            employees.addEmployee(employee);
+            appraisals.createAppraisal(employee);
+        }
+        for (int empId = -20; empId <= 20; empId++) {
+            int home = shards.dataSources().shardOf(empId);
+            for (int shard = 0; shard < shards.size(); shard++) {
+                assertEquals(shard == home ? 1 : 0, rows(shard, "employee", empId), "employee " + empId);
+                assertEquals(shard == home ? 1 : 0, rows(shard, "appraisal", empId), "appraisal " + empId);
+            }
+            assertEquals(empId, appraisals.getAppraisal(empId).map(Appraisal::getEmpId).orElseThrow());
+        }
+        assertEquals(41, appraisals.getAllAppraisals().size());
+    }
+
+    @Test
+    void shardsCommitOnlyAfterThePrimary() {
+        Shards<JdbcTemplate> bands = bandShards("multiplier-commit");
+        Optional<MultiplierUpdateResult> result = ShardedAppraisalRepo.updateEverywhere(bands, updateBand(0.5), () -> {
+            // Every shard has updated its row and is waiting; none of them may have committed yet
+            for (int shard = 0; shard < shards.size(); shard++) {
+                assertEquals(0.2, bandMul(shards.jdbc(shard)), "shard " + shard + " committed before the primary");
+            }
+            primary.jdbc(0).update("UPDATE public.band SET band_mul = 0.5 WHERE band_id = 'B2'");
+            return Optional.of(new MultiplierUpdateResult(10, 0));
+        });
+
+        assertEquals(10 + shards.size(), result.orElseThrow().getAppraisalsRecomputed());
+        assertEquals(0.5, bandMul(primary.jdbc(0)));
+        for (int shard = 0; shard < shards.size(); shard++) {
+            assertEquals(0.5, bandMul(shards.jdbc(shard)));
+        }
+    }
+
+    @Test
+    void shardsRollBackWhenThePrimaryHasNoRow() {
+        Shards<JdbcTemplate> bands = bandShards("multiplier-missing");
+        Optional<MultiplierUpdateResult> result =
+                ShardedAppraisalRepo.updateEverywhere(bands, updateBand(0.5), Optional::empty);
+
+        assertTrue(result.isEmpty());
+        assertShardsUnchanged();
+    }
+
+    @Test
+    void shardsRollBackWhenThePrimaryFails() {
+        Shards<JdbcTemplate> bands = bandShards("multiplier-primary-failure");
+        IllegalStateException failure = new IllegalStateException("primary down");
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> ShardedAppraisalRepo.updateEverywhere(bands, updateBand(0.5), () -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, e);
+        assertShardsUnchanged();
+    }
+
+    @Test
+    void primaryIsSkippedWhenAShardFails() {
+        Shards<JdbcTemplate> bands = bandShards("multiplier-shard-failure");
+        AtomicBoolean primaryCalled = new AtomicBoolean();
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> ShardedAppraisalRepo.updateEverywhere(bands, jdbc -> {
+                    updateBand(0.5).apply(jdbc);
+                    if (jdbc == bands.get(1)) {
+                        throw new IllegalStateException("shard down");
+                    }
+                    return Optional.of(new MultiplierUpdateResult(1, 0));
+                }, () -> {
+                    primaryCalled.set(true);
+                    return Optional.of(new MultiplierUpdateResult(0, 0));
+                }));
+
+        assertEquals("shard down", e.getMessage());
+        assertFalse(primaryCalled.get());
+        assertShardsUnchanged();
+    }
+
+    private Shards<JdbcTemplate> bandShards(String name) {
+        shards = new H2Shards(name, 3);
+        primary = new H2Shards(name + "-primary", 1);
+        return new Shards<>(shards.dataSources(), jdbc -> jdbc);
+    }
+
+    private static Function<JdbcTemplate, Optional<MultiplierUpdateResult>> updateBand(double mul) {
+        return jdbc -> {
+            int rows = jdbc.update("UPDATE public.band SET band_mul = ? WHERE band_id = 'B2'", mul);
+            return Optional.of(new MultiplierUpdateResult(rows, 0));
+        };
+    }
+
+    private void assertShardsUnchanged() {
+        IntStream.range(0, shards.size()).forEach(shard ->
+                assertEquals(0.2, bandMul(shards.jdbc(shard)), "shard " + shard + " kept the update"));
+    }
+
+    private static double bandMul(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT band_mul FROM public.band WHERE band_id = 'B2'", Double.class);
+    }
+
+    private int rows(int shard, String table, int empId) {
+        return shards.jdbc(shard).queryForObject(
+                "SELECT count(*) FROM public." + table + " WHERE emp_id = ?", Integer.class, empId);
+    }
+
+    /**
+     * An appraisal repository of one shard that creates appraisals with a plain INSERT, since H2 has neither
+     * {@code ON CONFLICT (column)} nor {@code FOR SHARE} in a subquery.
+     */
+    private static final class H2AppraisalRepo extends AppraisalRepoImpl {
+        private final JdbcTemplate jdbc;
+
+        H2AppraisalRepo(JdbcTemplate jdbc, TableVersions tableVersions) {
+            super(jdbc, tableVersions, 100);
+            this.jdbc = jdbc;
+        }
+
+        @Override
+        public int createAppraisal(Employee employee) {
+            return jdbc.update("INSERT INTO public.appraisal (emp_id, emp_name, emp_review, emp_band, current_salary) "
+                    + "VALUES (?, ?, ?, ?, ?)", employee.getEmpId(), employee.getEmpName(), employee.getReview(),
+                    employee.getBand(), employee.getSalary());
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.team4.appraisalApp.repository.impl;
+
+import com.team4.appraisalApp.cache.TableVersions;
+import com.team4.appraisalApp.models.Employee;
+import com.team4.appraisalApp.models.EmployeeFilter;
+import com.team4.appraisalApp.models.EmployeeImportResult;
+import com.team4.appraisalApp.models.ImportRejection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link ShardedEmployeeRepo} over three H2 shards: where employees are written, the merged order of list
+ * reads and pages, and the all-or-nothing routed import. Also tests how the import results of the shards are
+ * combined.
+ */
+class ShardedEmployeeRepoTest {
+
+    private static final List<Integer> EMP_IDS = IntStream.rangeClosed(-30, 60).map(i -> (i * 37) % 91).boxed().toList();
+
+    private H2Shards shards;
+
+    @AfterEach
+    void close() throws Exception {
+        if (shards != null) {
+            shards.close();
+        }
+    }
+
+    @Test
+    void employeesAreWrittenToTheirShard() {
+        ShardedEmployeeRepo repo = repo("employee-routing");
+        addAll(repo);
+        int[] perShard = new int[shards.size()];
+        for (int empId : EMP_IDS) {
+            int home = shards.dataSources().shardOf(empId);
+            perShard[home]++;
+            for (int shard = 0; shard < shards.size(); shard++) {
+                int rows = shards.jdbc(shard).queryForObject(
+                        "SELECT count(*) FROM public.employee WHERE emp_id = ?", Integer.class, empId);
+                assertEquals(shard == home ? 1 : 0, rows, "employee " + empId + " on shard " + shard);
+            }
+            assertEquals(empId, repo.getEmployeeById(empId).orElseThrow().getEmpId());
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            assertTrue(perShard[shard] > 0, "shard " + shard + " holds no employee");
+            assertEquals(perShard[shard], shards.count(shard, "employee"));
+        }
+    }
+
+    @Test
+    void getAllEmployeesMergesShardsInIdOrder() {
+        ShardedEmployeeRepo repo = repo("employee-list");
+        addAll(repo);
+        List<Integer> ids = repo.getAllEmployees().stream().map(Employee::getEmpId).toList();
+        assertEquals(EMP_IDS.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    void findEmployeesPagesAcrossShardsInIdOrder() {
+        ShardedEmployeeRepo repo = repo("employee-pages");
+        addAll(repo);
+        assertEquals(EMP_IDS.stream().sorted().toList(), pageThrough(repo, null, 7));
+        assertEquals(EMP_IDS.stream().filter(id -> band(id).equals("B2")).sorted().toList(),
+                pageThrough(repo, new EmployeeFilter("B2", null, null, null), 5));
+    }
+
+    @Test
+    void importCommitsEveryShard() {
+        ShardedEmployeeRepo repo = repo("employee-import");
+        EmployeeImportResult result = repo.importEmployees(
+                EMP_IDS.stream().map(ShardedEmployeeRepoTest::employee).iterator());
+        assertEquals(EMP_IDS.size(), result.getRowsImported());
+        assertEquals(EMP_IDS.stream().sorted().toList(),
+                repo.getAllEmployees().stream().map(Employee::getEmpId).toList());
+        for (int empId : EMP_IDS) {
+            assertEquals(1, shards.jdbc(shards.dataSources().shardOf(empId)).queryForObject(
+                    "SELECT count(*) FROM public.employee WHERE emp_id = ?", Integer.class, empId));
+        }
+    }
+
+    @Test
+    void importRollsBackEveryShardWhenOneFails() {
+        ShardedEmployeeRepo repo = repo("employee-import-failure");
+        List<Employee> input = new ArrayList<>(EMP_IDS.stream().map(ShardedEmployeeRepoTest::employee).toList());
+        // Fails one shard after the other shards have loaded rows of their own
+        input.add(input.size() / 2, Employee.ofMillis(1000, FAIL, 1, "B1", 1_000));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> repo.importEmployees(input.iterator()));
+        assertEquals("Import failed at employee 1000", e.getMessage());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            assertEquals(0, shards.count(shard, "employee"), "rows left on shard " + shard);
+        }
+    }
+
+    private static final String FAIL = "fail";
+
+    private ShardedEmployeeRepo repo(String name) {
+        shards = new H2Shards(name, 3);
+        TableVersions tableVersions = new TableVersions(Duration.ofMinutes(1));
+        return new ShardedEmployeeRepo(shards.dataSources(), jdbc -> new H2EmployeeRepo(jdbc, tableVersions));
+    }
+
+    private static void addAll(ShardedEmployeeRepo repo) {
+        for (int empId : EMP_IDS) {
+            assertEquals(1, repo.addEmployee(employee(empId)));
+        }
+    }
+
+    private static Employee employee(int empId) {
+        return Employee.ofMillis(empId, "Employee " + empId, 1 + Math.floorMod(empId, 2), band(empId),
+                1_000_000L + empId);
+    }
+
+    private static String band(int empId) {
+        return Math.floorMod(empId, 3) == 0 ? "B2" : "B1";
+    }
+
+    private static List<Integer> pageThrough(ShardedEmployeeRepo repo, EmployeeFilter filter, int limit) {
+        List<Integer> ids = new ArrayList<>();
+        Integer after = null;
+        while (true) {
+            List<Employee> page = repo.findEmployees(filter, after, limit);
+            page.forEach(employee -> ids.add(employee.getEmpId()));
+            if (page.size() < limit) {
+                return ids;
+            }
+            after = page.get(page.size() - 1).getEmpId();
+        }
+    }
+
+    /**
+     * An employee repository of one shard that runs its writes as plain INSERTs, since H2 has neither
+     * {@code ON CONFLICT (column)} nor COPY. The import fails on an employee named {@value #FAIL}.
+     */
+    static final class H2EmployeeRepo extends EmployeeRepoImpl {
+        private final JdbcTemplate jdbc;
+
+        H2EmployeeRepo(JdbcTemplate jdbc, TableVersions tableVersions) {
+            super(jdbc, tableVersions, 100);
+            this.jdbc = jdbc;
+        }
+
+        @Override
+        public int addEmployee(Employee employee) {
+            return jdbc.update("INSERT INTO public.employee VALUES (?, ?, ?, ?, ?)", employee.getEmpId(),
+                    employee.getEmpName(), employee.getReview(), employee.getBand(), employee.getSalary());
+        }
+
+        @Override
+        public EmployeeImportResult importEmployeesCsv(InputStream csv, boolean header) {
+            long rows = 0;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.replace("\"", "").split(",");
+                    if (fields[1].equals(FAIL)) {
+                        throw new IllegalArgumentException("Import failed at employee " + fields[0]);
+                    }
+                    jdbc.update("INSERT INTO public.employee VALUES (?, ?, ?, ?, ?::numeric)",
+                            Integer.parseInt(fields[0]), fields[1], Integer.parseInt(fields[2]), fields[3], fields[4]);
+                    rows++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new EmployeeImportResult(rows, rows, List.of(), 0);
+        }
+    }
+
+    @Test
+    void combineMapsShardRowsToInputRecordNumbers() {
+        // Input records 1..6 went to shards 0, 1, 0, 1, 1, 0
+        long[][] recordNumbers = {{1, 3, 6}, {2, 4, 5}};
+        List<EmployeeImportResult> perShard = List.of(
+                new EmployeeImportResult(3, 1, List.of(
+                        new ImportRejection(2, 30, "duplicate emp_id"),
+                        new ImportRejection(3, null, "emp_id is missing")), 5),
+                new EmployeeImportResult(3, 2, List.of(
+                        new ImportRejection(1, 20, "unknown band")), 7));
+
+        EmployeeImportResult combined = ShardedEmployeeRepo.combine(perShard, recordNumbers, 12);
+
+        assertEquals(6, combined.getRowsReceived());
+        assertEquals(3, combined.getRowsImported());
+        assertEquals(12, combined.getElapsedMillis());
+        List<ImportRejection> rejections = combined.getRejections();
+        assertEquals(List.of(2L, 3L, 6L), rejections.stream().map(ImportRejection::getRow).toList());
+        assertEquals(20, rejections.get(0).getEmpId());
+        assertEquals("unknown band", rejections.get(0).getReason());
+        assertEquals(30, rejections.get(1).getEmpId());
+        assertNull(rejections.get(2).getEmpId());
+        assertEquals("emp_id is missing", rejections.get(2).getReason());
+    }
+
+    @Test
+    void combineWithoutRejections() {
+        EmployeeImportResult combined = ShardedEmployeeRepo.combine(
+                List.of(new EmployeeImportResult(2, 2, List.of(), 1), new EmployeeImportResult(0, 0, List.of(), 1)),
+                new long[][]{{1, 2}, {}}, 3);
+        assertEquals(2, combined.getRowsReceived());
+        assertEquals(2, combined.getRowsImported());
+        assertEquals(List.of(), combined.getRejections());
+    }
+}
@@ -0,0 +1,43 @@
+package com.team4.appraisalApp.repository.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the merge of per-shard results in {@link Shards}.
+ */
+class ShardsTest {
+
+    private static final ToIntFunction<Integer> ID = Integer::intValue;
+
+    @Test
+    void mergeByEmpIdInterleavesSortedLists() {
+        List<Integer> merged = Shards.mergeByEmpId(List.of(List.of(1, 4, 7), List.of(2, 5, 8), List.of(3, 6, 9)),
+                ID, Integer.MAX_VALUE);
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), merged);
+    }
+
+    @Test
+    void mergeByEmpIdStopsAtLimit() {
+        List<Integer> merged = Shards.mergeByEmpId(List.of(List.of(10, 30, 50), List.of(20, 40)), ID, 3);
+        assertEquals(List.of(10, 20, 30), merged);
+    }
+
+    @Test
+    void mergeByEmpIdSkipsEmptyShards() {
+        List<Integer> merged = Shards.mergeByEmpId(List.<List<Integer>>of(List.of(), List.of(-5, 2), List.of()), ID, 10);
+        assertEquals(List.of(-5, 2), merged);
+        assertEquals(List.of(), Shards.mergeByEmpId(List.<List<Integer>>of(), ID, 10));
+        assertEquals(List.of(), Shards.mergeByEmpId(List.of(List.of(1)), ID, 0));
+    }
+
+    @Test
+    void mergeByEmpIdHandlesUnevenShards() {
+        List<Integer> merged = Shards.mergeByEmpId(List.of(List.of(1, 2, 3, 100), List.of(50)), ID, 10);
+        assertEquals(List.of(1, 2, 3, 50, 100), merged);
+    }
+}